@@ -0,0 +1,91 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator: each client sends its next request as soon as the previous one returns.
+ * Runs one step per concurrency level and prints throughput and latency percentiles.
+ *
+ * Usage: java LoadTest.java <url> <seconds per step> <concurrency>...
+ */
+public class LoadTest {
+
+    private static final int MAX_SAMPLES = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: java LoadTest.java <url> <seconds per step> <concurrency>...");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        Duration stepDuration = Duration.ofSeconds(Long.parseLong(args[1]));
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+        System.out.printf("%-12s %10s %10s %10s %10s %10s%n", "concurrency", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (int i = 2; i < args.length; i++) {
+            int concurrency = Integer.parseInt(args[i]);
+            Step step = runStep(client, uri, concurrency, stepDuration);
+            System.out.printf("%-12d %10.0f %10d %10.1f %10.1f %10.1f%n", concurrency, step.throughput(),
+                step.errors(), step.percentile(0.50), step.percentile(0.99), step.percentile(1.0));
+        }
+        System.exit(0);
+    }
+
+    private static Step runStep(HttpClient client, URI uri, int concurrency, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long[] samples = new long[MAX_SAMPLES];
+        AtomicLong sampleCount = new AtomicLong();
+        LongAdder errors = new LongAdder();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    long index = sampleCount.getAndIncrement();
+                    if (index < MAX_SAMPLES) {
+                        samples[(int) index] = System.nanoTime() - start;
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+        int recorded = (int) Math.min(sampleCount.get(), MAX_SAMPLES);
+        long[] latencies = Arrays.copyOf(samples, recorded);
+        Arrays.sort(latencies);
+        return new Step(sampleCount.get() / (double) duration.toSeconds(), errors.sum(), latencies);
+    }
+
+    private record Step(double throughput, long errors, long[] sortedLatencies) {
+
+        double percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
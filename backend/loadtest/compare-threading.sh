@@ -0,0 +1,91 @@
+#!/bin/bash
+# Compares platform-thread and virtual-thread request handling under increasing concurrency.
+#
+# Boots the backend jar once per mode against $MONGO_URL, seeds credentials, drives a Mongo-bound
+# endpoint with LoadTest.java and prints one table per mode. Virtual mode runs with
+# -Djdk.tracePinnedThreads=short; the script fails if any virtual thread pinned its carrier,
+# which would mean a blocking call (e.g. the Mongo connection pool) holds a monitor or sits
+# under a native frame.
+#
+# Requires Java 21 (from JAVA_HOME, else the PATH) and a built jar (./gradlew bootJar).
+#
+# Usage: loadtest/compare-threading.sh [seconds per step] [concurrency levels...]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=build/libs/verifiable-credentials-backend-0.0.1-SNAPSHOT.jar
+PORT=${PORT:-8001}
+BASE_URL="http://localhost:${PORT}/api/credentials"
+TARGET_URL=${TARGET_URL:-"${BASE_URL}?view=summary&limit=50"}
+SEED_COUNT=${SEED_COUNT:-500}
+STEP_SECONDS=${1:-20}
+shift || true
+LEVELS=${*:-"50 200 800 2000"}
+
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAVA_MAJOR=$("$JAVA" -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.specification.version = //p')
+if [ "${JAVA_MAJOR:-0}" -lt 21 ]; then
+    echo "Virtual threads need Java 21 or later, found ${JAVA_MAJOR:-none} at $JAVA" >&2
+    exit 1
+fi
+
+if [ ! -f "$JAR" ]; then
+    echo "Build the application first: ./gradlew bootJar" >&2
+    exit 1
+fi
+
+wait_for_startup() {
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:${PORT}/api/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Backend did not start, see $1" >&2
+    exit 1
+}
+
+seed_credentials() {
+    local batch="["
+    for i in $(seq 1 "$SEED_COUNT"); do
+        batch+="{\"studentName\":\"Load Test ${i}\",\"studentDID\":\"did:example:student:load${i}\",\"degreeTitle\":\"Bachelor of Science\"},"
+    done
+    curl -sf -X POST "${BASE_URL}/issue/batch" -H 'Content-Type: application/json' -d "${batch%,}]" > /dev/null
+}
+
+run_mode() {
+    local mode=$1 virtual=$2
+    local log="build/loadtest-${mode}.log"
+
+    VIRTUAL_THREADS=$virtual "$JAVA" -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2> /dev/null || true" EXIT
+    wait_for_startup "$log"
+    seed_credentials
+
+    echo
+    echo "== ${mode} threads (spring.threads.virtual.enabled=${virtual}) =="
+    # shellcheck disable=SC2086
+    "$JAVA" loadtest/LoadTest.java "$TARGET_URL" "$STEP_SECONDS" $LEVELS
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+# jdk.tracePinnedThreads prints each pinned stack under its carrier thread's name, with
+# "<== monitors" marking a frame holding a lock; pins under a native frame have no marker
+PINNED=$(grep -c "CarrierThreads\]" build/loadtest-virtual.log || true)
+if [ "$PINNED" -gt 0 ]; then
+    echo
+    echo "Virtual threads pinned their carrier ${PINNED} time(s):" >&2
+    grep -A12 "CarrierThreads\]" build/loadtest-virtual.log | head -60 >&2
+    exit 1
+fi
+echo
+echo "No pinned virtual threads"
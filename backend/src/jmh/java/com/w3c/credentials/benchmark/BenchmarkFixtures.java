@@ -0,0 +1,134 @@
+package com.w3c.credentials.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.Issuer;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CoarseClock;
+import com.w3c.credentials.service.CredentialIssuerService;
+import com.w3c.credentials.service.CredentialMetrics;
+import com.w3c.credentials.service.CredentialStatusRegistry;
+import com.w3c.credentials.service.CredentialVerifierService;
+import com.w3c.credentials.service.FileTrustRegistrySource;
+import com.w3c.credentials.service.SelectiveDisclosureService;
+import com.w3c.credentials.service.TrustRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared setup for the benchmarks: the application's Jackson settings, sample credentials and a
+ * minimal Spring context holding the signing and verification beans, the bundled trust registry and
+ * an in-memory status registry (no web layer, no MongoDB).
+ */
+final class BenchmarkFixtures {
+
+    static final String KEY_ID = "did:example:university:stanford#keys-1";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Starts the issuance and verification beans with an ephemeral signing key
+     */
+    static AnnotationConfigApplicationContext credentialContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(
+            new MapPropertySource("benchmark", Map.of("credentials.signing.key-id", KEY_ID)));
+        context.registerBean(ObjectMapper.class, () -> mapperFor("json"));
+        context.registerBean(CredentialStatusRegistry.class, InMemoryStatusRegistry::new);
+        context.register(
+            CredentialCanonicalizer.class,
+            SigningKeyProvider.class,
+            Ed25519Signature2018Suite.class,
+            SignatureVerificationCache.class,
+            SimpleMeterRegistry.class,
+            FileTrustRegistrySource.class,
+            TrustRegistry.class,
+            CredentialMetrics.class,
+            CoarseClock.class,
+            SelectiveDisclosureService.class,
+            CredentialIssuerService.class,
+            CredentialVerifierService.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Hands out status entries without MongoDB; nothing is ever revoked
+     */
+    static final class InMemoryStatusRegistry implements CredentialStatusRegistry {
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        @Override
+        public CredentialStatus allocate() {
+            return new CredentialStatus("http://localhost:8001/api/credentials/status/1", nextIndex.getAndIncrement());
+        }
+
+        @Override
+        public boolean isRevoked(CredentialStatus status, String issuerDID) {
+            return false;
+        }
+    }
+
+    /**
+     * Same settings as the application's mapper (spring.jackson.* in application.properties)
+     */
+    static ObjectMapper mapperFor(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    /**
+     * A signed-looking credential with the issuer in its object form
+     */
+    static VerifiableCredential sampleCredential(int additionalProperties) {
+        LocalDateTime issued = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_000_000);
+        CredentialSubject subject = new CredentialSubject(
+            "did:example:student:1f0c6a2e", "Anna Smith", "Bachelor of Science in Computer Science",
+            "Stanford University", "2024-06-01");
+        for (int i = 0; i < additionalProperties; i++) {
+            subject.addProperty("property" + i, "value of additional property " + i);
+        }
+
+        VerifiableCredential credential = new VerifiableCredential(
+            "urn:uuid:3978344f-8596-4c3a-a978-8fcaba3903c5",
+            List.of("https://www.w3.org/2018/credentials/v1", "https://www.w3.org/2018/credentials/examples/v1"),
+            List.of("VerifiableCredential", "UniversityDegreeCredential"),
+            Issuer.of("did:example:university:stanford", "Stanford University"),
+            issued,
+            subject,
+            new Proof("Ed25519Signature2018", issued, "assertionMethod", KEY_ID,
+                "eyJhbGciOiJFZERTQSIsImI2NCI6ZmFsc2UsImNyaXQiOlsiYjY0Il19..tXq6k3a0uUQvXgkR9p7m1mC8d5yqZ6eWnH0S" +
+                "cXbq4V3kq1nD2r8N2v6fJ0aX9mWbQnX4Jw7pQ3dZk2s5YtBRAg"));
+        credential.setExpirationDate(issued.plusYears(5));
+        return credential;
+    }
+}
@@ -0,0 +1,64 @@
+package com.w3c.credentials.benchmark;
+
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CredentialIssuerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a credential: building it, canonicalizing it and signing it.
+ * signOnly isolates the canonicalization and Ed25519 signature from the rest of issuance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CredentialIssuanceBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private CredentialIssuerService issuerService;
+    private Ed25519Signature2018Suite suite;
+    private IssueCredentialRequest request;
+    private VerifiableCredential unsigned;
+    private LocalDateTime created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.credentialContext();
+        issuerService = context.getBean(CredentialIssuerService.class);
+        suite = context.getBean(Ed25519Signature2018Suite.class);
+        request = new IssueCredentialRequest("Anna Smith", "did:example:student:1f0c6a2e",
+            "Bachelor of Science in Computer Science", "Stanford University");
+        unsigned = BenchmarkFixtures.sampleCredential(2);
+        unsigned.setProof(null);
+        created = unsigned.getIssuanceDate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public VerifiableCredential issue() {
+        return issuerService.issueBachelorDegree(request);
+    }
+
+    @Benchmark
+    public Proof signOnly() {
+        return suite.sign(unsigned, created, "assertionMethod", BenchmarkFixtures.KEY_ID);
+    }
+}
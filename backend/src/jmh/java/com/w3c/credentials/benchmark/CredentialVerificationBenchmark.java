@@ -0,0 +1,63 @@
+package com.w3c.credentials.benchmark;
+
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CredentialIssuerService;
+import com.w3c.credentials.service.CredentialVerifierService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying a freshly issued credential. verify goes through the service and so hits the
+ * signature verification cache after the first call; verifySignature always checks the Ed25519 signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CredentialVerificationBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private CredentialVerifierService verifierService;
+    private Ed25519Signature2018Suite suite;
+    private VerifiableCredential credential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.credentialContext();
+        verifierService = context.getBean(CredentialVerifierService.class);
+        suite = context.getBean(Ed25519Signature2018Suite.class);
+        credential = context.getBean(CredentialIssuerService.class).issueBachelorDegree(
+            new IssueCredentialRequest("Anna Smith", "did:example:student:1f0c6a2e",
+                "Bachelor of Science in Computer Science", "Stanford University"));
+        if (!verifierService.verifyCredential(credential).isValid()) {
+            throw new IllegalStateException("Issued credential does not verify");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public VerificationResult verify() {
+        return verifierService.verifyCredential(credential);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return suite.verify(credential);
+    }
+}
@@ -0,0 +1,68 @@
+package com.w3c.credentials.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.w3c.credentials.model.Issuer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting the issuer DID in each form the issuer takes (a bare DID string or an object),
+ * from the typed issuer and from its JSON. readJsonUntyped is the map-based path the typed issuer
+ * replaced, kept for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IssuerExtractionBenchmark {
+
+    private static final String ISSUER_DID = "did:example:university:stanford";
+
+    @Param({"string", "object"})
+    public String shape;
+
+    private Issuer issuer;
+    private byte[] json;
+    private ObjectReader typedReader;
+    private ObjectReader untypedReader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        issuer = shape.equals("object") ? Issuer.of(ISSUER_DID, "Stanford University") : Issuer.of(ISSUER_DID);
+        ObjectMapper mapper = BenchmarkFixtures.mapperFor("json");
+        json = mapper.writeValueAsBytes(issuer);
+        typedReader = mapper.readerFor(Issuer.class);
+        untypedReader = mapper.readerFor(Object.class);
+    }
+
+    @Benchmark
+    public String extract() {
+        return issuer.getId();
+    }
+
+    @Benchmark
+    public String readJson() throws IOException {
+        Issuer read = typedReader.readValue(json);
+        return read.getId();
+    }
+
+    @Benchmark
+    public String readJsonUntyped() throws IOException {
+        Object read = untypedReader.readValue(json);
+        if (read instanceof String did) {
+            return did;
+        }
+        return (String) ((Map<?, ?>) read).get("id");
+    }
+}
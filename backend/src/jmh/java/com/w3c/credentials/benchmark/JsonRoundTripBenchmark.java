@@ -0,0 +1,54 @@
+package com.w3c.credentials.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization and deserialization of a credential as its subject's additionalProperties grow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonRoundTripBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    public int additionalProperties;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private VerifiableCredential credential;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = BenchmarkFixtures.mapperFor("json");
+        writer = mapper.writerFor(VerifiableCredential.class);
+        reader = mapper.readerFor(VerifiableCredential.class);
+        credential = BenchmarkFixtures.sampleCredential(additionalProperties);
+        encoded = writer.writeValueAsBytes(credential);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(credential);
+    }
+
+    @Benchmark
+    public VerifiableCredential deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
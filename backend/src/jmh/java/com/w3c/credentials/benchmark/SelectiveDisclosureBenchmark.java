@@ -0,0 +1,82 @@
+package com.w3c.credentials.benchmark;
+
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.dto.SelectivePresentation;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CredentialStatusRegistry;
+import com.w3c.credentials.service.SelectiveDisclosureService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifying a presentation that discloses one claim against checking the full credential's signature,
+ * for subjects with few and with many additional properties. The signatures are always checked;
+ * verifyPresentation goes through the service and so reuses the cached signature outcome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SelectiveDisclosureBenchmark {
+
+    @Param({"0", "100"})
+    public int additionalProperties;
+
+    private AnnotationConfigApplicationContext context;
+    private SelectiveDisclosureService selectiveDisclosureService;
+    private Ed25519Signature2018Suite suite;
+    private VerifiableCredential credential;
+    private SelectivePresentation presentation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.credentialContext();
+        selectiveDisclosureService = context.getBean(SelectiveDisclosureService.class);
+        suite = context.getBean(Ed25519Signature2018Suite.class);
+
+        LocalDateTime created = LocalDateTime.of(2024, 6, 1, 12, 30, 15);
+        credential = BenchmarkFixtures.sampleCredential(additionalProperties);
+        credential.setCredentialStatus(context.getBean(CredentialStatusRegistry.class).allocate());
+        credential.setSelectiveDisclosure(
+            selectiveDisclosureService.prepare(credential, created, BenchmarkFixtures.KEY_ID));
+        credential.setProof(suite.sign(credential, created, "assertionMethod", BenchmarkFixtures.KEY_ID));
+
+        presentation = selectiveDisclosureService.present(credential, List.of("degree"));
+        if (!selectiveDisclosureService.verify(presentation).isValid()) {
+            throw new IllegalStateException("Presentation does not verify");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean fullCredentialSignature() {
+        return suite.verify(credential);
+    }
+
+    @Benchmark
+    public boolean presentationSignature() {
+        return suite.verify(presentation.getCredential());
+    }
+
+    @Benchmark
+    public VerificationResult verifyPresentation() {
+        return selectiveDisclosureService.verify(presentation);
+    }
+}
@@ -0,0 +1,57 @@
+package com.w3c.credentials.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a signed credential in each wire format the API negotiates.
+ * The encoded size of each format is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "json-pretty", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private VerifiableCredential credential;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = BenchmarkFixtures.mapperFor(format);
+        ObjectWriter baseWriter = mapper.writerFor(VerifiableCredential.class);
+        writer = "json-pretty".equals(format) ? baseWriter.withDefaultPrettyPrinter() : baseWriter;
+        reader = mapper.readerFor(VerifiableCredential.class);
+        credential = BenchmarkFixtures.sampleCredential(2);
+        encoded = writer.writeValueAsBytes(credential);
+        System.out.printf("%n%s: %d bytes per credential%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(credential);
+    }
+
+    @Benchmark
+    public VerifiableCredential decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -2,11 +2,17 @@ package com.w3c.credentials;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class VerifiableCredentialsApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(VerifiableCredentialsApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(VerifiableCredentialsApplication.class, args);
+        // Without a web server (the cli profile) the run is a single command; exit with its outcome
+        if (!(context instanceof WebServerApplicationContext)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
-}
\ No newline at end of file
+}
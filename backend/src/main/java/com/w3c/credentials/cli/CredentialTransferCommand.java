@@ -0,0 +1,111 @@
+package com.w3c.credentials.cli;
+
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.service.CredentialTransferService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line entry point of the "cli" profile, which starts the application without a web server:
+ *
+ *   java -jar verifiable-credentials-backend.jar --spring.profiles.active=cli export --file=credentials.ndjson.gz
+ *   java -jar verifiable-credentials-backend.jar --spring.profiles.active=cli import --file=credentials.ndjson.gz
+ *
+ * The status lists travel in --status-lists (default FILE.status-lists.ndjson, gzip-compressed when
+ * FILE is), which import loads before the credentials; credentials pointing into a list that is still
+ * not stored are rejected. Import also takes --rejects (default FILE.rejects.ndjson) and --checkpoint
+ * (default FILE.checkpoint). Rerunning an interrupted import with the same options resumes it.
+ */
+@Component
+@ConditionalOnNotWebApplication
+public class CredentialTransferCommand implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialTransferCommand.class);
+
+    private static final int EXIT_USAGE = 2;
+
+    @Autowired
+    private CredentialTransferService transferService;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> commands = args.getNonOptionArgs();
+        String file = option(args, "file");
+        if (commands.size() != 1 || file == null) {
+            logger.error("Usage: (export|import) --file=PATH [--status-lists=PATH] [--rejects=PATH] [--checkpoint=PATH]");
+            exitCode = EXIT_USAGE;
+            return;
+        }
+        Path path = Path.of(file);
+        Path statusLists = Path.of(optionOrDefault(args, "status-lists", statusListsFile(file)));
+
+        try {
+            switch (commands.get(0)) {
+                case "export" -> {
+                    long exported = transferService.exportCredentials(path);
+                    long lists = transferService.exportStatusLists(statusLists);
+                    logger.info("Exported {} credentials to {} and {} status lists to {}", exported, path, lists, statusLists);
+                }
+                case "import" -> {
+                    Path rejects = Path.of(optionOrDefault(args, "rejects", file + ".rejects.ndjson"));
+                    Path checkpoint = Path.of(optionOrDefault(args, "checkpoint", file + ".checkpoint"));
+                    // Runners go before ApplicationReadyEvent, so a fresh database would otherwise lack the
+                    // unique indexes that turn a resumed or repeated import into duplicates
+                    indexInitializer.prepareCollection();
+                    if (Files.exists(statusLists)) {
+                        long lists = transferService.importStatusLists(statusLists);
+                        logger.info("Imported {} status lists from {}", lists, statusLists);
+                    } else {
+                        logger.warn("No status lists at {}; credentials pointing into lists not already stored will be rejected", statusLists);
+                    }
+                    CredentialTransferService.ImportSummary summary = transferService.importCredentials(path, rejects, checkpoint);
+                    logger.info("Imported {} lines from {}: {} stored, {} already present, {} rejected (see {})",
+                        summary.lines(), path, summary.imported(), summary.duplicates(), summary.rejected(), rejects);
+                }
+                default -> {
+                    logger.error("Unknown command '{}'; expected export or import", commands.get(0));
+                    exitCode = EXIT_USAGE;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Credential {} failed: {}", commands.get(0), e.getMessage());
+            exitCode = 1;
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private static String statusListsFile(String file) {
+        return file.endsWith(".gz")
+            ? file.substring(0, file.length() - 3) + ".status-lists.ndjson.gz"
+            : file + ".status-lists.ndjson";
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+
+    private static String optionOrDefault(ApplicationArguments args, String name, String defaultValue) {
+        String value = option(args, name);
+        return value != null ? value : defaultValue;
+    }
+}
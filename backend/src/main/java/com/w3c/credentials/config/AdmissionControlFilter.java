@@ -0,0 +1,86 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.service.AdmissionControlService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies admission control to the servlet stack ahead of all other filters, so rejected
+ * requests cost neither a body read nor a database connection
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private AdmissionControlService admissionControl;
+
+    @Value("${credentials.admission.api-key-header:X-API-Key}")
+    private String apiKeyHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = admissionControl.clientKey(request.getHeader(apiKeyHeader), request.getRemoteAddr());
+        AdmissionControlService.Admission admission =
+            admissionControl.admit(request.getMethod(), pathWithinApplication(request), client);
+
+        if (!admission.isAdmitted()) {
+            response.setStatus(admission.rejection().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()));
+            return;
+        }
+
+        boolean failed = false;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streaming responses finish after the filter chain returns
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        admissionControl.complete(admission, response.getStatus());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {}
+
+                    @Override
+                    public void onError(AsyncEvent event) {}
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {}
+                });
+            } else {
+                admissionControl.complete(admission, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+            }
+        }
+    }
+
+    /**
+     * The request path without the context path, which getRequestURI would include
+     */
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo != null ? request.getServletPath() + pathInfo : request.getServletPath();
+    }
+}
@@ -0,0 +1,49 @@
+package com.w3c.credentials.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class BatchExecutorConfig {
+
+    /**
+     * Bounded worker pool shared by the batch endpoints.
+     * A parallelism of 0 sizes the pool to the available processors.
+     */
+    @Bean(name = "credentialBatchExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformCredentialBatchExecutor(@Value("${credentials.batch.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, namedThreads("credential-batch-"));
+    }
+
+    /**
+     * One virtual thread per batch item when spring.threads.virtual.enabled is set on Java 21+.
+     * Concurrency is still capped by credentials.batch.max-in-flight and the Mongo connection pool.
+     * Signatures and digests come from shared pools rather than ThreadLocals, so short-lived threads still reuse them.
+     */
+    @Bean(name = "credentialBatchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualCredentialBatchExecutor() {
+        return new VirtualThreadTaskExecutor("credential-batch-");
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
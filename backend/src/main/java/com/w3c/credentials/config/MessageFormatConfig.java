@@ -0,0 +1,239 @@
+package com.w3c.credentials.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire formats for credentials. JSON is written compactly unless the request asks for
+ * ?pretty=true; CBOR and Smile are offered for service-to-service clients through the
+ * Accept and Content-Type headers and share the JSON mapper's configuration.
+ */
+@Configuration
+public class MessageFormatConfig {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    static final String PRETTY_PARAMETER = "pretty";
+
+    private static final String PRETTY_HINT = MessageFormatConfig.class.getName() + ".pretty";
+
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+                return isPrettyRequested() ? writer.withDefaultPrettyPrinter() : writer;
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Same formats for the reactive stack. WebFlux has no Jackson CBOR codec by default,
+     * and its Smile codec would not pick up the application's Jackson settings.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer binaryFormatCodecCustomizer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        return configurer -> {
+            // Custom writers are consulted before the defaults; JSON goes first so it stays the answer to Accept: */*
+            configurer.customCodecs().register(new PrettyPrintingJsonEncoder(objectMapper));
+            configurer.customCodecs().register(new BufferingCborDecoder(cborMapper));
+            configurer.customCodecs().register(new StreamingCborEncoder(cborMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+        };
+    }
+
+    /**
+     * The reactive counterpart of the servlet converter's ?pretty=true handling; WebFlux has no
+     * request holder, so the parameter travels to the writer as an encode hint
+     */
+    static class PrettyPrintingJsonEncoder extends Jackson2JsonEncoder {
+
+        PrettyPrintingJsonEncoder(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Map<String, Object> getEncodeHints(ResolvableType actualType, ResolvableType elementType,
+                                                  MediaType mediaType, ServerHttpRequest request, ServerHttpResponse response) {
+            Map<String, Object> hints = super.getEncodeHints(actualType, elementType, mediaType, request, response);
+            return isPrettyRequested(request) ? Hints.merge(hints, PRETTY_HINT, Boolean.TRUE) : hints;
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType,
+                                               ResolvableType elementType, Map<String, Object> hints) {
+            ObjectWriter customized = super.customizeWriter(writer, mimeType, elementType, hints);
+            return hints != null && hints.containsKey(PRETTY_HINT) ? customized.withDefaultPrettyPrinter() : customized;
+        }
+    }
+
+    /**
+     * Jackson's CBOR decoder only reads single values; a Flux of items is read as one CBOR array
+     */
+    static class BufferingCborDecoder extends Jackson2CborDecoder {
+
+        BufferingCborDecoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return decodeToMono(input, listType, mimeType, hints)
+                .flatMapIterable(items -> (List<?>) items);
+        }
+    }
+
+    /**
+     * Jackson's CBOR encoder only writes single values; a Flux is written as one indefinite-length
+     * CBOR array, each item encoded and flushed as it arrives
+     */
+    static class StreamingCborEncoder extends Jackson2CborEncoder {
+
+        private static final byte START_INDEFINITE_ARRAY = (byte) 0x9F;
+        private static final byte BREAK = (byte) 0xFF;
+
+        StreamingCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> input, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            if (input instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return Flux.concat(
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] {START_INDEFINITE_ARRAY})),
+                Flux.from(input).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)),
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] {BREAK})));
+        }
+    }
+
+    /**
+     * Gets the entity tag of the representation the request will be answered with, so the JSON,
+     * pretty JSON, CBOR and Smile bodies of one resource never share a tag
+     */
+    public static String representationEtag(String etag, List<MediaType> accept) {
+        return representationEtag(etag, accept, isPrettyRequested());
+    }
+
+    /**
+     * Same as {@link #representationEtag(String, List)} for a reactive request
+     */
+    public static String representationEtag(String etag, ServerHttpRequest request) {
+        return representationEtag(etag, request.getHeaders().getAccept(), isPrettyRequested(request));
+    }
+
+    private static String representationEtag(String etag, List<MediaType> accept, boolean pretty) {
+        MediaType format = negotiatedFormat(accept);
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            return etag + "-cbor";
+        }
+        if (SMILE.equals(format)) {
+            return etag + "-smile";
+        }
+        return pretty ? etag + "-pretty" : etag;
+    }
+
+    /**
+     * Same as {@link #representationEtag(String, List)} for a raw Accept header
+     */
+    public static String representationEtag(String etag, String accept) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            // The request is rejected during negotiation anyway
+            acceptable = List.of();
+        }
+        return representationEtag(etag, acceptable);
+    }
+
+    /**
+     * Picks the format negotiation settles on: the most preferred acceptable type, then the
+     * writers' own order (JSON, CBOR, Smile) among the formats it matches
+     */
+    static MediaType negotiatedFormat(List<MediaType> accept) {
+        List<MediaType> acceptable = new ArrayList<>(accept.isEmpty() ? List.of(MediaType.ALL) : accept);
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType format : FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static boolean isPrettyRequested() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return Boolean.parseBoolean(request.getParameter(PRETTY_PARAMETER));
+        }
+        return false;
+    }
+
+    private static boolean isPrettyRequested(ServerHttpRequest request) {
+        return Boolean.parseBoolean(request.getQueryParams().getFirst(PRETTY_PARAMETER));
+    }
+}
@@ -0,0 +1,124 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.model.Issuer;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores the issuer in the same shape as its JSON: a bare DID as a string and the object form as
+ * a subdocument. The issuer is registered as a simple type, so the mapping layer never treats it
+ * as an entity and leaves issuer.id in queries and index keys as written instead of mapping it to
+ * issuer._id. Documents written before the issuer had a type, with its id stored as _id, are still read.
+ */
+@Configuration
+public class MongoConversionConfig {
+
+    private static final String LEGACY_ID = "_id";
+    private static final String LEGACY_TYPE = "_class";
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new IssuerConversions(List.of(
+            IssuerReferenceWriter.INSTANCE,
+            IssuerProfileWriter.INSTANCE,
+            StringToIssuerReader.INSTANCE,
+            DocumentToIssuerReader.INSTANCE));
+    }
+
+    /**
+     * The conversions with the abstract Issuer added to the simple types; its subclasses already
+     * are, through their writers, but properties are declared as Issuer
+     */
+    static final class IssuerConversions extends MongoCustomConversions {
+
+        private final SimpleTypeHolder simpleTypes;
+
+        IssuerConversions(List<?> converters) {
+            super(converters);
+            this.simpleTypes = new SimpleTypeHolder(Set.of(Issuer.class), super.getSimpleTypeHolder());
+        }
+
+        @Override
+        public SimpleTypeHolder getSimpleTypeHolder() {
+            return simpleTypes;
+        }
+
+        @Override
+        public boolean isSimpleType(Class<?> type) {
+            return simpleTypes.isSimpleType(type);
+        }
+    }
+
+    @WritingConverter
+    enum IssuerReferenceWriter implements Converter<Issuer.Reference, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(Issuer.Reference issuer) {
+            return issuer.getId();
+        }
+    }
+
+    @WritingConverter
+    enum IssuerProfileWriter implements Converter<Issuer.Profile, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Issuer.Profile issuer) {
+            return new Document(issuer.toProperties());
+        }
+    }
+
+    @ReadingConverter
+    enum StringToIssuerReader implements Converter<String, Issuer> {
+        INSTANCE;
+
+        @Override
+        public Issuer convert(String id) {
+            return Issuer.of(id);
+        }
+    }
+
+    @ReadingConverter
+    enum DocumentToIssuerReader implements Converter<Document, Issuer> {
+        INSTANCE;
+
+        @Override
+        public Issuer convert(Document document) {
+            if (document.containsKey(LEGACY_ID) || document.containsKey(LEGACY_TYPE)) {
+                document = fromLegacy(document);
+            }
+            String id = document.get("id") instanceof String text ? text : null;
+            String name = document.get("name") instanceof String text ? text : null;
+            if (id != null && name != null && document.size() == 2) {
+                return Issuer.of(id, name);
+            }
+            return Issuer.Profile.fromProperties(document);
+        }
+
+        /**
+         * Before the issuer had a type it was mapped as an entity, storing its id as _id along with a type hint
+         */
+        private static Document fromLegacy(Document legacy) {
+            Document document = new Document();
+            if (legacy.containsKey(LEGACY_ID)) {
+                document.put("id", legacy.get(LEGACY_ID));
+            }
+            legacy.forEach((key, value) -> {
+                if (!key.equals(LEGACY_ID) && !key.equals(LEGACY_TYPE)) {
+                    document.put(key, value);
+                }
+            });
+            return document;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.w3c.credentials.config;
+
+import com.mongodb.client.FindIterable;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Creates the indexes backing every repository access path once the application is ready.
+ * With credentials.indexes.verify-query-plans enabled it also explains each query shape
+ * and refuses to continue if any of them would scan the whole collection.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final String ISSUER_INDEX = "issuer_issuanceDate";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${credentials.indexes.verify-query-plans:false}")
+    private boolean verifyQueryPlans;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndexes() {
+        try {
+            prepareCollection();
+        } catch (RuntimeException e) {
+            logger.warn("Unable to create indexes on {}: {}", collectionName(), e.getMessage());
+            return;
+        }
+
+        if (verifyQueryPlans) {
+            List<String> scans = findCollectionScans();
+            if (!scans.isEmpty()) {
+                throw new IllegalStateException("Queries on " + collectionName() + " perform a collection scan: " + scans);
+            }
+            logger.info("All credential query shapes use an index");
+        }
+    }
+
+    /**
+     * Migrates legacy issuers and creates the indexes, throwing if either fails. Runs before the
+     * application is ready for callers such as the cli import, which must not write without the
+     * unique indexes.
+     */
+    public void prepareCollection() {
+        long migrated = migrateLegacyIssuers();
+        if (migrated > 0) {
+            logger.info("Moved the issuer DID of {} credentials from issuer._id to issuer.id", migrated);
+        }
+        ensureIndexes();
+    }
+
+    /**
+     * Creates the compound indexes for the repository queries; existing indexes are left unchanged
+     */
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(VerifiableCredential.class);
+
+        // Holder wallet lookups, newest first
+        indexOps.ensureIndex(new Index()
+            .on("credentialSubject.id", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .named("holder_issuanceDate"));
+
+        // Issuer lookups, newest first: the object form by issuer.id, the bare DID form by issuer itself
+        dropStaleIssuerIndex(indexOps);
+        indexOps.ensureIndex(new Index()
+            .on("issuer.id", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .named(ISSUER_INDEX));
+        indexOps.ensureIndex(new Index()
+            .on("issuer", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .named("issuerReference_issuanceDate"));
+
+        // Type lookups (multikey), newest first
+        indexOps.ensureIndex(new Index()
+            .on("type", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .named("type_issuanceDate"));
+
+        // Name search: anchored prefix lookups on normalized name tokens (multikey)
+        indexOps.ensureIndex(new Index()
+            .on("credentialSubject.nameTokens", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .named("nameTokens_issuanceDate"));
+
+        // Name search tiers for the exact name and whole-name prefixes, newest first
+        indexOps.ensureIndex(new Index()
+            .on("credentialSubject.normalizedName", Sort.Direction.ASC)
+            .on("issuanceDate", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("normalizedName_issuanceDate_id"));
+
+        // Keyset pagination and issued-after range queries
+        indexOps.ensureIndex(new Index()
+            .on("issuanceDate", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("issuanceDate_id"));
+
+        // Only credentials that can expire are indexed; also drives the expiring-soon stream and the expiry sweeper
+        indexOps.ensureIndex(new Index()
+            .on("expirationDate", Sort.Direction.ASC)
+            .partial(PartialIndexFilter.of(Criteria.where("expirationDate").exists(true)))
+            .named("expirationDate_partial"));
+
+        // At most one credential per issuer, holder and degree; sparse, so credentials stored without the key are exempt
+        indexOps.ensureIndex(new Index()
+            .on("issuanceKey", Sort.Direction.ASC)
+            .unique()
+            .sparse()
+            .named("issuanceKey_unique"));
+    }
+
+    /**
+     * Drops the issuer index if an earlier version created it on issuer._id, which the mapping
+     * layer used to make of issuer.id; an index of the same name with other keys cannot be created
+     */
+    private static void dropStaleIssuerIndex(IndexOperations indexOps) {
+        indexOps.getIndexInfo().stream()
+            .filter(index -> index.getName().equals(ISSUER_INDEX))
+            .filter(index -> index.getIndexFields().stream().map(IndexField::getKey).anyMatch("issuer._id"::equals))
+            .findFirst()
+            .ifPresent(index -> {
+                logger.info("Dropping index {} on issuer._id; it is recreated on issuer.id", ISSUER_INDEX);
+                indexOps.dropIndex(ISSUER_INDEX);
+            });
+    }
+
+    /**
+     * Rewrites issuers stored before the issuer had a type, which kept the DID under _id with a
+     * class hint, into the {id, name} form that the issuer.id queries and index match
+     */
+    public long migrateLegacyIssuers() {
+        return mongoTemplate.getCollection(collectionName()).updateMany(
+            new Document("issuer._id", new Document("$exists", true)),
+            new Document("$rename", new Document("issuer._id", "issuer.id"))
+                .append("$unset", new Document("issuer._class", ""))
+        ).getModifiedCount();
+    }
+
+    /**
+     * Explains each repository query shape and returns those whose winning plan is a COLLSCAN
+     */
+    public List<String> findCollectionScans() {
+        List<String> scans = new ArrayList<>();
+        for (QueryShape shape : queryShapes()) {
+            FindIterable<Document> find = mongoTemplate.getCollection(collectionName()).find(shape.filter());
+            if (shape.sort() != null) {
+                find = find.sort(shape.sort());
+            }
+            Document queryPlanner = find.explain().get("queryPlanner", Document.class);
+            if (queryPlanner == null || containsStage(queryPlanner.get("winningPlan"), "COLLSCAN")) {
+                scans.add(shape.name());
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * The filter and sort of each repository query, mapped to stored field names the way the
+     * repositories and the index definitions are (e.g. credentialSubject.id becomes credentialSubject._id)
+     */
+    List<QueryShape> queryShapes() {
+        Date now = new Date();
+        List<QueryShape> shapes = List.of(
+            new QueryShape("findByCredentialSubjectId", new Document("credentialSubject.id", "did:example:probe"), null),
+            new QueryShape("findByIssuerDID", new Document("$or", List.of(
+                new Document("issuer", "did:example:probe"), new Document("issuer.id", "did:example:probe"))), null),
+            new QueryShape("findByIssuanceDateAfter", new Document("issuanceDate", new Document("$gt", now)), null),
+            new QueryShape("findByType", new Document("type", new Document("$in", List.of("VerifiableCredential"))), null),
+            new QueryShape("findNotExpiredCredentials", new Document("expirationDate", new Document("$gt", now)), null),
+            new QueryShape("streamExpiring", new Document("expirationDate", new Document("$gte", now).append("$lt", now)),
+                new Document("expirationDate", 1)),
+            new QueryShape("sweepExpired", new Document("expirationDate", new Document("$lt", now)),
+                new Document("expirationDate", 1)),
+            new QueryShape("searchByName", new Document("credentialSubject.nameTokens", new Document("$regex", "^probe")),
+                new Document("issuanceDate", -1).append("_id", -1)),
+            new QueryShape("searchByExactName", new Document("credentialSubject.normalizedName", "probe"),
+                new Document("issuanceDate", -1).append("_id", -1)),
+            new QueryShape("searchByNamePrefix", new Document("credentialSubject.normalizedName", new Document("$regex", "^probe")),
+                new Document("issuanceDate", -1).append("_id", -1)),
+            new QueryShape("findByIssuanceKey", new Document("issuanceKey", "probe"), null),
+            new QueryShape("findPage", new Document(), new Document("issuanceDate", -1).append("_id", -1))
+        );
+
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(VerifiableCredential.class);
+        return shapes.stream()
+            .map(shape -> new QueryShape(shape.name(),
+                queryMapper.getMappedObject(shape.filter(), entity),
+                shape.sort() != null ? queryMapper.getMappedSort(shape.sort(), entity) : null))
+            .toList();
+    }
+
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.getString("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (plan instanceof List<?> children) {
+            for (Object child : children) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(VerifiableCredential.class);
+    }
+
+    record QueryShape(String name, Document filter, Document sort) {}
+}
@@ -0,0 +1,20 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.service.MongoPoolMonitor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background database health checks and connection-pool tracking
+ */
+@Configuration
+@EnableScheduling
+public class MongoMonitoringConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer poolMonitorCustomizer(MongoPoolMonitor poolMonitor) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(poolMonitor));
+    }
+}
@@ -0,0 +1,61 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.service.AdmissionControlService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Applies admission control to the reactive stack; an admitted request is completed when its
+ * response finishes, including streamed ones
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdmissionControlFilter implements WebFilter {
+
+    @Autowired
+    private AdmissionControlService admissionControl;
+
+    @Value("${credentials.admission.api-key-header:X-API-Key}")
+    private String apiKeyHeader;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remote = request.getRemoteAddress();
+        String client = admissionControl.clientKey(request.getHeaders().getFirst(apiKeyHeader),
+            remote != null ? remote.getAddress().getHostAddress() : null);
+        AdmissionControlService.Admission admission =
+            admissionControl.admit(request.getMethod().name(), request.getPath().pathWithinApplication().value(), client);
+
+        ServerHttpResponse response = exchange.getResponse();
+        if (!admission.isAdmitted()) {
+            response.setStatusCode(admission.rejection());
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()));
+            return response.setComplete();
+        }
+        if (admission.group() == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = response.getStatusCode();
+            int code = signal == SignalType.ON_ERROR ? 500 : status != null ? status.value() : 200;
+            admissionControl.complete(admission, code);
+        });
+    }
+}
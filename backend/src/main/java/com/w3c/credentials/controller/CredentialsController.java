@@ -1,34 +1,83 @@
 package com.w3c.credentials.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.w3c.credentials.config.MessageFormatConfig;
+import com.w3c.credentials.dto.BatchIssueResponse;
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.dto.IssuanceStatus;
 import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.dto.PresentationRequest;
+import com.w3c.credentials.dto.SelectivePresentation;
+import com.w3c.credentials.dto.StatusListCredential;
 import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.CredentialStatus;
 import com.w3c.credentials.model.VerifiableCredential;
 import com.w3c.credentials.repository.VerifiableCredentialRepository;
-import com.w3c.credentials.service.CredentialIssuerService;
+import com.w3c.credentials.service.AsyncIssuanceService;
+import com.w3c.credentials.service.CoarseClock;
+import com.w3c.credentials.service.CredentialBatchIssuerService;
+import com.w3c.credentials.service.CredentialBatchVerifierService;
+import com.w3c.credentials.service.CredentialQueryService;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.CredentialSearchService;
 import com.w3c.credentials.service.CredentialVerifierService;
+import com.w3c.credentials.service.IdempotencyConflictException;
+import com.w3c.credentials.service.IdempotentIssuanceService;
+import com.w3c.credentials.service.SelectiveDisclosureService;
+import com.w3c.credentials.service.StatusListService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/credentials")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = HttpHeaders.ETAG)
 @Tag(name = "Verifiable Credentials", description = "W3C Verifiable Credentials management API")
 public class CredentialsController {
     
-    @Autowired
-    private CredentialIssuerService issuerService;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String ISSUANCE_STATUS_PATH = "/api/credentials/issuance/";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
+    // A credential without a status entry can never be revoked, so clients may cache it indefinitely
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    
+    // Revocable credentials, and any credential may be deleted; clients reuse a copy briefly, then revalidate
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic().mustRevalidate();
+    
+    // Status lists change as credentials are revoked; verifiers may reuse a copy briefly
+    private static final CacheControl STATUS_LIST_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
     
     @Autowired
     private CredentialVerifierService verifierService;
@@ -36,62 +85,282 @@ public class CredentialsController {
     @Autowired
     private VerifiableCredentialRepository credentialRepository;
     
+    @Autowired
+    private CredentialQueryService queryService;
+    
+    @Autowired
+    private CredentialBatchIssuerService batchIssuerService;
+    
+    @Autowired
+    private CredentialBatchVerifierService batchVerifierService;
+    
+    @Autowired
+    private CredentialSearchService searchService;
+    
+    @Autowired
+    private CredentialReadCache readCache;
+    
+    @Autowired
+    private StatusListService statusListService;
+    
+    @Autowired
+    private CoarseClock clock;
+    
+    @Autowired
+    private AsyncIssuanceService asyncIssuanceService;
+    
+    @Autowired
+    private IdempotentIssuanceService idempotentIssuanceService;
+    
+    @Autowired
+    private SelectiveDisclosureService selectiveDisclosureService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Issue a new verifiable credential
      */
     @PostMapping("/issue")
     @Operation(summary = "Issue a new verifiable credential", 
-               description = "Creates and issues a new W3C verifiable credential for a student")
+               description = "Creates and issues a new W3C verifiable credential for a student. A student holds at most " +
+                             "one credential per degree, so retrying returns the original credential.")
     @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Credential was already issued; the original is returned"),
         @ApiResponse(responseCode = "201", description = "Credential issued successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid request data")
+        @ApiResponse(responseCode = "202", description = "Credential issued, storage pending (asynchronous issuance)"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different credential"),
+        @ApiResponse(responseCode = "503", description = "Issuance backlog is full, retry later")
     })
     public ResponseEntity<VerifiableCredential> issueCredential(
+            @Parameter(description = "Client-chosen key identifying this issuance across retries") 
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Parameter(description = "Credential issuance request") 
             @Valid @RequestBody IssueCredentialRequest request) {
         
         try {
-            // Issue the credential
-            VerifiableCredential credential = issuerService.issueBachelorDegree(request);
-            
-            // Save to database
-            VerifiableCredential savedCredential = credentialRepository.save(credential);
+            // Issue the credential, or find the one issued by an earlier attempt
+            IdempotentIssuanceService.Issuance issuance = idempotentIssuanceService.issue(request, idempotencyKey);
+            VerifiableCredential credential = issuance.credential();
             
-            return new ResponseEntity<>(savedCredential, HttpStatus.CREATED);
+            if (issuance.replayed()) {
+                return new ResponseEntity<>(credential, HttpStatus.OK);
+            }
+            if (asyncIssuanceService.isEnabled()) {
+                // Signed and journaled; it is stored in the background
+                return ResponseEntity.accepted()
+                    .location(URI.create(ISSUANCE_STATUS_PATH + credential.getId()))
+                    .body(credential);
+            }
+            return new ResponseEntity<>(credential, HttpStatus.CREATED);
+        } catch (IdempotencyConflictException e) {
+            return new ResponseEntity<>(null, HttpStatus.UNPROCESSABLE_ENTITY);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Get the storage status of an asynchronously issued credential
+     */
+    @GetMapping("/issuance/{id}")
+    @Operation(summary = "Get asynchronous issuance status", 
+               description = "Reports whether a credential accepted with 202 is still pending, stored or failed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Issuance status"),
+        @ApiResponse(responseCode = "404", description = "Unknown credential")
+    })
+    public ResponseEntity<IssuanceStatus> getIssuanceStatus(
+            @Parameter(description = "Credential ID") 
+            @PathVariable String id) {
+        
+        try {
+            return asyncIssuanceService.getStatus(id)
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Issue a batch of verifiable credentials (JSON array)
+     */
+    @PostMapping(value = "/issue/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MessageFormatConfig.SMILE_VALUE})
+    @Operation(summary = "Issue a batch of verifiable credentials", 
+               description = "Issues one credential per request in the array and stores them with bulk writes. " +
+                             "Each item gets its own result, so invalid items do not fail the batch.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Request body is not a JSON array")
+    })
+    public ResponseEntity<BatchIssueResponse> issueCredentialsBatch(
+            @Parameter(description = "Credential issuance requests") 
+            @RequestBody List<IssueCredentialRequest> requests) {
+        
+        try {
+            BatchIssueResponse response = batchIssuerService.issueAll(requests);
+            return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
     /**
-     * Get all credentials
+     * Issue a batch of verifiable credentials (NDJSON stream)
+     */
+    @PostMapping(value = "/issue/batch", consumes = NDJSON_VALUE)
+    @Operation(summary = "Issue a batch of verifiable credentials from NDJSON", 
+               description = "Same as the JSON batch endpoint, but reads one issuance request per line " +
+                             "so arbitrarily large batches are processed chunk by chunk")
+    public ResponseEntity<BatchIssueResponse> issueCredentialsBatchStream(InputStream body) {
+        try {
+            BatchIssueResponse response = batchIssuerService.issueAll(body);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Get all credentials, one page at a time
      */
     @GetMapping
     @Operation(summary = "Get all verifiable credentials", 
-               description = "Retrieves all stored verifiable credentials")
-    public ResponseEntity<List<VerifiableCredential>> getAllCredentials() {
+               description = "Retrieves stored verifiable credentials newest first, using keyset pagination. " +
+                             "Pass the returned nextCursor to fetch the following page; use view=summary for a lightweight projection.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of credentials"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<CredentialPage<?>> getAllCredentials(
+            @Parameter(description = "Cursor returned by the previous page") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + CredentialQueryService.MAX_PAGE_SIZE + ")") 
+            @RequestParam(defaultValue = "" + CredentialQueryService.DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Response view: full (default) or summary") 
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        
         try {
-            List<VerifiableCredential> credentials = credentialRepository.findAll();
-            return new ResponseEntity<>(credentials, HttpStatus.OK);
+            CredentialPage<?> page = isSummaryView(view)
+                ? queryService.findSummaryPage(cursor, limit)
+                : queryService.findPage(cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    /**
+     * Stream all credentials as NDJSON
+     */
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    @Operation(summary = "Stream all verifiable credentials", 
+               description = "Streams every stored credential as newline-delimited JSON from a Mongo cursor")
+    public ResponseEntity<StreamingResponseBody> streamAllCredentials() {
+        ObjectWriter writer = compactWriter();
+        
+        return ndjson(outputStream -> {
+            try (Stream<VerifiableCredential> credentials = queryService.streamAll()) {
+                Iterator<VerifiableCredential> iterator = credentials.iterator();
+                while (iterator.hasNext()) {
+                    writeLine(outputStream, writer, iterator.next());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Stream credentials that expire soon as NDJSON
+     */
+    @GetMapping(value = "/expiring", produces = NDJSON_VALUE)
+    @Operation(summary = "Stream credentials expiring soon", 
+               description = "Streams summaries of credentials expiring within the given ISO-8601 duration, soonest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Expiring credentials as NDJSON"),
+        @ApiResponse(responseCode = "400", description = "Malformed duration")
+    })
+    public ResponseEntity<StreamingResponseBody> streamExpiringCredentials(
+            @Parameter(description = "Look-ahead window, e.g. P30D") 
+            @RequestParam(defaultValue = "P30D") String within) {
+        
+        LocalDateTime from;
+        LocalDateTime until;
+        try {
+            from = clock.now();
+            until = from.plus(Duration.parse(within));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        ObjectWriter writer = compactWriter();
+        
+        return ndjson(outputStream -> {
+            try (Stream<CredentialSummary> summaries = queryService.streamExpiring(from, until)) {
+                Iterator<CredentialSummary> iterator = summaries.iterator();
+                while (iterator.hasNext()) {
+                    writeLine(outputStream, writer, iterator.next());
+                }
+            }
+        });
+    }
+    
     /**
      * Get credential by ID
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get credential by ID", 
-               description = "Retrieves a specific verifiable credential by its ID")
+               description = "Retrieves a specific verifiable credential by its ID. The response carries a strong " +
+                             "ETag; send it back in If-None-Match to get 304 Not Modified instead of the body.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Credential found"),
+        @ApiResponse(responseCode = "304", description = "Client copy is current"),
+        @ApiResponse(responseCode = "404", description = "Credential not found")
+    })
     public ResponseEntity<VerifiableCredential> getCredentialById(
             @Parameter(description = "Credential ID") 
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Entity tags the client already holds") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        Optional<VerifiableCredential> credential = credentialRepository.findById(id);
+        // Revalidation is answered from the ETag index without loading the credential; not knowing
+        // whether it is revocable, the client is told to revalidate again
+        Optional<String> cachedEtag = readCache.findCachedEtag(id)
+            .map(etag -> MessageFormatConfig.representationEtag(etag, accept));
+        if (cachedEtag.isPresent() && etagMatches(ifNoneMatch, cachedEtag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(cachedEtag.get())
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(REVALIDATE)
+                .build();
+        }
+        
+        Optional<VerifiableCredential> credential = readCache.findById(id);
         
         if (credential.isPresent()) {
-            return new ResponseEntity<>(credential.get(), HttpStatus.OK);
+            String etag = MessageFormatConfig.representationEtag(readCache.etagOf(credential.get()), accept);
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(cacheControlOf(credential.get()))
+                    .build();
+            }
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(cacheControlOf(credential.get()))
+                .body(credential.get());
         } else {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
         }
@@ -102,14 +371,21 @@ public class CredentialsController {
      */
     @GetMapping("/holder/{holderDID}")
     @Operation(summary = "Get credentials by holder DID", 
-               description = "Retrieves all credentials belonging to a specific holder")
-    public ResponseEntity<List<VerifiableCredential>> getCredentialsByHolder(
+               description = "Retrieves all credentials belonging to a specific holder. " +
+                             "Use view=summary for a lightweight projection.")
+    public ResponseEntity<List<?>> getCredentialsByHolder(
             @Parameter(description = "Holder DID") 
-            @PathVariable String holderDID) {
+            @PathVariable String holderDID,
+            @Parameter(description = "Response view: full (default) or summary") 
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
         
         try {
-            List<VerifiableCredential> credentials = credentialRepository.findByCredentialSubjectId(holderDID);
+            List<?> credentials = isSummaryView(view)
+                ? queryService.findSummariesByHolder(holderDID)
+                : readCache.findByHolder(holderDID);
             return new ResponseEntity<>(credentials, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -142,6 +418,50 @@ public class CredentialsController {
         }
     }
     
+    /**
+     * Verify a batch of verifiable credentials (JSON array)
+     */
+    @PostMapping(value = "/verify/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MessageFormatConfig.SMILE_VALUE}, produces = NDJSON_VALUE)
+    @Operation(summary = "Verify a batch of verifiable credentials", 
+               description = "Verifies every credential in the array concurrently and streams one NDJSON " +
+                             "result per credential, in input order")
+    public ResponseEntity<StreamingResponseBody> verifyCredentialsBatch(
+            @Parameter(description = "Verifiable credentials to verify") 
+            @RequestBody List<VerifiableCredential> credentials) {
+        
+        ObjectWriter writer = compactWriter();
+        return ndjson(outputStream -> batchVerifierService.verifyAll(credentials,
+            result -> writeLine(outputStream, writer, result)));
+    }
+    
+    /**
+     * Verify a batch of verifiable credentials (NDJSON stream)
+     */
+    @PostMapping(value = "/verify/batch", consumes = NDJSON_VALUE, produces = NDJSON_VALUE)
+    @Operation(summary = "Verify a batch of verifiable credentials from NDJSON", 
+               description = "Same as the JSON batch endpoint, but reads one credential per line")
+    public ResponseEntity<StreamingResponseBody> verifyCredentialsBatchStream(InputStream body) {
+        ObjectWriter writer = compactWriter();
+        return ndjson(outputStream -> batchVerifierService.verifyAll(body,
+            result -> writeLine(outputStream, writer, result)));
+    }
+    
+    /**
+     * Verify stored credentials by ID
+     */
+    @PostMapping(value = "/verify/ids", produces = NDJSON_VALUE)
+    @Operation(summary = "Verify stored credentials by ID", 
+               description = "Loads the credentials with batched $in queries, verifies them concurrently and " +
+                             "streams one NDJSON result per ID, in input order")
+    public ResponseEntity<StreamingResponseBody> verifyCredentialsByIds(
+            @Parameter(description = "Credential IDs to verify") 
+            @RequestBody List<String> ids) {
+        
+        ObjectWriter writer = compactWriter();
+        return ndjson(outputStream -> batchVerifierService.verifyAllById(ids,
+            result -> writeLine(outputStream, writer, result)));
+    }
+    
     /**
      * Verify credential by ID
      */
@@ -152,7 +472,7 @@ public class CredentialsController {
             @Parameter(description = "Credential ID to verify") 
             @PathVariable String id) {
         
-        Optional<VerifiableCredential> credentialOpt = credentialRepository.findById(id);
+        Optional<VerifiableCredential> credentialOpt = readCache.findById(id);
         
         if (credentialOpt.isEmpty()) {
             VerificationResult errorResult = new VerificationResult(
@@ -187,26 +507,160 @@ public class CredentialsController {
             @PathVariable String id) {
         
         try {
+            Optional<VerifiableCredential> existing = readCache.findById(id);
             credentialRepository.deleteById(id);
+            readCache.credentialDeleted(id, existing.orElse(null));
+            existing.ifPresent(idempotentIssuanceService::credentialDeleted);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    /**
+     * Create a selective disclosure presentation of a credential
+     */
+    @PostMapping("/{id}/presentations")
+    @Operation(summary = "Create a selective disclosure presentation", 
+               description = "Returns the credential redacted to its holder ID and claim digests, signed by the issuer, " +
+                             "together with the disclosures of only the requested subject claims")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Presentation created"),
+        @ApiResponse(responseCode = "400", description = "Unknown claim, or credential issued without selective disclosure"),
+        @ApiResponse(responseCode = "404", description = "Credential not found")
+    })
+    public ResponseEntity<SelectivePresentation> createPresentation(
+            @Parameter(description = "Credential ID") 
+            @PathVariable String id,
+            @Parameter(description = "Subject claims to disclose") 
+            @Valid @RequestBody PresentationRequest request) {
+        
+        try {
+            return readCache.findById(id)
+                .map(credential -> new ResponseEntity<>(
+                    selectiveDisclosureService.present(credential, request.getDisclose()), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Verify a selective disclosure presentation
+     */
+    @PostMapping("/presentations/verify")
+    @Operation(summary = "Verify a selective disclosure presentation", 
+               description = "Checks the issuer's proof over the redacted credential and that every disclosure " +
+                             "matches one of its digests; the disclosed claims are returned when valid")
+    public ResponseEntity<VerificationResult> verifyPresentation(
+            @Parameter(description = "Presentation to verify") 
+            @Valid @RequestBody SelectivePresentation presentation) {
+        
+        try {
+            return new ResponseEntity<>(selectiveDisclosureService.verify(presentation), HttpStatus.OK);
+        } catch (Exception e) {
+            VerificationResult errorResult = new VerificationResult(
+                false,
+                "❌ Verification process failed due to an error: " + e.getMessage(),
+                new VerificationResult.VerificationDetails(false, false, false)
+            );
+            return new ResponseEntity<>(errorResult, HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    /**
+     * Revoke credential by ID
+     */
+    @PostMapping("/{id}/revoke")
+    @Operation(summary = "Revoke credential by ID", 
+               description = "Sets the credential's bit in its StatusList2021 revocation list. Verifiers see the " +
+                             "revocation once the list is flushed and their cached copy is refreshed.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Credential revoked; returns its status entry"),
+        @ApiResponse(responseCode = "404", description = "Credential not found"),
+        @ApiResponse(responseCode = "409", description = "Credential has no status entry in a list issued here")
+    })
+    public ResponseEntity<CredentialStatus> revokeCredential(
+            @Parameter(description = "Credential ID to revoke") 
+            @PathVariable String id) {
+        
+        try {
+            Optional<VerifiableCredential> credential = readCache.findById(id);
+            if (credential.isEmpty()) {
+                return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+            }
+            CredentialStatus status = credential.get().getCredentialStatus();
+            statusListService.revoke(status);
+            return new ResponseEntity<>(status, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Get a revocation status list
+     */
+    @GetMapping("/status/{listId}")
+    @Operation(summary = "Get a revocation status list", 
+               description = "Serves a StatusList2021Credential whose encodedList is the GZIP-compressed, " +
+                             "base64url-encoded revocation bitstring")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status list found"),
+        @ApiResponse(responseCode = "304", description = "Client copy is current"),
+        @ApiResponse(responseCode = "404", description = "Status list not found")
+    })
+    public ResponseEntity<StatusListCredential> getStatusList(
+            @Parameter(description = "Status list ID") 
+            @PathVariable String listId,
+            @Parameter(description = "Entity tags the client already holds") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        try {
+            Optional<Long> version = statusListService.getVersion(listId);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+            }
+            String etag = MessageFormatConfig.representationEtag(listId + "-" + version.get(), accept);
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(STATUS_LIST_CACHE)
+                    .build();
+            }
+            return statusListService.getStatusListCredential(listId)
+                .map(list -> ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(STATUS_LIST_CACHE).body(list))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     /**
      * Get credentials by type
      */
     @GetMapping("/type/{type}")
     @Operation(summary = "Get credentials by type", 
-               description = "Retrieves credentials of a specific type")
-    public ResponseEntity<List<VerifiableCredential>> getCredentialsByType(
+               description = "Retrieves credentials of a specific type. " +
+                             "Use view=summary for a lightweight projection.")
+    public ResponseEntity<List<?>> getCredentialsByType(
             @Parameter(description = "Credential type") 
-            @PathVariable String type) {
+            @PathVariable String type,
+            @Parameter(description = "Response view: full (default) or summary") 
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
         
         try {
-            List<VerifiableCredential> credentials = credentialRepository.findByType(type);
+            List<?> credentials = isSummaryView(view)
+                ? queryService.findSummariesByType(type)
+                : credentialRepository.findByType(type);
             return new ResponseEntity<>(credentials, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -217,16 +671,85 @@ public class CredentialsController {
      */
     @GetMapping("/search")
     @Operation(summary = "Search credentials by student name", 
-               description = "Searches for credentials by student name (case-insensitive)")
-    public ResponseEntity<List<VerifiableCredential>> searchCredentialsByName(
+               description = "Searches for credentials by student name (case- and accent-insensitive). " +
+                             "Each search word matches the start of a word in the name; best matches come first.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranked page of matching credentials"),
+        @ApiResponse(responseCode = "400", description = "Empty search term or malformed cursor")
+    })
+    public ResponseEntity<CredentialPage<?>> searchCredentialsByName(
             @Parameter(description = "Student name to search") 
-            @RequestParam String name) {
+            @RequestParam String name,
+            @Parameter(description = "Cursor returned by the previous page") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + CredentialQueryService.MAX_PAGE_SIZE + ")") 
+            @RequestParam(defaultValue = "" + CredentialQueryService.DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Response view: full (default) or summary") 
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
         
         try {
-            List<VerifiableCredential> credentials = credentialRepository.findByStudentName(name);
-            return new ResponseEntity<>(credentials, HttpStatus.OK);
+            CredentialPage<?> page = isSummaryView(view)
+                ? searchService.searchSummariesByName(name, cursor, limit)
+                : searchService.searchByName(name, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    
+    /**
+     * Weak comparison of an If-None-Match header against a strong entity tag (RFC 9110)
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("\"" + etag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static CacheControl cacheControlOf(VerifiableCredential credential) {
+        return credential.getCredentialStatus() == null ? IMMUTABLE : REVALIDATE;
+    }
+    
+    /**
+     * Parses the view parameter shared by the list endpoints
+     */
+    private static boolean isSummaryView(String view) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (VIEW_FULL.equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view);
+    }
+    
+    private ObjectWriter compactWriter() {
+        return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+    
+    private static void writeLine(OutputStream outputStream, ObjectWriter writer, Object value) throws IOException {
+        outputStream.write(writer.writeValueAsBytes(value));
+        outputStream.write('\n');
+    }
+    
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+            .body(body);
+    }
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.w3c.credentials.controller;
 
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.service.AdmissionControlService;
+import com.w3c.credentials.service.AsyncIssuanceService;
+import com.w3c.credentials.service.CredentialExpirySweeper;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.DatabaseHealthMonitor;
+import com.w3c.credentials.service.TrustRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +25,25 @@ import java.util.Map;
 public class HealthController {
     
     @Autowired
-    private MongoTemplate mongoTemplate;
+    private DatabaseHealthMonitor databaseHealth;
+    
+    @Autowired
+    private SignatureVerificationCache verificationCache;
+    
+    @Autowired
+    private CredentialReadCache readCache;
+    
+    @Autowired
+    private TrustRegistry trustRegistry;
+
+    @Autowired
+    private CredentialExpirySweeper expirySweeper;
+
+    @Autowired
+    private AsyncIssuanceService asyncIssuanceService;
+
+    @Autowired
+    private AdmissionControlService admissionControl;
     
     /**
      * Basic health check endpoint
@@ -39,28 +63,24 @@ public class HealthController {
      * Detailed health status
      */
     @GetMapping("/health")
-    @Operation(summary = "Detailed health status", description = "Detailed application and database health status")
+    @Operation(summary = "Detailed health status", description = "Detailed application and database health status, served from the last background check")
     public ResponseEntity<Map<String, Object>> detailedHealth() {
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
         response.put("application", "W3C Verifiable Credentials Backend");
         response.put("version", "1.0.0");
         
-        // Check database connectivity
-        Map<String, Object> database = new HashMap<>();
-        try {
-            // Attempt to ping MongoDB
-            mongoTemplate.getCollection("verifiable_credentials").estimatedDocumentCount();
-            database.put("status", "connected");
-            database.put("type", "MongoDB");
-        } catch (Exception e) {
-            database.put("status", "disconnected");
-            database.put("error", e.getMessage());
-        }
-        response.put("database", database);
+        // Database status comes from the background monitor, so probes never touch MongoDB
+        response.put("database", databaseHealth.getDetails());
+        response.put("verificationCache", verificationCache.getStats());
+        response.put("readCache", readCache.getStats());
+        response.put("trustRegistry", trustRegistry.getStats());
+        response.put("expirySweeper", expirySweeper.getStats());
+        response.put("asyncIssuance", asyncIssuanceService.getStats());
+        response.put("admissionControl", admissionControl.getStats());
         
         // Overall status
-        boolean isHealthy = "connected".equals(database.get("status"));
+        boolean isHealthy = databaseHealth.isAvailable();
         response.put("status", isHealthy ? "healthy" : "unhealthy");
         
         HttpStatus httpStatus = isHealthy ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
@@ -81,10 +101,22 @@ public class HealthController {
         
         Map<String, String> endpoints = new HashMap<>();
         endpoints.put("issue", "POST /api/credentials/issue");
+        endpoints.put("issuanceStatus", "GET /api/credentials/issuance/{id}");
+        endpoints.put("issueBatch", "POST /api/credentials/issue/batch");
         endpoints.put("verify", "POST /api/credentials/verify");
-        endpoints.put("list", "GET /api/credentials");
+        endpoints.put("verifyBatch", "POST /api/credentials/verify/batch");
+        endpoints.put("verifyIds", "POST /api/credentials/verify/ids");
+        endpoints.put("list", "GET /api/credentials?cursor={cursor}&limit={limit}");
+        endpoints.put("stream", "GET /api/credentials/stream");
+        endpoints.put("expiring", "GET /api/credentials/expiring?within={duration}");
+        endpoints.put("summary", "GET /api/credentials?view=summary");
         endpoints.put("get", "GET /api/credentials/{id}");
         endpoints.put("search", "GET /api/credentials/search?name={name}");
+        endpoints.put("present", "POST /api/credentials/{id}/presentations");
+        endpoints.put("verifyPresentation", "POST /api/credentials/presentations/verify");
+        endpoints.put("revoke", "POST /api/credentials/{id}/revoke");
+        endpoints.put("statusList", "GET /api/credentials/status/{listId}");
+        endpoints.put("metrics", "GET /actuator/prometheus");
         endpoints.put("swagger", "GET /swagger-ui/index.html");
         
         response.put("endpoints", endpoints);
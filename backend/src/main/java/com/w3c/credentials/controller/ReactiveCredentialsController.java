@@ -0,0 +1,505 @@
+package com.w3c.credentials.controller;
+
+import com.w3c.credentials.config.MessageFormatConfig;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.dto.BatchIssueResponse;
+import com.w3c.credentials.dto.BatchVerificationResult;
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.dto.IssuanceStatus;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.dto.PresentationRequest;
+import com.w3c.credentials.dto.SelectivePresentation;
+import com.w3c.credentials.dto.StatusListCredential;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.ReactiveVerifiableCredentialRepository;
+import com.w3c.credentials.service.AsyncIssuanceService;
+import com.w3c.credentials.service.CoarseClock;
+import com.w3c.credentials.service.CredentialBatchIssuerService;
+import com.w3c.credentials.service.CredentialBatchVerifierService;
+import com.w3c.credentials.service.CredentialQueryService;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.CredentialSearchService;
+import com.w3c.credentials.service.CredentialVerifierService;
+import com.w3c.credentials.service.IdempotencyConflictException;
+import com.w3c.credentials.service.IdempotentIssuanceService;
+import com.w3c.credentials.service.ReactiveCredentialQueryService;
+import com.w3c.credentials.service.SelectiveDisclosureService;
+import com.w3c.credentials.service.StatusListService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking variant of {@link CredentialsController}, active when the application runs as a
+ * reactive web application (the "reactive" profile). Reads and writes go through the reactive
+ * Mongo driver; signing and verification run on the bounded elastic scheduler so event-loop threads
+ * only move bytes. List endpoints return a Flux, streamed with backpressure when the client accepts NDJSON.
+ * Search and batch issuance reuse the blocking services on the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping("/api/credentials")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = HttpHeaders.ETAG)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCredentialsController {
+
+    private static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String ISSUANCE_STATUS_PATH = "/api/credentials/issuance/";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "issuanceDate");
+
+    // A credential without a status entry can never be revoked, so clients may cache it indefinitely
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    // Revocable credentials, and any credential may be deleted; clients reuse a copy briefly, then revalidate
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic().mustRevalidate();
+
+    private static final CacheControl STATUS_LIST_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
+    @Autowired
+    private CredentialVerifierService verifierService;
+
+    @Autowired
+    private ReactiveVerifiableCredentialRepository credentialRepository;
+
+    @Autowired
+    private ReactiveCredentialQueryService queryService;
+
+    @Autowired
+    private CredentialBatchIssuerService batchIssuerService;
+
+    @Autowired
+    private CredentialBatchVerifierService batchVerifierService;
+
+    @Autowired
+    private CredentialSearchService searchService;
+
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+
+    @Autowired
+    private StatusListService statusListService;
+
+    @Autowired
+    private CoarseClock clock;
+
+    @Autowired
+    private AsyncIssuanceService asyncIssuanceService;
+
+    @Autowired
+    private IdempotentIssuanceService idempotentIssuanceService;
+
+    @Autowired
+    private SelectiveDisclosureService selectiveDisclosureService;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Value("${credentials.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${credentials.batch.max-in-flight:256}")
+    private int maxInFlight;
+
+    /**
+     * Issue a new verifiable credential; retries return the credential issued by the first attempt
+     */
+    @PostMapping("/issue")
+    public Mono<ResponseEntity<VerifiableCredential>> issueCredential(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody IssueCredentialRequest request) {
+
+        // Deduplication waits on concurrent retries and journal writes block, so this runs on the elastic scheduler
+        return Mono.fromCallable(() -> idempotentIssuanceService.issue(request, idempotencyKey))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(issuance -> {
+                VerifiableCredential credential = issuance.credential();
+                if (issuance.replayed()) {
+                    return new ResponseEntity<>(credential, HttpStatus.OK);
+                }
+                if (asyncIssuanceService.isEnabled()) {
+                    return ResponseEntity.accepted()
+                        .location(URI.create(ISSUANCE_STATUS_PATH + credential.getId()))
+                        .body(credential);
+                }
+                return new ResponseEntity<>(credential, HttpStatus.CREATED);
+            })
+            .onErrorResume(IdempotencyConflictException.class, e -> Mono.just(
+                ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).<VerifiableCredential>build()))
+            .onErrorResume(RejectedExecutionException.class, e -> Mono.just(ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .<VerifiableCredential>build()))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Get the storage status of an asynchronously issued credential
+     */
+    @GetMapping("/issuance/{id}")
+    public Mono<ResponseEntity<IssuanceStatus>> getIssuanceStatus(@PathVariable String id) {
+        return Mono.fromCallable(() -> asyncIssuanceService.getStatus(id))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(status -> status
+                .map(found -> new ResponseEntity<>(found, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND)))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Issue a batch of verifiable credentials (JSON array, CBOR, Smile or NDJSON)
+     */
+    @PostMapping("/issue/batch")
+    public Mono<ResponseEntity<BatchIssueResponse>> issueCredentialsBatch(
+            @RequestBody Flux<IssueCredentialRequest> requests) {
+
+        return requests.collectList()
+            .publishOn(Schedulers.boundedElastic())
+            .map(batchIssuerService::issueAll)
+            .map(response -> new ResponseEntity<>(response, HttpStatus.OK))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Get all credentials, one page at a time
+     */
+    @GetMapping
+    public Mono<ResponseEntity<CredentialPage<?>>> getAllCredentials(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CredentialQueryService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+
+        return summaryView(view)
+            .flatMap(summary -> summary
+                ? queryService.findSummaryPage(cursor, limit).map(page -> (CredentialPage<?>) page)
+                : queryService.findPage(cursor, limit).map(page -> (CredentialPage<?>) page))
+            .map(page -> new ResponseEntity<CredentialPage<?>>(page, HttpStatus.OK))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, errorStatus(e))));
+    }
+
+    /**
+     * Stream all credentials as NDJSON
+     */
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    public Flux<VerifiableCredential> streamAllCredentials() {
+        return queryService.streamAll();
+    }
+
+    /**
+     * Stream credentials that expire soon as NDJSON
+     */
+    @GetMapping(value = "/expiring", produces = NDJSON_VALUE)
+    public Flux<CredentialSummary> streamExpiringCredentials(@RequestParam(defaultValue = "P30D") String within) {
+        return Mono.fromCallable(() -> Duration.parse(within))
+            .onErrorMap(DateTimeParseException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()))
+            .flatMapMany(window -> {
+                LocalDateTime from = clock.now();
+                return queryService.streamExpiring(from, from.plus(window));
+            });
+    }
+
+    /**
+     * Get credential by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<VerifiableCredential>> getCredentialById(
+            @PathVariable String id,
+            ServerWebExchange exchange) {
+
+        return credentialRepository.findById(id)
+            .map(credential -> {
+                String etag = MessageFormatConfig.representationEtag(
+                    credential.getEtag() != null ? credential.getEtag() : canonicalizer.etag(credential),
+                    exchange.getRequest());
+                CacheControl cacheControl = credential.getCredentialStatus() == null ? IMMUTABLE : REVALIDATE;
+                if (exchange.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(cacheControl)
+                        .<VerifiableCredential>build();
+                }
+                return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(cacheControl)
+                    .body(credential);
+            })
+            .defaultIfEmpty(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Get credentials by holder DID
+     */
+    @GetMapping("/holder/{holderDID}")
+    public Flux<?> getCredentialsByHolder(
+            @PathVariable String holderDID,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+
+        return summaryView(view)
+            .flatMapMany(summary -> summary
+                ? queryService.findSummariesByHolder(holderDID)
+                : credentialRepository.findByCredentialSubjectId(holderDID, NEWEST_FIRST));
+    }
+
+    /**
+     * Verify a verifiable credential
+     */
+    @PostMapping("/verify")
+    public Mono<ResponseEntity<VerificationResult>> verifyCredential(
+            @Valid @RequestBody VerifiableCredential credential) {
+
+        // Revocation checks may block on a status list fetch or a MongoDB read
+        return Mono.fromCallable(() -> verifierService.verifyCredential(credential))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(result -> new ResponseEntity<>(result, HttpStatus.OK))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(verificationError(e), HttpStatus.BAD_REQUEST)));
+    }
+
+    /**
+     * Verify a batch of verifiable credentials (JSON array, CBOR, Smile or NDJSON)
+     */
+    @PostMapping(value = "/verify/batch", produces = NDJSON_VALUE)
+    public Flux<BatchVerificationResult> verifyCredentialsBatch(
+            @RequestBody Flux<VerifiableCredential> credentials) {
+
+        return verifyInOrder(credentials.index(), (position, credential) -> batchVerifierService.verify(position, credential));
+    }
+
+    /**
+     * Verify stored credentials by ID
+     */
+    @PostMapping(value = "/verify/ids", produces = NDJSON_VALUE)
+    public Flux<BatchVerificationResult> verifyCredentialsByIds(@RequestBody List<String> ids) {
+        // Each chunk of IDs is loaded with one $in query, then verified in input order
+        Flux<Tuple2<Long, LookedUp>> lookups = Flux.fromIterable(ids)
+            .buffer(Math.max(1, chunkSize))
+            .concatMap(chunk -> queryService.findAllById(chunk)
+                .collectMap(VerifiableCredential::getId)
+                .flatMapIterable(loaded -> chunk.stream()
+                    .map(id -> new LookedUp(id, loaded.get(id)))
+                    .toList()))
+            .index();
+
+        return verifyInOrder(lookups, (position, lookedUp) -> lookedUp.credential() == null
+            ? batchVerifierService.notFound(position, lookedUp.id())
+            : batchVerifierService.verify(position, lookedUp.credential()));
+    }
+
+    /**
+     * Verify credential by ID
+     */
+    @PostMapping("/verify/{id}")
+    public Mono<ResponseEntity<VerificationResult>> verifyCredentialById(@PathVariable String id) {
+        return credentialRepository.findById(id)
+            .publishOn(Schedulers.boundedElastic())
+            .map(credential -> {
+                try {
+                    return new ResponseEntity<>(verifierService.verifyCredential(credential), HttpStatus.OK);
+                } catch (Exception e) {
+                    return new ResponseEntity<>(verificationError(e), HttpStatus.INTERNAL_SERVER_ERROR);
+                }
+            })
+            .defaultIfEmpty(new ResponseEntity<>(new VerificationResult(
+                false,
+                "❌ Credential not found",
+                new VerificationResult.VerificationDetails(false, false, false)
+            ), HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Delete credential by ID
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCredential(@PathVariable String id) {
+        return credentialRepository.findById(id)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(existing -> credentialRepository.deleteById(id)
+                .then(Mono.fromRunnable(() -> {
+                    // The read cache also answers issuance status lookups, which must stop reporting the credential
+                    readCache.credentialDeleted(id, existing.orElse(null));
+                    existing.ifPresent(idempotentIssuanceService::credentialDeleted);
+                }).subscribeOn(Schedulers.boundedElastic())))
+            .then(Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT)))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Create a selective disclosure presentation of a credential
+     */
+    @PostMapping("/{id}/presentations")
+    public Mono<ResponseEntity<SelectivePresentation>> createPresentation(
+            @PathVariable String id,
+            @Valid @RequestBody PresentationRequest request) {
+
+        return credentialRepository.findById(id)
+            .map(credential -> new ResponseEntity<>(
+                selectiveDisclosureService.present(credential, request.getDisclose()), HttpStatus.OK))
+            .defaultIfEmpty(new ResponseEntity<>(null, HttpStatus.NOT_FOUND))
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new ResponseEntity<>(null, HttpStatus.BAD_REQUEST)));
+    }
+
+    /**
+     * Verify a selective disclosure presentation
+     */
+    @PostMapping("/presentations/verify")
+    public Mono<ResponseEntity<VerificationResult>> verifyPresentation(
+            @Valid @RequestBody SelectivePresentation presentation) {
+
+        return Mono.fromCallable(() -> selectiveDisclosureService.verify(presentation))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(result -> new ResponseEntity<>(result, HttpStatus.OK))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(verificationError(e), HttpStatus.BAD_REQUEST)));
+    }
+
+    /**
+     * Revoke credential by ID
+     */
+    @PostMapping("/{id}/revoke")
+    public Mono<ResponseEntity<CredentialStatus>> revokeCredential(@PathVariable String id) {
+        return credentialRepository.findById(id)
+            .publishOn(Schedulers.boundedElastic())
+            .map(credential -> {
+                statusListService.revoke(credential.getCredentialStatus());
+                return ResponseEntity.ok(credential.getCredentialStatus());
+            })
+            .defaultIfEmpty(new ResponseEntity<>(null, HttpStatus.NOT_FOUND))
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new ResponseEntity<>(null, HttpStatus.CONFLICT)));
+    }
+
+    /**
+     * Get a revocation status list
+     */
+    @GetMapping("/status/{listId}")
+    public Mono<ResponseEntity<StatusListCredential>> getStatusList(
+            @PathVariable String listId,
+            ServerWebExchange exchange) {
+
+        return Mono.fromCallable(() -> statusListService.getVersion(listId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(version -> {
+                if (version.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).<StatusListCredential>build();
+                }
+                String etag = MessageFormatConfig.representationEtag(listId + "-" + version.get(), exchange.getRequest());
+                if (exchange.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(STATUS_LIST_CACHE)
+                        .<StatusListCredential>build();
+                }
+                return statusListService.getStatusListCredential(listId)
+                    .map(list -> ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(STATUS_LIST_CACHE).body(list))
+                    .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+            });
+    }
+
+    /**
+     * Get credentials by type
+     */
+    @GetMapping("/type/{type}")
+    public Flux<?> getCredentialsByType(
+            @PathVariable String type,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+
+        return summaryView(view)
+            .flatMapMany(summary -> summary
+                ? queryService.findSummariesByType(type)
+                : credentialRepository.findByType(type, NEWEST_FIRST));
+    }
+
+    /**
+     * Search credentials by student name
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<CredentialPage<?>>> searchCredentialsByName(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CredentialQueryService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+
+        return Mono.fromCallable(() -> isSummaryView(view)
+                ? (CredentialPage<?>) searchService.searchSummariesByName(name, cursor, limit)
+                : (CredentialPage<?>) searchService.searchByName(name, cursor, limit))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(page -> new ResponseEntity<CredentialPage<?>>(page, HttpStatus.OK))
+            .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, errorStatus(e))));
+    }
+
+    /**
+     * Verifies up to max-in-flight items concurrently while emitting results in input order.
+     * Upstream is only requested as results drain, so the client's read rate paces the work.
+     * Verification can block on a status list fetch or read, so it runs on the bounded elastic pool.
+     */
+    private <T> Flux<BatchVerificationResult> verifyInOrder(Flux<Tuple2<Long, T>> items,
+                                                            IndexedVerification<T> verification) {
+        return items.flatMapSequential(item -> Mono
+                .fromCallable(() -> verification.verify(item.getT1().intValue(), item.getT2()))
+                .subscribeOn(Schedulers.boundedElastic()),
+            Math.max(1, maxInFlight));
+    }
+
+    @FunctionalInterface
+    private interface IndexedVerification<T> {
+        BatchVerificationResult verify(int index, T item);
+    }
+
+    private record LookedUp(String id, VerifiableCredential credential) {}
+
+    private static VerificationResult verificationError(Throwable e) {
+        return new VerificationResult(
+            false,
+            "❌ Verification process failed due to an error: " + e.getMessage(),
+            new VerificationResult.VerificationDetails(false, false, false)
+        );
+    }
+
+    private static HttpStatus errorStatus(Throwable e) {
+        return e instanceof IllegalArgumentException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static Mono<Boolean> summaryView(String view) {
+        return Mono.fromCallable(() -> isSummaryView(view))
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    /**
+     * Parses the view parameter shared by the list endpoints
+     */
+    private static boolean isSummaryView(String view) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (VIEW_FULL.equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view);
+    }
+}
@@ -0,0 +1,127 @@
+package com.w3c.credentials.crypto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Produces deterministic bytes for signing: compact JSON with sorted keys and empty values omitted.
+ * This is independent of the web ObjectMapper so response formatting never changes signatures.
+ */
+@Component
+public class CredentialCanonicalizer {
+    
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(SerializationFeature.INDENT_OUTPUT)
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+        .build();
+    
+    // MessageDigest is not thread-safe but is costly to look up, so reuse pooled instances
+    private static final InstancePool<MessageDigest> SHA_256 = new InstancePool<>(CredentialCanonicalizer::newSha256, MessageDigest::reset);
+    
+    /**
+     * Hashes the canonical proof options and credential document for the given proof
+     */
+    public SigningPayload signingPayload(VerifiableCredential credential, Proof proof) {
+        byte[] options = canonicalProofOptions(proof);
+        byte[] document = canonicalDocument(credential);
+        MessageDigest digest = SHA_256.borrow();
+        try {
+            return new SigningPayload(digest.digest(options), digest.digest(document));
+        } finally {
+            SHA_256.release(digest);
+        }
+    }
+    
+    /**
+     * Content digest identifying a credential together with its proof value
+     */
+    public String contentDigest(SigningPayload payload, Proof proof) {
+        MessageDigest digest = SHA_256.borrow();
+        try {
+            digest.update(payload.getOptionsHash());
+            digest.update(payload.getDocumentHash());
+            if (proof.getJws() != null) {
+                digest.update(proof.getJws().getBytes(StandardCharsets.US_ASCII));
+            }
+            digest.update((byte) 0);
+            if (proof.getProofValue() != null) {
+                digest.update(proof.getProofValue().getBytes(StandardCharsets.US_ASCII));
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } finally {
+            SHA_256.release(digest);
+        }
+    }
+    
+    /**
+     * Strong entity tag for the credential: the content digest of its canonical form and proof
+     */
+    public String etag(VerifiableCredential credential) {
+        Proof proof = credential.getProof();
+        if (proof == null) {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(canonicalDocument(credential)));
+        }
+        return contentDigest(signingPayload(credential, proof), proof);
+    }
+    
+    /**
+     * Canonical form of the credential without its proof and selective disclosure data
+     */
+    public byte[] canonicalDocument(VerifiableCredential credential) {
+        ObjectNode document = canonicalMapper.valueToTree(credential);
+        document.remove("proof");
+        document.remove("selectiveDisclosure");
+        return write(document);
+    }
+    
+    /**
+     * Canonical form of the proof options, i.e. the proof without its signature value
+     */
+    public byte[] canonicalProofOptions(Proof proof) {
+        Proof options = new Proof(proof.getType(), proof.getCreated(), proof.getProofPurpose(), proof.getVerificationMethod());
+        return write(options);
+    }
+    
+    private byte[] write(Object value) {
+        try {
+            return canonicalMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to canonicalize credential", e);
+        }
+    }
+    
+    private static byte[] sha256(byte[] input) {
+        MessageDigest digest = SHA_256.borrow();
+        try {
+            return digest.digest(input);
+        } finally {
+            SHA_256.release(digest);
+        }
+    }
+    
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.w3c.credentials.crypto;
+
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Ed25519Signature2018 proofs as detached JWS (RFC 7797, unencoded payload) using the JDK's Ed25519.
+ * The signed payload is SHA-256(canonical proof options) || SHA-256(canonical credential).
+ */
+@Component
+public class Ed25519Signature2018Suite implements ProofSigner, ProofVerifier {
+
+    public static final String PROOF_TYPE = "Ed25519Signature2018";
+
+    private static final String JWS_HEADER = Base64.getUrlEncoder().withoutPadding().encodeToString(
+        "{\"alg\":\"EdDSA\",\"b64\":false,\"crit\":[\"b64\"]}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] SIGNING_INPUT_PREFIX = (JWS_HEADER + ".").getBytes(StandardCharsets.US_ASCII);
+    private static final String DETACHED_SEPARATOR = "..";
+
+    // Signature is not thread-safe but is costly to look up, so reuse pooled instances; init resets them
+    private static final InstancePool<Signature> SIGNATURE = new InstancePool<>(() -> newInstance(SigningKeyProvider.KEY_ALGORITHM), signature -> { });
+
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+
+    @Autowired
+    private SigningKeyProvider keyProvider;
+
+    @Autowired
+    private PublicKeyResolver keyResolver;
+
+    @Override
+    public String getProofType() {
+        return PROOF_TYPE;
+    }
+
+    @Override
+    public Proof sign(VerifiableCredential credential, LocalDateTime created, String proofPurpose, String verificationMethod) {
+        PrivateKey privateKey = keyProvider.getPrivateKey(verificationMethod);
+        if (privateKey == null) {
+            throw new IllegalArgumentException("No signing key for " + verificationMethod);
+        }
+
+        Proof proof = new Proof(PROOF_TYPE, created, proofPurpose, verificationMethod);
+        byte[] signingInput = canonicalizer.signingPayload(credential, proof).withPrefix(SIGNING_INPUT_PREFIX);
+        Signature signature = SIGNATURE.borrow();
+        try {
+            signature.initSign(privateKey);
+            signature.update(signingInput);
+            proof.setJws(JWS_HEADER + DETACHED_SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign credential", e);
+        } finally {
+            SIGNATURE.release(signature);
+        }
+        return proof;
+    }
+
+    @Override
+    public boolean verify(VerifiableCredential credential) {
+        Proof proof = credential.getProof();
+        return proof != null && verify(proof, canonicalizer.signingPayload(credential, proof));
+    }
+
+    @Override
+    public boolean verify(Proof proof, SigningPayload payload) {
+        if (proof == null || proof.getJws() == null || !PROOF_TYPE.equals(proof.getType())) {
+            return false;
+        }
+
+        String jws = proof.getJws();
+        int separator = jws.indexOf(DETACHED_SEPARATOR);
+        if (separator < 0 || !JWS_HEADER.equals(jws.substring(0, separator))) {
+            return false;
+        }
+
+        PublicKey publicKey = keyResolver.resolve(proof.getVerificationMethod(), proof.getCreated());
+        if (publicKey == null) {
+            return false;
+        }
+
+        byte[] signatureBytes;
+        try {
+            signatureBytes = Base64.getUrlDecoder().decode(jws.substring(separator + DETACHED_SEPARATOR.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        Signature signature = SIGNATURE.borrow();
+        try {
+            signature.initVerify(publicKey);
+            signature.update(payload.withPrefix(SIGNING_INPUT_PREFIX));
+            return signature.verify(signatureBytes);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        } finally {
+            SIGNATURE.release(signature);
+        }
+    }
+
+    private static Signature newInstance(String algorithm) {
+        try {
+            return Signature.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available in this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.w3c.credentials.crypto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Small pool of reusable, non-thread-safe JCA objects such as MessageDigest and Signature.
+ * Unlike a ThreadLocal it is shared by all threads, so it keeps working when every request or
+ * batch item runs on its own short-lived virtual thread. The queue uses j.u.c locks rather than
+ * monitors, so waiting on it never pins a virtual thread's carrier.
+ */
+public final class InstancePool<T> {
+
+    private final BlockingQueue<T> idle;
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+
+    /**
+     * Creates a pool keeping at most maxIdle instances between uses
+     */
+    public InstancePool(int maxIdle, Supplier<T> factory, Consumer<T> reset) {
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+        this.factory = factory;
+        this.reset = reset;
+    }
+
+    /**
+     * Creates a pool sized to the processors, which bounds how many instances are in use at once
+     */
+    public InstancePool(Supplier<T> factory, Consumer<T> reset) {
+        this(Runtime.getRuntime().availableProcessors() * 2, factory, reset);
+    }
+
+    /**
+     * Takes an idle instance, or creates one when none is idle; hand it back with {@link #release}
+     */
+    public T borrow() {
+        T instance = idle.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    /**
+     * Returns a borrowed instance to the pool, dropping it if the pool is already full
+     */
+    public void release(T instance) {
+        reset.accept(instance);
+        idle.offer(instance);
+    }
+
+    /**
+     * Gets the number of instances waiting to be reused
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.w3c.credentials.crypto;
+
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates a proof for a credential using one proof suite
+ */
+public interface ProofSigner {
+    
+    /**
+     * The proof type this signer produces, e.g. Ed25519Signature2018
+     */
+    String getProofType();
+    
+    /**
+     * Signs the credential (its proof field is ignored) and returns the finished proof
+     */
+    Proof sign(VerifiableCredential credential, LocalDateTime created, String proofPurpose, String verificationMethod);
+}
@@ -0,0 +1,25 @@
+package com.w3c.credentials.crypto;
+
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+
+/**
+ * Checks the proof of a credential for one proof suite
+ */
+public interface ProofVerifier {
+    
+    /**
+     * The proof type this verifier understands, e.g. Ed25519Signature2018
+     */
+    String getProofType();
+    
+    /**
+     * Returns true only if the credential's proof is a valid signature over its content
+     */
+    boolean verify(VerifiableCredential credential);
+    
+    /**
+     * Same as {@link #verify(VerifiableCredential)} with the signing payload already computed
+     */
+    boolean verify(Proof proof, SigningPayload payload);
+}
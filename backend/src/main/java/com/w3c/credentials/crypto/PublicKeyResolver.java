@@ -0,0 +1,15 @@
+package com.w3c.credentials.crypto;
+
+import java.security.PublicKey;
+import java.time.LocalDateTime;
+
+/**
+ * Looks up the public key behind a verification method
+ */
+public interface PublicKeyResolver {
+    
+    /**
+     * Resolves the key of a verification method as of the given time, or null if it is unknown or not valid then
+     */
+    PublicKey resolve(String verificationMethod, LocalDateTime at);
+}
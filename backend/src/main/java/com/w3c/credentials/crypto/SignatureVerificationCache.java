@@ -0,0 +1,70 @@
+package com.w3c.credentials.crypto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of signature check outcomes keyed by credential content digest and the generation
+ * of the trusted keys it was checked against, so a key rotation can never be answered from an
+ * outcome computed with the old keys. Only the cryptographic result is cached; issuer trust and
+ * expiration are always re-evaluated.
+ */
+@Component
+public class SignatureVerificationCache {
+
+    private record Key(long keyGeneration, String contentDigest) {
+    }
+
+    private final Cache<Key, Boolean> results;
+    private final long maximumSize;
+    private final Duration timeToLive;
+
+    public SignatureVerificationCache(@Value("${credentials.verification-cache.max-size:100000}") long maximumSize,
+                                      @Value("${credentials.verification-cache.ttl:PT10M}") Duration timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.results = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cached result for the digest under the given key generation, computing it at most once on a miss
+     */
+    public boolean verify(long keyGeneration, String contentDigest, Supplier<Boolean> signatureCheck) {
+        return results.get(new Key(keyGeneration, contentDigest), key -> signatureCheck.get());
+    }
+
+    /**
+     * Gets the underlying cache, e.g. for metrics binding
+     */
+    public Cache<?, Boolean> getCache() {
+        return results;
+    }
+
+    /**
+     * Gets hit/miss statistics and current size
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = results.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", results.estimatedSize());
+        snapshot.put("maximumSize", maximumSize);
+        snapshot.put("ttlSeconds", timeToLive.toSeconds());
+        snapshot.put("hitCount", stats.hitCount());
+        snapshot.put("missCount", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictionCount", stats.evictionCount());
+        return snapshot;
+    }
+}
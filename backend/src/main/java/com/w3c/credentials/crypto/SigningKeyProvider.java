@@ -0,0 +1,71 @@
+package com.w3c.credentials.crypto;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Holds the issuer's Ed25519 key pair.
+ * Keys are read from configuration as base64 PKCS#8 / X.509 DER; when none are configured an
+ * ephemeral pair is generated, so credentials signed before a restart will no longer verify.
+ */
+@Component
+public class SigningKeyProvider {
+
+    public static final String KEY_ALGORITHM = "Ed25519";
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyProvider.class);
+
+    private final String keyId;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+
+    public SigningKeyProvider(@Value("${credentials.signing.key-id}") String keyId,
+                              @Value("${credentials.signing.private-key:}") String encodedPrivateKey,
+                              @Value("${credentials.signing.public-key:}") String encodedPublicKey) throws GeneralSecurityException {
+        this.keyId = keyId;
+
+        if (encodedPrivateKey.isBlank() || encodedPublicKey.isBlank()) {
+            logger.warn("No signing key configured for {}; generating an ephemeral Ed25519 key pair", keyId);
+            KeyPair keyPair = KeyPairGenerator.getInstance(KEY_ALGORITHM).generateKeyPair();
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+        } else {
+            KeyFactory keyFactory = KeyFactory.getInstance(KEY_ALGORITHM);
+            this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encodedPrivateKey.trim())));
+            this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encodedPublicKey.trim())));
+        }
+    }
+
+    /**
+     * Gets the verification method (key ID) this provider signs for
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * Gets the private key for a verification method, or null if this issuer does not hold it
+     */
+    public PrivateKey getPrivateKey(String verificationMethod) {
+        return keyId.equals(verificationMethod) ? privateKey : null;
+    }
+
+    /**
+     * Resolves the public key for a verification method, or null if it is unknown
+     */
+    public PublicKey getPublicKey(String verificationMethod) {
+        return keyId.equals(verificationMethod) ? publicKey : null;
+    }
+}
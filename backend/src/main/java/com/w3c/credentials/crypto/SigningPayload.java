@@ -0,0 +1,31 @@
+package com.w3c.credentials.crypto;
+
+/**
+ * Hashes of the canonical proof options and credential document that a proof signs over.
+ * Computed once per credential and shared by the signature check and the verification cache key.
+ */
+public final class SigningPayload {
+    
+    private final byte[] optionsHash;
+    private final byte[] documentHash;
+    
+    public SigningPayload(byte[] optionsHash, byte[] documentHash) {
+        this.optionsHash = optionsHash;
+        this.documentHash = documentHash;
+    }
+    
+    public byte[] getOptionsHash() { return optionsHash; }
+    
+    public byte[] getDocumentHash() { return documentHash; }
+    
+    /**
+     * Concatenates prefix || optionsHash || documentHash
+     */
+    public byte[] withPrefix(byte[] prefix) {
+        byte[] input = new byte[prefix.length + optionsHash.length + documentHash.length];
+        System.arraycopy(prefix, 0, input, 0, prefix.length);
+        System.arraycopy(optionsHash, 0, input, prefix.length, optionsHash.length);
+        System.arraycopy(documentHash, 0, input, prefix.length + optionsHash.length, documentHash.length);
+        return input;
+    }
+}
@@ -0,0 +1,36 @@
+package com.w3c.credentials.dto;
+
+import java.util.List;
+
+public class BatchIssueResponse {
+    
+    private int total;
+    private int issued;
+    private int failed;
+    private List<BatchIssueResult> results;
+    
+    // Constructors
+    public BatchIssueResponse() {}
+    
+    public BatchIssueResponse(List<BatchIssueResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.issued = (int) results.stream()
+            .filter(result -> BatchIssueResult.STATUS_ISSUED.equals(result.getStatus()))
+            .count();
+        this.failed = total - issued;
+    }
+    
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public int getIssued() { return issued; }
+    public void setIssued(int issued) { this.issued = issued; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<BatchIssueResult> getResults() { return results; }
+    public void setResults(List<BatchIssueResult> results) { this.results = results; }
+}
@@ -0,0 +1,48 @@
+package com.w3c.credentials.dto;
+
+public class BatchIssueResult {
+    
+    public static final String STATUS_ISSUED = "ISSUED";
+    public static final String STATUS_REJECTED = "REJECTED";
+    public static final String STATUS_FAILED = "FAILED";
+    
+    private int index;
+    private String status;
+    private String credentialId;
+    private String error;
+    
+    // Constructors
+    public BatchIssueResult() {}
+    
+    public BatchIssueResult(int index, String status, String credentialId, String error) {
+        this.index = index;
+        this.status = status;
+        this.credentialId = credentialId;
+        this.error = error;
+    }
+    
+    public static BatchIssueResult issued(int index, String credentialId) {
+        return new BatchIssueResult(index, STATUS_ISSUED, credentialId, null);
+    }
+    
+    public static BatchIssueResult rejected(int index, String error) {
+        return new BatchIssueResult(index, STATUS_REJECTED, null, error);
+    }
+    
+    public static BatchIssueResult failed(int index, String credentialId, String error) {
+        return new BatchIssueResult(index, STATUS_FAILED, credentialId, error);
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getCredentialId() { return credentialId; }
+    public void setCredentialId(String credentialId) { this.credentialId = credentialId; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
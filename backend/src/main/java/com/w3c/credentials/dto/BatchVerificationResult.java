@@ -0,0 +1,27 @@
+package com.w3c.credentials.dto;
+
+public class BatchVerificationResult {
+    
+    private int index;
+    private String credentialId;
+    private VerificationResult verification;
+    
+    // Constructors
+    public BatchVerificationResult() {}
+    
+    public BatchVerificationResult(int index, String credentialId, VerificationResult verification) {
+        this.index = index;
+        this.credentialId = credentialId;
+        this.verification = verification;
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getCredentialId() { return credentialId; }
+    public void setCredentialId(String credentialId) { this.credentialId = credentialId; }
+    
+    public VerificationResult getVerification() { return verification; }
+    public void setVerification(VerificationResult verification) { this.verification = verification; }
+}
@@ -0,0 +1,42 @@
+package com.w3c.credentials.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CredentialPage<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    
+    // Constructors
+    public CredentialPage() {}
+    
+    public CredentialPage(List<T> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+    
+    /**
+     * Converts the items while keeping the paging state
+     */
+    public <R> CredentialPage<R> map(Function<T, R> mapper) {
+        return new CredentialPage<>(items.stream().map(mapper).toList(), nextCursor, hasMore, limit);
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
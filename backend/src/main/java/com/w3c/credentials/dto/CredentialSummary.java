@@ -0,0 +1,72 @@
+package com.w3c.credentials.dto;
+
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.VerifiableCredential;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight list view of a credential: what the wallet and search UIs display
+ */
+public class CredentialSummary {
+    
+    private String id;
+    private String holderId;
+    private String name;
+    private String degree;
+    private String university;
+    private LocalDateTime issuanceDate;
+    private LocalDateTime expirationDate;
+    
+    // Constructors
+    public CredentialSummary() {}
+    
+    public CredentialSummary(String id, String holderId, String name, String degree, String university,
+                             LocalDateTime issuanceDate, LocalDateTime expirationDate) {
+        this.id = id;
+        this.holderId = holderId;
+        this.name = name;
+        this.degree = degree;
+        this.university = university;
+        this.issuanceDate = issuanceDate;
+        this.expirationDate = expirationDate;
+    }
+    
+    /**
+     * Builds a summary from a (possibly projected) credential
+     */
+    public static CredentialSummary from(VerifiableCredential credential) {
+        CredentialSubject subject = credential.getCredentialSubject();
+        return new CredentialSummary(
+            credential.getId(),
+            subject != null ? subject.getId() : null,
+            subject != null ? subject.getName() : null,
+            subject != null ? subject.getDegree() : null,
+            subject != null ? subject.getUniversity() : null,
+            credential.getIssuanceDate(),
+            credential.getExpirationDate()
+        );
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getHolderId() { return holderId; }
+    public void setHolderId(String holderId) { this.holderId = holderId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDegree() { return degree; }
+    public void setDegree(String degree) { this.degree = degree; }
+    
+    public String getUniversity() { return university; }
+    public void setUniversity(String university) { this.university = university; }
+    
+    public LocalDateTime getIssuanceDate() { return issuanceDate; }
+    public void setIssuanceDate(LocalDateTime issuanceDate) { this.issuanceDate = issuanceDate; }
+    
+    public LocalDateTime getExpirationDate() { return expirationDate; }
+    public void setExpirationDate(LocalDateTime expirationDate) { this.expirationDate = expirationDate; }
+}
@@ -0,0 +1,41 @@
+package com.w3c.credentials.dto;
+
+/**
+ * Progress of a credential accepted for asynchronous issuance
+ */
+public class IssuanceStatus {
+
+    /**
+     * Where an accepted credential is in the write-behind pipeline; SUPERSEDED means another
+     * credential for the same degree was stored first, and credentialUrl points at that one
+     */
+    public enum State { PENDING, STORED, SUPERSEDED, FAILED }
+
+    private String credentialId;
+    private State state;
+    private String credentialUrl;
+    private String error;
+
+    // Constructors
+    public IssuanceStatus() {}
+
+    public IssuanceStatus(String credentialId, State state, String credentialUrl, String error) {
+        this.credentialId = credentialId;
+        this.state = state;
+        this.credentialUrl = credentialUrl;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getCredentialId() { return credentialId; }
+    public void setCredentialId(String credentialId) { this.credentialId = credentialId; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public String getCredentialUrl() { return credentialUrl; }
+    public void setCredentialUrl(String credentialUrl) { this.credentialUrl = credentialUrl; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,50 @@
+package com.w3c.credentials.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (issuanceDate, _id)
+ */
+public class PageCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime issuanceDate;
+    private final String id;
+    
+    public PageCursor(LocalDateTime issuanceDate, String id) {
+        this.issuanceDate = issuanceDate;
+        this.id = id;
+    }
+    
+    public LocalDateTime getIssuanceDate() { return issuanceDate; }
+    
+    public String getId() { return id; }
+    
+    /**
+     * Encodes the cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = issuanceDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a token produced by {@link #encode()}
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
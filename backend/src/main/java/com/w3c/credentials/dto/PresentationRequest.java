@@ -0,0 +1,25 @@
+package com.w3c.credentials.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Claims of the credential subject the holder chooses to reveal
+ */
+public class PresentationRequest {
+    
+    @NotNull(message = "Claims to disclose are required")
+    private List<String> disclose;
+    
+    // Constructors
+    public PresentationRequest() {}
+    
+    public PresentationRequest(List<String> disclose) {
+        this.disclose = disclose;
+    }
+    
+    // Getters and Setters
+    public List<String> getDisclose() { return disclose; }
+    public void setDisclose(List<String> disclose) { this.disclose = disclose; }
+}
@@ -0,0 +1,34 @@
+package com.w3c.credentials.dto;
+
+import com.w3c.credentials.model.VerifiableCredential;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * What a holder sends a verifier: the redacted credential with its selective disclosure proof,
+ * and the disclosures of the claims being revealed
+ */
+public class SelectivePresentation {
+    
+    @NotNull(message = "Credential is required")
+    private VerifiableCredential credential;
+    
+    @NotNull(message = "Disclosures are required")
+    private List<String> disclosures;
+    
+    // Constructors
+    public SelectivePresentation() {}
+    
+    public SelectivePresentation(VerifiableCredential credential, List<String> disclosures) {
+        this.credential = credential;
+        this.disclosures = disclosures;
+    }
+    
+    // Getters and Setters
+    public VerifiableCredential getCredential() { return credential; }
+    public void setCredential(VerifiableCredential credential) { this.credential = credential; }
+    
+    public List<String> getDisclosures() { return disclosures; }
+    public void setDisclosures(List<String> disclosures) { this.disclosures = disclosures; }
+}
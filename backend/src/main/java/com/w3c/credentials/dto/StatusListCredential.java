@@ -0,0 +1,84 @@
+package com.w3c.credentials.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * StatusList2021Credential as served to verifiers
+ */
+public class StatusListCredential {
+    
+    public static final List<String> CONTEXT = List.of(
+        "https://www.w3.org/2018/credentials/v1",
+        "https://w3id.org/vc/status-list/2021/v1"
+    );
+    
+    @JsonProperty("@context")
+    private List<String> context = CONTEXT;
+    
+    private String id;
+    private List<String> type = List.of("VerifiableCredential", "StatusList2021Credential");
+    private String issuer;
+    private LocalDateTime issuanceDate;
+    private Subject credentialSubject;
+    
+    // Constructors
+    public StatusListCredential() {}
+    
+    public StatusListCredential(String id, String issuer, LocalDateTime issuanceDate, String statusPurpose, String encodedList) {
+        this.id = id;
+        this.issuer = issuer;
+        this.issuanceDate = issuanceDate;
+        this.credentialSubject = new Subject(id + "#list", statusPurpose, encodedList);
+    }
+    
+    // Getters and Setters
+    public List<String> getContext() { return context; }
+    public void setContext(List<String> context) { this.context = context; }
+    
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public List<String> getType() { return type; }
+    public void setType(List<String> type) { this.type = type; }
+    
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+    
+    public LocalDateTime getIssuanceDate() { return issuanceDate; }
+    public void setIssuanceDate(LocalDateTime issuanceDate) { this.issuanceDate = issuanceDate; }
+    
+    public Subject getCredentialSubject() { return credentialSubject; }
+    public void setCredentialSubject(Subject credentialSubject) { this.credentialSubject = credentialSubject; }
+    
+    // Inner class for the list itself
+    public static class Subject {
+        private String id;
+        private String type = "StatusList2021";
+        private String statusPurpose;
+        private String encodedList;
+        
+        public Subject() {}
+        
+        public Subject(String id, String statusPurpose, String encodedList) {
+            this.id = id;
+            this.statusPurpose = statusPurpose;
+            this.encodedList = encodedList;
+        }
+        
+        // Getters and Setters
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        
+        public String getStatusPurpose() { return statusPurpose; }
+        public void setStatusPurpose(String statusPurpose) { this.statusPurpose = statusPurpose; }
+        
+        public String getEncodedList() { return encodedList; }
+        public void setEncodedList(String encodedList) { this.encodedList = encodedList; }
+    }
+}
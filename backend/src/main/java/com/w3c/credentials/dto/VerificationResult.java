@@ -1,10 +1,13 @@
 package com.w3c.credentials.dto;
 
+import java.util.Map;
+
 public class VerificationResult {
     
     private boolean isValid;
     private String message;
     private VerificationDetails details;
+    private Map<String, Object> disclosedClaims;
     
     // Constructors
     public VerificationResult() {}
@@ -25,18 +28,27 @@ public class VerificationResult {
     public VerificationDetails getDetails() { return details; }
     public void setDetails(VerificationDetails details) { this.details = details; }
     
+    public Map<String, Object> getDisclosedClaims() { return disclosedClaims; }
+    public void setDisclosedClaims(Map<String, Object> disclosedClaims) { this.disclosedClaims = disclosedClaims; }
+    
     // Inner class for verification details
     public static class VerificationDetails {
         private boolean hasValidIssuer;
         private boolean hasValidProof;
         private boolean isNotExpired;
+        private boolean isNotRevoked;
         
         public VerificationDetails() {}
         
         public VerificationDetails(boolean hasValidIssuer, boolean hasValidProof, boolean isNotExpired) {
+            this(hasValidIssuer, hasValidProof, isNotExpired, false);
+        }
+        
+        public VerificationDetails(boolean hasValidIssuer, boolean hasValidProof, boolean isNotExpired, boolean isNotRevoked) {
             this.hasValidIssuer = hasValidIssuer;
             this.hasValidProof = hasValidProof;
             this.isNotExpired = isNotExpired;
+            this.isNotRevoked = isNotRevoked;
         }
         
         // Getters and Setters
@@ -48,5 +60,8 @@ public class VerificationResult {
         
         public boolean isNotExpired() { return isNotExpired; }
         public void setNotExpired(boolean notExpired) { isNotExpired = notExpired; }
+        
+        public boolean isNotRevoked() { return isNotRevoked; }
+        public void setNotRevoked(boolean notRevoked) { isNotRevoked = notRevoked; }
     }
 }
\ No newline at end of file
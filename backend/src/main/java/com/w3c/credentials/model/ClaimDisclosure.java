@@ -0,0 +1,31 @@
+package com.w3c.credentials.model;
+
+/**
+ * One selectively disclosable claim: its SD-JWT style disclosure, base64url([salt, name, value]),
+ * and the digest of that disclosure committed to by the selective disclosure proof
+ */
+public class ClaimDisclosure {
+    
+    private String claim;
+    private String digest;
+    private String disclosure;
+    
+    // Constructors
+    public ClaimDisclosure() {}
+    
+    public ClaimDisclosure(String claim, String digest, String disclosure) {
+        this.claim = claim;
+        this.digest = digest;
+        this.disclosure = disclosure;
+    }
+    
+    // Getters and Setters
+    public String getClaim() { return claim; }
+    public void setClaim(String claim) { this.claim = claim; }
+    
+    public String getDigest() { return digest; }
+    public void setDigest(String digest) { this.digest = digest; }
+    
+    public String getDisclosure() { return disclosure; }
+    public void setDisclosure(String disclosure) { this.disclosure = disclosure; }
+}
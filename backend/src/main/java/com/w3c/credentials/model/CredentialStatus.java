@@ -0,0 +1,43 @@
+package com.w3c.credentials.model;
+
+/**
+ * StatusList2021Entry: the position of a credential in its issuer's status list
+ */
+public class CredentialStatus {
+    
+    public static final String TYPE = "StatusList2021Entry";
+    public static final String PURPOSE_REVOCATION = "revocation";
+    
+    private String id;
+    private String type;
+    private String statusPurpose;
+    private String statusListIndex;
+    private String statusListCredential;
+    
+    // Constructors
+    public CredentialStatus() {}
+    
+    public CredentialStatus(String statusListCredential, int statusListIndex) {
+        this.id = statusListCredential + "#" + statusListIndex;
+        this.type = TYPE;
+        this.statusPurpose = PURPOSE_REVOCATION;
+        this.statusListIndex = String.valueOf(statusListIndex);
+        this.statusListCredential = statusListCredential;
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getStatusPurpose() { return statusPurpose; }
+    public void setStatusPurpose(String statusPurpose) { this.statusPurpose = statusPurpose; }
+    
+    public String getStatusListIndex() { return statusListIndex; }
+    public void setStatusListIndex(String statusListIndex) { this.statusListIndex = statusListIndex; }
+    
+    public String getStatusListCredential() { return statusListCredential; }
+    public void setStatusListCredential(String statusListCredential) { this.statusListCredential = statusListCredential; }
+}
@@ -1,7 +1,10 @@
 package com.w3c.credentials.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CredentialSubject {
@@ -19,6 +22,17 @@ public class CredentialSubject {
     // Additional dynamic properties
     private Map<String, Object> additionalProperties = new HashMap<>();
     
+    // Digests of the withheld claims; only set on the redacted subject of a selective disclosure presentation
+    @JsonProperty("_sd")
+    private List<String> disclosureDigests;
+    
+    // Search index fields derived from name; stored in MongoDB but not part of the credential JSON
+    @JsonIgnore
+    private String normalizedName;
+    
+    @JsonIgnore
+    private List<String> nameTokens;
+    
     // Constructors
     public CredentialSubject() {}
     
@@ -54,6 +68,15 @@ public class CredentialSubject {
     public Map<String, Object> getAdditionalProperties() { return additionalProperties; }
     public void setAdditionalProperties(Map<String, Object> additionalProperties) { this.additionalProperties = additionalProperties; }
     
+    public List<String> getDisclosureDigests() { return disclosureDigests; }
+    public void setDisclosureDigests(List<String> disclosureDigests) { this.disclosureDigests = disclosureDigests; }
+    
+    public String getNormalizedName() { return normalizedName; }
+    public void setNormalizedName(String normalizedName) { this.normalizedName = normalizedName; }
+    
+    public List<String> getNameTokens() { return nameTokens; }
+    public void setNameTokens(List<String> nameTokens) { this.nameTokens = nameTokens; }
+    
     public void addProperty(String key, Object value) {
         this.additionalProperties.put(key, value);
     }
@@ -0,0 +1,241 @@
+package com.w3c.credentials.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The issuer of a credential, which the data model allows either as a bare DID or as an object
+ * with an id and further properties. Each form is kept as it was received, so a credential is
+ * written back (and canonicalized for its proof) exactly as it was signed. Issuer DIDs repeat
+ * across every credential, so bare issuers of known DIDs (the trusted ones and this service's own)
+ * are shared instances and their DIDs are interned. Other DIDs, such as those in verification
+ * requests, get fresh instances, so the table cannot be filled from outside.
+ */
+@JsonSerialize(using = Issuer.Serializer.class)
+@JsonDeserialize(using = Issuer.Deserializer.class)
+public abstract sealed class Issuer permits Issuer.Reference, Issuer.Profile {
+
+    // Replaced as a whole whenever the known DIDs change, so it never outgrows the trust registry
+    private static volatile Map<String, Reference> interned = Map.of();
+
+    private final String id;
+
+    private Issuer(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the issuer in its bare DID form
+     */
+    public static Reference of(String id) {
+        Reference reference = id != null ? interned.get(id) : null;
+        return reference != null ? reference : new Reference(id);
+    }
+
+    /**
+     * Sets the DIDs whose bare issuers are shared; DIDs kept from the previous set keep their instances
+     */
+    public static void internIssuers(Collection<String> ids) {
+        Map<String, Reference> previous = interned;
+        Map<String, Reference> next = new HashMap<>(ids.size() * 2);
+        for (String id : ids) {
+            Reference reference = previous.get(id);
+            next.put(id, reference != null ? reference : new Reference(id));
+        }
+        interned = Map.copyOf(next);
+    }
+
+    /**
+     * Gets the issuer in its object form with an id and a name
+     */
+    public static Profile of(String id, String name) {
+        return new Profile(id, name, null);
+    }
+
+    /**
+     * Gets the issuer DID
+     */
+    public String getId() { return id; }
+
+    /**
+     * Gets the issuer's display name, if the object form carries one
+     */
+    public abstract String getName();
+
+    /**
+     * An issuer given as a bare DID
+     */
+    public static final class Reference extends Issuer {
+
+        private Reference(String id) {
+            super(id);
+        }
+
+        @Override
+        public String getName() { return null; }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Reference reference && Objects.equals(getId(), reference.getId());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getId());
+        }
+
+        @Override
+        public String toString() {
+            return getId();
+        }
+    }
+
+    /**
+     * An issuer given as an object; properties other than id and name are kept as read
+     */
+    public static final class Profile extends Issuer {
+
+        private final String name;
+        private final Map<String, Object> additionalProperties;
+
+        private Profile(String id, String name, Map<String, Object> additionalProperties) {
+            super(id != null ? of(id).getId() : null);
+            this.name = name;
+            this.additionalProperties = additionalProperties == null || additionalProperties.isEmpty()
+                ? null : Collections.unmodifiableMap(additionalProperties);
+        }
+
+        /**
+         * Builds the object form from all of its properties
+         */
+        public static Profile fromProperties(Map<String, ?> properties) {
+            Map<String, Object> additional = new LinkedHashMap<>(properties);
+            Object id = additional.remove("id");
+            Object name = additional.remove("name");
+            // Keep a non-string id or name with the other properties rather than drop it
+            if (id != null && !(id instanceof String)) {
+                additional.put("id", id);
+            }
+            if (name != null && !(name instanceof String)) {
+                additional.put("name", name);
+            }
+            return new Profile(id instanceof String text ? text : null, name instanceof String text ? text : null, additional);
+        }
+
+        @Override
+        public String getName() { return name; }
+
+        public Map<String, Object> getAdditionalProperties() {
+            return additionalProperties != null ? additionalProperties : Collections.emptyMap();
+        }
+
+        /**
+         * Gets all properties of the object form, id first
+         */
+        public Map<String, Object> toProperties() {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            if (getId() != null) {
+                properties.put("id", getId());
+            }
+            if (name != null) {
+                properties.put("name", name);
+            }
+            if (additionalProperties != null) {
+                properties.putAll(additionalProperties);
+            }
+            return properties;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Profile profile && Objects.equals(getId(), profile.getId())
+                && Objects.equals(name, profile.name) && Objects.equals(additionalProperties, profile.additionalProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getId(), name, additionalProperties);
+        }
+
+        @Override
+        public String toString() {
+            return toProperties().toString();
+        }
+    }
+
+    /**
+     * Writes a bare issuer as a string and the object form as an object
+     */
+    static final class Serializer extends JsonSerializer<Issuer> {
+
+        @Override
+        public void serialize(Issuer issuer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (issuer instanceof Profile profile) {
+                if (profile.additionalProperties == null && profile.getId() != null
+                        && profile.name != null && !profile.name.isEmpty()) {
+                    // Already in key order, and the same under every mapper's inclusion rules
+                    gen.writeStartObject(profile);
+                    gen.writeStringField("id", profile.getId());
+                    gen.writeStringField("name", profile.name);
+                    gen.writeEndObject();
+                } else {
+                    // Write anything else as a map, as it was before the issuer had a type, so key order and
+                    // inclusion follow the mapper and stored proofs still verify
+                    provider.defaultSerializeValue(profile.toProperties(), gen);
+                }
+            } else {
+                gen.writeString(issuer.getId());
+            }
+        }
+    }
+
+    /**
+     * Reads either form straight from the token stream, without an intermediate map
+     */
+    static final class Deserializer extends JsonDeserializer<Issuer> {
+
+        @Override
+        public Issuer deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                return of(p.getText());
+            }
+            if (token != JsonToken.START_OBJECT) {
+                return (Issuer) ctxt.handleUnexpectedToken(Issuer.class, p);
+            }
+
+            String id = null;
+            String name = null;
+            Map<String, Object> additional = null;
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_STRING && field.equals("id")) {
+                    id = p.getText();
+                } else if (value == JsonToken.VALUE_STRING && field.equals("name")) {
+                    name = p.getText();
+                } else {
+                    if (additional == null) {
+                        additional = new LinkedHashMap<>();
+                    }
+                    additional.put(field, ctxt.readValue(p, Object.class));
+                }
+            }
+            return new Profile(id, name, additional);
+        }
+    }
+}
@@ -5,6 +5,10 @@ import java.time.LocalDateTime;
 
 public class Proof {
     
+    public static final String PURPOSE_ASSERTION = "assertionMethod";
+    // Signs the redacted credential of a selective disclosure presentation; never accepted as a plain credential
+    public static final String PURPOSE_SELECTIVE_DISCLOSURE = "selectiveDisclosure";
+    
     @NotBlank(message = "Proof type is required")
     private String type;
     
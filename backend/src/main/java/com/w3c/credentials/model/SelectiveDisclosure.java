@@ -0,0 +1,28 @@
+package com.w3c.credentials.model;
+
+import java.util.List;
+
+/**
+ * Holder data for selective disclosure: the disclosure of every subject claim and a proof over the
+ * redacted credential, whose subject carries only the holder ID and the claims' digests
+ */
+public class SelectiveDisclosure {
+    
+    private Proof proof;
+    private List<ClaimDisclosure> claims;
+    
+    // Constructors
+    public SelectiveDisclosure() {}
+    
+    public SelectiveDisclosure(Proof proof, List<ClaimDisclosure> claims) {
+        this.proof = proof;
+        this.claims = claims;
+    }
+    
+    // Getters and Setters
+    public Proof getProof() { return proof; }
+    public void setProof(Proof proof) { this.proof = proof; }
+    
+    public List<ClaimDisclosure> getClaims() { return claims; }
+    public void setClaims(List<ClaimDisclosure> claims) { this.claims = claims; }
+}
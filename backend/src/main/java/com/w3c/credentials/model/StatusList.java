@@ -0,0 +1,53 @@
+package com.w3c.credentials.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored revocation list: the GZIP-compressed, base64url-encoded bitstring exactly as served,
+ * plus the allocation counter for new credentials. Writes are guarded by the version number.
+ */
+@Document(collection = "status_lists")
+public class StatusList {
+    
+    @Id
+    private String id;
+    
+    private String issuer;
+    private String statusPurpose;
+    private int size;
+    private int nextIndex;
+    private String encodedList;
+    private long version;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public StatusList() {}
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+    
+    public String getStatusPurpose() { return statusPurpose; }
+    public void setStatusPurpose(String statusPurpose) { this.statusPurpose = statusPurpose; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public int getNextIndex() { return nextIndex; }
+    public void setNextIndex(int nextIndex) { this.nextIndex = nextIndex; }
+    
+    public String getEncodedList() { return encodedList; }
+    public void setEncodedList(String encodedList) { this.encodedList = encodedList; }
+    
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,57 @@
+package com.w3c.credentials.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Document(collection = "trusted_issuers")
+public class TrustedIssuer {
+    
+    @Id
+    private String id;
+    
+    private String name;
+    private LocalDateTime validFrom;
+    private LocalDateTime validUntil;
+    private List<TrustedKey> keys = new ArrayList<>();
+    
+    // Hosts serving this issuer's status lists; revocation checks fetch from nowhere else
+    private List<String> statusListHosts = new ArrayList<>();
+    
+    // Constructors
+    public TrustedIssuer() {}
+    
+    public TrustedIssuer(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+    
+    /**
+     * Whether the issuer is trusted at the given time; open-ended windows have no bound
+     */
+    public boolean isValidAt(LocalDateTime time) {
+        return (validFrom == null || !time.isBefore(validFrom)) && (validUntil == null || time.isBefore(validUntil));
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+    
+    public LocalDateTime getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDateTime validUntil) { this.validUntil = validUntil; }
+    
+    public List<TrustedKey> getKeys() { return keys; }
+    public void setKeys(List<TrustedKey> keys) { this.keys = keys; }
+    
+    public List<String> getStatusListHosts() { return statusListHosts; }
+    public void setStatusListHosts(List<String> statusListHosts) { this.statusListHosts = statusListHosts; }
+}
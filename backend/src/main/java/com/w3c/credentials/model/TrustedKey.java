@@ -0,0 +1,46 @@
+package com.w3c.credentials.model;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+public class TrustedKey {
+    
+    // Verification method, e.g. did:example:university:mit#keys-2; stored as "id", not "_id", since keys are embedded
+    @Field("id")
+    private String id;
+    
+    // Base64 X.509 DER Ed25519 public key
+    private String publicKey;
+    
+    private LocalDateTime validFrom;
+    private LocalDateTime validUntil;
+    
+    // Constructors
+    public TrustedKey() {}
+    
+    public TrustedKey(String id, String publicKey) {
+        this.id = id;
+        this.publicKey = publicKey;
+    }
+    
+    /**
+     * Whether the key may have signed a proof created at the given time
+     */
+    public boolean isValidAt(LocalDateTime time) {
+        return (validFrom == null || !time.isBefore(validFrom)) && (validUntil == null || time.isBefore(validUntil));
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getPublicKey() { return publicKey; }
+    public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
+    
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+    
+    public LocalDateTime getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDateTime validUntil) { this.validUntil = validUntil; }
+}
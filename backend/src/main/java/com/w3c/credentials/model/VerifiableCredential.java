@@ -1,5 +1,6 @@
 package com.w3c.credentials.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -24,7 +25,7 @@ public class VerifiableCredential {
     private List<String> type;
     
     @NotNull(message = "Issuer is required")
-    private Object issuer; // Can be String or IssuerObject
+    private Issuer issuer;
     
     @NotNull(message = "Issuance date is required")
     private LocalDateTime issuanceDate;
@@ -39,11 +40,27 @@ public class VerifiableCredential {
     
     private LocalDateTime expirationDate;
     
+    @Valid
+    private CredentialStatus credentialStatus;
+    
+    // Salts and disclosures for selective disclosure presentations; not covered by the credential's own proof.
+    // Read from JSON but never written, so API responses do not hand out every claim's disclosure
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private SelectiveDisclosure selectiveDisclosure;
+    
+    // Natural key (issuer, holder, degree) backing the unique index that stops duplicate issuance; not part of the credential JSON
+    @JsonIgnore
+    private String issuanceKey;
+    
+    // Content digest computed at issuance, served as the HTTP ETag; not part of the credential JSON
+    @JsonIgnore
+    private String etag;
+    
     // Constructors
     public VerifiableCredential() {}
     
     public VerifiableCredential(String id, List<String> context, List<String> type, 
-                              Object issuer, LocalDateTime issuanceDate, 
+                              Issuer issuer, LocalDateTime issuanceDate, 
                               CredentialSubject credentialSubject, Proof proof) {
         this.id = id;
         this.context = context;
@@ -64,8 +81,8 @@ public class VerifiableCredential {
     public List<String> getType() { return type; }
     public void setType(List<String> type) { this.type = type; }
     
-    public Object getIssuer() { return issuer; }
-    public void setIssuer(Object issuer) { this.issuer = issuer; }
+    public Issuer getIssuer() { return issuer; }
+    public void setIssuer(Issuer issuer) { this.issuer = issuer; }
     
     public LocalDateTime getIssuanceDate() { return issuanceDate; }
     public void setIssuanceDate(LocalDateTime issuanceDate) { this.issuanceDate = issuanceDate; }
@@ -78,4 +95,16 @@ public class VerifiableCredential {
     
     public LocalDateTime getExpirationDate() { return expirationDate; }
     public void setExpirationDate(LocalDateTime expirationDate) { this.expirationDate = expirationDate; }
+    
+    public CredentialStatus getCredentialStatus() { return credentialStatus; }
+    public void setCredentialStatus(CredentialStatus credentialStatus) { this.credentialStatus = credentialStatus; }
+    
+    public SelectiveDisclosure getSelectiveDisclosure() { return selectiveDisclosure; }
+    public void setSelectiveDisclosure(SelectiveDisclosure selectiveDisclosure) { this.selectiveDisclosure = selectiveDisclosure; }
+    
+    public String getIssuanceKey() { return issuanceKey; }
+    public void setIssuanceKey(String issuanceKey) { this.issuanceKey = issuanceKey; }
+    
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.w3c.credentials.repository;
+
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link VerifiableCredentialRepository}, used by the reactive profile
+ */
+@Repository
+public interface ReactiveVerifiableCredentialRepository extends ReactiveMongoRepository<VerifiableCredential, String> {
+    
+    /**
+     * Find credentials by credential subject ID (holder DID)
+     */
+    @Query("{'credentialSubject.id': ?0}")
+    Flux<VerifiableCredential> findByCredentialSubjectId(String subjectId, Sort sort);
+    
+    /**
+     * Find credentials by type
+     */
+    @Query("{'type': {$in: [?0]}}")
+    Flux<VerifiableCredential> findByType(String type, Sort sort);
+}
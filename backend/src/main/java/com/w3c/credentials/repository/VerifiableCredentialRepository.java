@@ -18,9 +18,9 @@ public interface VerifiableCredentialRepository extends MongoRepository<Verifiab
     List<VerifiableCredential> findByCredentialSubjectId(String subjectId);
     
     /**
-     * Find credentials by issuer DID
+     * Find credentials by issuer DID, whether the issuer is stored as a bare DID or as an object
      */
-    @Query("{'issuer.id': ?0}")
+    @Query("{'$or': [{'issuer': ?0}, {'issuer.id': ?0}]}")
     List<VerifiableCredential> findByIssuerDID(String issuerDID);
     
     /**
@@ -39,10 +39,4 @@ public interface VerifiableCredentialRepository extends MongoRepository<Verifiab
      */
     @Query("{'expirationDate': {$gt: ?0}}")
     List<VerifiableCredential> findNotExpiredCredentials(LocalDateTime currentTime);
-    
-    /**
-     * Find credentials by student name (in credential subject)
-     */
-    @Query("{'credentialSubject.name': {$regex: ?0, $options: 'i'}}")
-    List<VerifiableCredential> findByStudentName(String name);
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.w3c.credentials.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit for one group of endpoints. Requests beyond the limit are shed at once.
+ * A request that completes within the latency target while the limit is at least half used
+ * raises the limit by 1/limit, so a fully used limit grows by about one per round of requests
+ * rather than doubling; a slower or failed request cuts it by the backoff ratio, at most once per
+ * latency target, so the limit settles just below the point where latency starts to climb.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+
+    // The limit is fractional so it can grow by 1/limit; held as the bits of a double
+    private final AtomicLong limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit))));
+    }
+
+    /**
+     * A limit that never adapts, for endpoints whose latency does not reflect load
+     */
+    static AdaptiveConcurrencyLimiter fixed(int limit) {
+        return new AdaptiveConcurrencyLimiter(limit, limit, limit, Long.MAX_VALUE);
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and adjusts the limit from its outcome
+     */
+    void release(long latencyNanos, boolean failed) {
+        int running = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyTargetNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last >= latencyTargetNanos && lastDecrease.compareAndSet(last, now)) {
+                update(current -> Math.max(minLimit, Math.floor(current * BACKOFF_RATIO)));
+            }
+        } else if (running * 2 >= getLimit()) {
+            update(current -> Math.min(maxLimit, current + 1 / current));
+        }
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        limit.updateAndGet(bits -> Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+
+    int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
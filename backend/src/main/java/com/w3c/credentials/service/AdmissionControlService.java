@@ -0,0 +1,189 @@
+package com.w3c.credentials.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for the verify and issue endpoints, applied by the web filters before a
+ * request reaches a controller. Each client (a configured API key, or else the remote address) has
+ * a token bucket per group, and going over it answers 429. Each group also has a concurrency limit
+ * shared by all clients; when the group is at its limit, requests are shed with 503 rather than
+ * queued. Single-credential groups adapt their limit so latency stays near the target instead of
+ * growing with the backlog. Batch endpoints take time in proportion to their size, which says
+ * nothing about load, so they have groups of their own with a fixed limit.
+ */
+@Service
+public class AdmissionControlService {
+
+    private static final String CREDENTIALS_PATH = "/api/credentials";
+
+    /**
+     * Endpoint groups with their own limits
+     */
+    public enum Group {
+        VERIFY("verify"), ISSUE("issue"), VERIFY_BATCH("verify_batch"), ISSUE_BATCH("issue_batch");
+
+        private final String tag;
+
+        Group(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() { return tag; }
+    }
+
+    /**
+     * The outcome of admitting a request; an admitted request must be completed exactly once
+     */
+    public record Admission(Group group, long startNanos, HttpStatus rejection, long retryAfterSeconds) {
+
+        static final Admission UNLIMITED = new Admission(null, 0, null, 0);
+
+        public boolean isAdmitted() {
+            return rejection == null;
+        }
+    }
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final CredentialMetrics metrics;
+    private final Map<Group, ClientRateLimiter> rateLimiters = new EnumMap<>(Group.class);
+    private final Map<Group, AdaptiveConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(Group.class);
+    private final Map<Group, AtomicLong> rateLimited = new EnumMap<>(Group.class);
+    private final Map<Group, AtomicLong> shed = new EnumMap<>(Group.class);
+
+    public AdmissionControlService(
+            CredentialMetrics metrics,
+            @Value("${credentials.admission.enabled:false}") boolean enabled,
+            @Value("${credentials.admission.api-keys:}") Set<String> apiKeys,
+            @Value("${credentials.admission.max-clients:100000}") long maxClients,
+            @Value("${credentials.admission.verify.rate:100}") double verifyRate,
+            @Value("${credentials.admission.verify.burst:200}") int verifyBurst,
+            @Value("${credentials.admission.verify.latency-target:PT0.25S}") Duration verifyLatencyTarget,
+            @Value("${credentials.admission.issue.rate:10}") double issueRate,
+            @Value("${credentials.admission.issue.burst:20}") int issueBurst,
+            @Value("${credentials.admission.issue.latency-target:PT1S}") Duration issueLatencyTarget,
+            @Value("${credentials.admission.verify-batch.rate:5}") double verifyBatchRate,
+            @Value("${credentials.admission.verify-batch.burst:10}") int verifyBatchBurst,
+            @Value("${credentials.admission.verify-batch.concurrency:8}") int verifyBatchConcurrency,
+            @Value("${credentials.admission.issue-batch.rate:1}") double issueBatchRate,
+            @Value("${credentials.admission.issue-batch.burst:2}") int issueBatchBurst,
+            @Value("${credentials.admission.issue-batch.concurrency:4}") int issueBatchConcurrency,
+            @Value("${credentials.admission.concurrency.initial-limit:32}") int initialLimit,
+            @Value("${credentials.admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${credentials.admission.concurrency.max-limit:256}") int maxLimit) {
+        this.enabled = enabled;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.metrics = metrics;
+        rateLimiters.put(Group.VERIFY, new ClientRateLimiter(verifyRate, verifyBurst, maxClients));
+        rateLimiters.put(Group.ISSUE, new ClientRateLimiter(issueRate, issueBurst, maxClients));
+        rateLimiters.put(Group.VERIFY_BATCH, new ClientRateLimiter(verifyBatchRate, verifyBatchBurst, maxClients));
+        rateLimiters.put(Group.ISSUE_BATCH, new ClientRateLimiter(issueBatchRate, issueBatchBurst, maxClients));
+        concurrencyLimiters.put(Group.VERIFY,
+            new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, verifyLatencyTarget.toNanos()));
+        concurrencyLimiters.put(Group.ISSUE,
+            new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, issueLatencyTarget.toNanos()));
+        concurrencyLimiters.put(Group.VERIFY_BATCH, AdaptiveConcurrencyLimiter.fixed(verifyBatchConcurrency));
+        concurrencyLimiters.put(Group.ISSUE_BATCH, AdaptiveConcurrencyLimiter.fixed(issueBatchConcurrency));
+        for (Group group : Group.values()) {
+            rateLimited.put(group, new AtomicLong());
+            shed.put(group, new AtomicLong());
+            AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(group);
+            metrics.registerAdmissionLimiter(group.getTag(), limiter::getLimit, limiter::getInFlight,
+                rateLimiters.get(group)::clients);
+        }
+    }
+
+    /**
+     * Gets the group of a request, or null if it is not limited
+     */
+    public static Group groupOf(String method, String path) {
+        if (!"POST".equals(method) || path == null || !path.startsWith(CREDENTIALS_PATH + "/")) {
+            return null;
+        }
+        String endpoint = path.substring(CREDENTIALS_PATH.length());
+        if (endpoint.equals("/verify/batch") || endpoint.equals("/verify/ids")) {
+            return Group.VERIFY_BATCH;
+        }
+        if (endpoint.equals("/issue/batch")) {
+            return Group.ISSUE_BATCH;
+        }
+        if (endpoint.equals("/verify") || endpoint.startsWith("/verify/") || endpoint.equals("/presentations/verify")) {
+            return Group.VERIFY;
+        }
+        if (endpoint.equals("/issue") || endpoint.startsWith("/issue/")) {
+            return Group.ISSUE;
+        }
+        return null;
+    }
+
+    /**
+     * Identifies a client by its API key if it is one of the configured keys, otherwise by its
+     * remote address, so made-up keys cannot mint fresh buckets
+     */
+    public String clientKey(String apiKey, String remoteAddress) {
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + remoteAddress;
+    }
+
+    /**
+     * Decides whether a request from the client may proceed
+     */
+    public Admission admit(String method, String path, String client) {
+        Group group = enabled ? groupOf(method, path) : null;
+        if (group == null) {
+            return Admission.UNLIMITED;
+        }
+
+        long waitNanos = rateLimiters.get(group).tryAcquire(client);
+        if (waitNanos > 0) {
+            rateLimited.get(group).incrementAndGet();
+            metrics.recordAdmissionRejected(group.getTag(), "rate_limit");
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            return new Admission(group, 0, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+        }
+        if (!concurrencyLimiters.get(group).tryAcquire()) {
+            shed.get(group).incrementAndGet();
+            metrics.recordAdmissionRejected(group.getTag(), "concurrency");
+            return new Admission(group, 0, HttpStatus.SERVICE_UNAVAILABLE, 1);
+        }
+        return new Admission(group, System.nanoTime(), null, 0);
+    }
+
+    /**
+     * Completes an admitted request; server errors count against the concurrency limit like slow responses
+     */
+    public void complete(Admission admission, int status) {
+        if (admission.group() == null || !admission.isAdmitted()) {
+            return;
+        }
+        concurrencyLimiters.get(admission.group()).release(System.nanoTime() - admission.startNanos(), status >= 500);
+    }
+
+    /**
+     * Gets each group's concurrency limit and rejection counts
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        for (Group group : Group.values()) {
+            AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(group);
+            Map<String, Object> groupStats = new LinkedHashMap<>();
+            groupStats.put("concurrencyLimit", limiter.getLimit());
+            groupStats.put("inFlight", limiter.getInFlight());
+            groupStats.put("clients", rateLimiters.get(group).clients());
+            groupStats.put("rateLimited", rateLimited.get(group).get());
+            groupStats.put("shed", shed.get(group).get());
+            stats.put(group.getTag(), groupStats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,389 @@
+package com.w3c.credentials.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.w3c.credentials.dto.IssuanceStatus;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Optional asynchronous issuance: credentials are signed, journaled to local disk and acknowledged
+ * at once, then stored by a single writer thread that inserts them in batches, flushing when a batch
+ * is full or the flush interval has passed since its first credential.
+ *
+ * At most queue-capacity credentials are accepted but unstored; beyond that callers wait up to
+ * offer-timeout and are then rejected, so a slow database pushes back on clients instead of
+ * growing the heap. Records leave the journal only once stored, and journal segments left by a
+ * crash are replayed on startup; inserts that hit an existing ID count as stored, so replay is safe.
+ *
+ * Nothing on the acknowledgement path touches the database. Concurrent requests for one degree are
+ * collapsed in memory by IdempotentIssuanceService; if another instance accepted the same degree, the
+ * unique issuance key index rejects the later credential when its batch is stored. That credential is
+ * then reported as superseded, pointing at the one that was stored.
+ */
+@Service
+public class AsyncIssuanceService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncIssuanceService.class);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    @Autowired
+    private CredentialIssuerService issuerService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    private CredentialMetrics metrics;
+
+    @Value("${credentials.issuance.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${credentials.issuance.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${credentials.issuance.async.batch-size:500}")
+    private int batchSize;
+
+    @Value("${credentials.issuance.async.flush-interval:PT0.1S}")
+    private Duration flushInterval;
+
+    @Value("${credentials.issuance.async.offer-timeout:PT0.05S}")
+    private Duration offerTimeout;
+
+    @Value("${credentials.issuance.async.journal-dir:data/issuance-journal}")
+    private Path journalDirectory;
+
+    @Value("${credentials.issuance.async.journal-segment-size:16MB}")
+    private DataSize journalSegmentSize;
+
+    @Value("${credentials.issuance.async.journal-sync:true}")
+    private boolean journalSync;
+
+    @Value("${credentials.issuance.async.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<String, VerifiableCredential> pending = new ConcurrentHashMap<>();
+    private final Cache<String, String> failures = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final Cache<String, String> superseded = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final List<BiConsumer<VerifiableCredential, VerifiableCredential>> supersededListeners = new CopyOnWriteArrayList<>();
+
+    private Semaphore permits;
+    private IssuanceJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    /**
+     * A journaled credential waiting to be stored
+     */
+    private record Entry(VerifiableCredential credential, Document document, long segment, boolean holdsPermit) {}
+
+    /**
+     * Gets whether issuance requests should go through the write-behind pipeline
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Issues a credential and journals it for storage; returns once the credential is durable locally.
+     * Throws RejectedExecutionException when the backlog stays full for longer than offer-timeout.
+     */
+    public VerifiableCredential issue(IssueCredentialRequest request) throws InterruptedException {
+        if (!running) {
+            throw new RejectedExecutionException("Asynchronous issuance is not running");
+        }
+        if (!permits.tryAcquire(offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new RejectedExecutionException("Issuance backlog is full");
+        }
+        try {
+            VerifiableCredential credential = issuerService.issueBachelorDegree(request);
+            Document document = new Document();
+            mongoTemplate.getConverter().write(credential, document);
+            long segment = journal.append(document.toJson());
+            pending.put(credential.getId(), credential);
+            queue.add(new Entry(credential, document, segment, true));
+            return credential;
+        } catch (IOException e) {
+            permits.release();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a callback for accepted credentials that lost their degree to one stored first,
+     * called on the writer thread with the accepted and the stored credential
+     */
+    public void onSuperseded(BiConsumer<VerifiableCredential, VerifiableCredential> listener) {
+        supersededListeners.add(listener);
+    }
+
+    /**
+     * Gets the progress of an accepted credential; empty if this instance does not know the ID
+     */
+    public Optional<IssuanceStatus> getStatus(String credentialId) {
+        if (pending.containsKey(credentialId)) {
+            return Optional.of(new IssuanceStatus(credentialId, IssuanceStatus.State.PENDING, null, null));
+        }
+        String winner = superseded.getIfPresent(credentialId);
+        if (winner != null) {
+            return Optional.of(new IssuanceStatus(credentialId, IssuanceStatus.State.SUPERSEDED,
+                "/api/credentials/" + winner, "Another credential was issued for this degree first"));
+        }
+        String error = failures.getIfPresent(credentialId);
+        if (error != null) {
+            return Optional.of(new IssuanceStatus(credentialId, IssuanceStatus.State.FAILED, null, error));
+        }
+        return readCache.findById(credentialId)
+            .map(credential -> new IssuanceStatus(credentialId, IssuanceStatus.State.STORED,
+                "/api/credentials/" + credentialId, null));
+    }
+
+    /**
+     * Gets the pipeline's backlog and journal state
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        if (running) {
+            stats.put("backlog", queue.size());
+            stats.put("availablePermits", permits.availablePermits());
+            stats.put("journalRecords", journal.outstandingRecords());
+            stats.put("journalSyncs", journal.syncCount());
+        }
+        return stats;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        permits = new Semaphore(queueCapacity);
+        journal = new IssuanceJournal(journalDirectory, journalSegmentSize.toBytes(), journalSync);
+        try {
+            // Replayed credentials were acknowledged before the crash; they are stored ahead of new ones
+            for (IssuanceJournal.Recovered recovered : journal.open()) {
+                Document document;
+                try {
+                    document = Document.parse(recovered.record());
+                } catch (RuntimeException e) {
+                    // A record torn by the crash was never synced, so it was never acknowledged either
+                    logger.warn("Skipping unreadable issuance journal record: {}", e.getMessage());
+                    journal.release(recovered.segment(), 1);
+                    continue;
+                }
+                VerifiableCredential credential = mongoTemplate.getConverter().read(VerifiableCredential.class, document);
+                pending.put(credential.getId(), credential);
+                queue.add(new Entry(credential, document, recovered.segment(), false));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open issuance journal in " + journalDirectory, e);
+        }
+        if (!queue.isEmpty()) {
+            logger.info("Replaying {} journaled credentials from {}", queue.size(), journalDirectory);
+        }
+        metrics.registerIssuanceBacklog(queue);
+
+        running = true;
+        writer = new Thread(this::runWriter, "credential-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // The writer drains what was accepted before exiting; anything it cannot store stays journaled
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Unable to close issuance journal: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so requests never reach a stopped pipeline
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Entry first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!storeWithRetry(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores a batch, retrying with backoff while the database is unavailable.
+     * Returns false if shutdown began before the batch could be stored.
+     */
+    private boolean storeWithRetry(List<Entry> batch) throws InterruptedException {
+        Duration delay = flushInterval;
+        while (true) {
+            try {
+                store(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.warn("Leaving {} credentials in the issuance journal: {}", batch.size(), e.getMessage());
+                    return false;
+                }
+                logger.warn("Storing {} credentials failed, retrying in {}: {}", batch.size(), delay, e.getMessage());
+                Thread.sleep(delay.toMillis());
+                delay = delay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay.multipliedBy(2);
+            }
+        }
+    }
+
+    private void store(List<Entry> batch) {
+        Map<Integer, String> rejected = new HashMap<>();
+        Map<Integer, String> conflicts = new HashMap<>();
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(VerifiableCredential.class))
+                .insertMany(batch.stream().map(Entry::document).toList(), new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // A duplicate ID means an earlier attempt or a replay already stored the credential;
+            // a duplicate issuance key means another credential for the same degree got there first
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (IdempotentIssuanceService.isDuplicateIssuanceKey(error)) {
+                    conflicts.put(error.getIndex(), batch.get(error.getIndex()).credential().getIssuanceKey());
+                } else if (!IdempotentIssuanceService.isDuplicateId(error)) {
+                    rejected.put(error.getIndex(), error.getMessage());
+                }
+            }
+            if (e.getWriteConcernError() != null) {
+                throw e;
+            }
+        }
+        Map<String, VerifiableCredential> winners = findStored(conflicts.values());
+
+        List<VerifiableCredential> stored = new ArrayList<>(batch.size());
+        Map<Long, Integer> released = new HashMap<>();
+        int permitsToRelease = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            VerifiableCredential winner = conflicts.containsKey(i) ? winners.get(conflicts.get(i)) : null;
+            String error = conflicts.containsKey(i) && winner == null
+                ? "Another credential was issued for this degree first"
+                : rejected.get(i);
+            if (winner != null) {
+                logger.info("Credential {} was superseded by {}, stored first for the same degree",
+                    entry.credential().getId(), winner.getId());
+                superseded.put(entry.credential().getId(), winner.getId());
+                supersededListeners.forEach(listener -> listener.accept(entry.credential(), winner));
+            } else if (error == null) {
+                stored.add(entry.credential());
+            } else {
+                logger.warn("Credential {} was rejected by the database: {}", entry.credential().getId(), error);
+                failures.put(entry.credential().getId(), error);
+            }
+            released.merge(entry.segment(), 1, Integer::sum);
+            if (entry.holdsPermit()) {
+                permitsToRelease++;
+            }
+        }
+
+        readCache.credentialsStored(stored);
+        for (Entry entry : batch) {
+            pending.remove(entry.credential().getId());
+        }
+        released.forEach(journal::release);
+        permits.release(permitsToRelease);
+    }
+
+    /**
+     * Loads the stored credentials holding the given issuance keys, by key
+     */
+    private Map<String, VerifiableCredential> findStored(Collection<String> issuanceKeys) {
+        if (issuanceKeys.isEmpty()) {
+            return Map.of();
+        }
+        return mongoTemplate.find(new Query(Criteria.where("issuanceKey").in(issuanceKeys)), VerifiableCredential.class)
+            .stream()
+            .collect(Collectors.toMap(VerifiableCredential::getIssuanceKey, credential -> credential, (first, second) -> first));
+    }
+}
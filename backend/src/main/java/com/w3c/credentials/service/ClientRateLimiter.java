@@ -0,0 +1,57 @@
+package com.w3c.credentials.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for one group of endpoints. Each bucket is a single timestamp updated
+ * by compare-and-set (the generic cell rate algorithm), so admitting a request takes no lock:
+ * the timestamp is when the bucket would be full again, and a request is admitted while that is
+ * at most burst / rate ahead of now.
+ */
+class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    ClientRateLimiter(double permitsPerSecond, int burst, long maxClients) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        // An idle bucket refills completely after burstNanos, so forgetting it then changes nothing
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxClients)
+            .expireAfterAccess(Duration.ofNanos(burstNanos).plusSeconds(1))
+            .build();
+    }
+
+    /**
+     * Takes one token from the client's bucket. Returns 0 if admitted, otherwise the nanoseconds
+     * until a token is available.
+     */
+    long tryAcquire(String client) {
+        AtomicLong full = buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = full.get();
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (full.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of clients with a bucket
+     */
+    long clients() {
+        return buckets.estimatedSize();
+    }
+}
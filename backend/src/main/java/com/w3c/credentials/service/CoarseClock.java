@@ -0,0 +1,48 @@
+package com.w3c.credentials.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Wall-clock time at a configurable resolution for the verification checks. Every check in the
+ * same tick sees the same reading, and the LocalDateTime is built once per tick instead of once per
+ * check. Expiry is decided at second granularity anyway, so the default resolution is one second.
+ */
+@Component
+public class CoarseClock {
+
+    private final long resolutionMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private volatile Reading current;
+
+    public CoarseClock(@Value("${credentials.clock.resolution:PT1S}") Duration resolution) {
+        this.resolutionMillis = Math.max(1, resolution.toMillis());
+        this.current = read(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the current time, at most one resolution step behind the system clock
+     */
+    public LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Reading reading = current;
+        // A clock that stepped backwards is taken as is rather than waiting it out
+        if (millis - reading.millis() >= resolutionMillis || millis < reading.millis()) {
+            reading = read(millis);
+            current = reading;
+        }
+        return reading.time();
+    }
+
+    private Reading read(long millis) {
+        return new Reading(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone));
+    }
+
+    private record Reading(long millis, LocalDateTime time) {}
+}
@@ -0,0 +1,217 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.w3c.credentials.dto.BatchIssueResponse;
+import com.w3c.credentials.dto.BatchIssueResult;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.VerifiableCredential;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class CredentialBatchIssuerService {
+
+    @Autowired
+    private CredentialIssuerService issuerService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    @Qualifier("credentialBatchExecutor")
+    private Executor batchExecutor;
+
+    private final ObjectReader requestReader;
+
+    @Value("${credentials.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    public CredentialBatchIssuerService(ObjectMapper objectMapper) {
+        this.requestReader = objectMapper.readerFor(IssueCredentialRequest.class);
+    }
+
+    /**
+     * Issues and stores every request in the list
+     */
+    public BatchIssueResponse issueAll(List<IssueCredentialRequest> requests) {
+        BatchAccumulator accumulator = new BatchAccumulator();
+        for (IssueCredentialRequest request : requests) {
+            accumulator.add(() -> request);
+        }
+        return accumulator.finish();
+    }
+
+    /**
+     * Issues and stores one request per NDJSON line, reading the body incrementally
+     */
+    public BatchIssueResponse issueAll(InputStream ndjson) throws IOException {
+        BatchAccumulator accumulator = new BatchAccumulator();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String json = line;
+                accumulator.add(() -> parse(json));
+            }
+        }
+        return accumulator.finish();
+    }
+
+    private IssueCredentialRequest parse(String json) {
+        try {
+            return requestReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed request: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Builds the chunk's credentials in parallel, then writes them with one unordered bulk insert
+     */
+    private List<BatchIssueResult> processChunk(List<Supplier<IssueCredentialRequest>> chunk, int firstIndex) {
+        List<CompletableFuture<BuildOutcome>> futures = new ArrayList<>(chunk.size());
+        for (Supplier<IssueCredentialRequest> item : chunk) {
+            futures.add(CompletableFuture.supplyAsync(() -> buildCredential(item), batchExecutor));
+        }
+
+        BatchIssueResult[] results = new BatchIssueResult[chunk.size()];
+        List<VerifiableCredential> toInsert = new ArrayList<>(chunk.size());
+        List<Integer> insertPositions = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < futures.size(); i++) {
+            BuildOutcome outcome = futures.get(i).join();
+            if (outcome.credential() != null) {
+                toInsert.add(outcome.credential());
+                insertPositions.add(i);
+            } else {
+                results[i] = BatchIssueResult.rejected(firstIndex + i, outcome.error());
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            // Per-item errors, such as a degree that was already issued (duplicate issuance key)
+            Map<Integer, String> failedWrites = Map.of();
+            boolean chunkFailed = false;
+            String failureMessage = null;
+            try {
+                mongoTemplate.bulkOps(BulkMode.UNORDERED, VerifiableCredential.class)
+                    .insert(toInsert)
+                    .execute();
+            } catch (BulkOperationException e) {
+                failedWrites = e.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+                failureMessage = e.getMessage();
+            } catch (RuntimeException e) {
+                chunkFailed = true;
+                failureMessage = e.getMessage();
+            }
+
+            List<VerifiableCredential> stored = new ArrayList<>(toInsert.size());
+            for (int j = 0; j < toInsert.size(); j++) {
+                int position = insertPositions.get(j);
+                String credentialId = toInsert.get(j).getId();
+                boolean failed = chunkFailed || failedWrites.containsKey(j);
+                results[position] = failed
+                    ? BatchIssueResult.failed(firstIndex + position, credentialId, failedWrites.getOrDefault(j, failureMessage))
+                    : BatchIssueResult.issued(firstIndex + position, credentialId);
+                if (!failed) {
+                    stored.add(toInsert.get(j));
+                }
+            }
+            readCache.credentialsStored(stored);
+        }
+
+        return List.of(results);
+    }
+
+    /**
+     * Validates and issues a single item without touching the database
+     */
+    private BuildOutcome buildCredential(Supplier<IssueCredentialRequest> item) {
+        try {
+            IssueCredentialRequest request = item.get();
+            if (request == null) {
+                return BuildOutcome.rejected("Empty request");
+            }
+            Set<ConstraintViolation<IssueCredentialRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return BuildOutcome.rejected(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            }
+            return new BuildOutcome(issuerService.issueBachelorDegree(request), null);
+        } catch (RuntimeException e) {
+            return BuildOutcome.rejected(e.getMessage());
+        }
+    }
+
+    private record BuildOutcome(VerifiableCredential credential, String error) {
+        static BuildOutcome rejected(String error) {
+            return new BuildOutcome(null, error);
+        }
+    }
+
+    /**
+     * Collects items into fixed-size chunks so only one chunk is held in memory at a time
+     */
+    private class BatchAccumulator {
+        private final List<BatchIssueResult> results = new ArrayList<>();
+        private List<Supplier<IssueCredentialRequest>> pending = new ArrayList<>();
+        private int nextIndex = 0;
+
+        void add(Supplier<IssueCredentialRequest> item) {
+            pending.add(item);
+            if (pending.size() >= Math.max(1, chunkSize)) {
+                flush();
+            }
+        }
+
+        BatchIssueResponse finish() {
+            flush();
+            return new BatchIssueResponse(results);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            results.addAll(processChunk(pending, nextIndex));
+            nextIndex += pending.size();
+            pending = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.w3c.credentials.dto.BatchVerificationResult;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.VerifiableCredentialRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class CredentialBatchVerifierService {
+
+    @Autowired
+    private CredentialVerifierService verifierService;
+
+    @Autowired
+    private VerifiableCredentialRepository credentialRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier("credentialBatchExecutor")
+    private Executor batchExecutor;
+
+    private final ObjectReader credentialReader;
+
+    @Value("${credentials.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${credentials.batch.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Autowired
+    public CredentialBatchVerifierService(ObjectMapper objectMapper) {
+        this.credentialReader = objectMapper.readerFor(VerifiableCredential.class);
+    }
+
+    /**
+     * Receives results in input order as soon as they are ready
+     */
+    @FunctionalInterface
+    public interface ResultWriter {
+        void write(BatchVerificationResult result) throws IOException;
+    }
+
+    /**
+     * Verifies every credential in the list
+     */
+    public void verifyAll(List<VerifiableCredential> credentials, ResultWriter writer) throws IOException {
+        OrderedFanOut fanOut = new OrderedFanOut(writer);
+        int index = 0;
+        for (VerifiableCredential credential : credentials) {
+            int position = index++;
+            fanOut.submit(() -> verify(position, credential));
+        }
+        fanOut.drain();
+    }
+
+    /**
+     * Verifies one credential per NDJSON line, reading the body incrementally
+     */
+    public void verifyAll(InputStream ndjson, ResultWriter writer) throws IOException {
+        OrderedFanOut fanOut = new OrderedFanOut(writer);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            int index = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                int position = index++;
+                String json = line;
+                fanOut.submit(() -> verifyJson(position, json));
+            }
+        }
+        fanOut.drain();
+    }
+
+    /**
+     * Verifies stored credentials, loading each chunk of IDs with a single $in query
+     */
+    public void verifyAllById(List<String> ids, ResultWriter writer) throws IOException {
+        OrderedFanOut fanOut = new OrderedFanOut(writer);
+        int step = Math.max(1, chunkSize);
+        for (int start = 0; start < ids.size(); start += step) {
+            List<String> chunk = ids.subList(start, Math.min(ids.size(), start + step));
+
+            Map<String, VerifiableCredential> loaded = new HashMap<>();
+            for (VerifiableCredential credential : credentialRepository.findAllById(Set.copyOf(chunk))) {
+                loaded.put(credential.getId(), credential);
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int position = start + i;
+                String id = chunk.get(i);
+                VerifiableCredential credential = loaded.get(id);
+                if (credential == null) {
+                    fanOut.submit(() -> notFound(position, id));
+                } else {
+                    fanOut.submit(() -> verify(position, credential));
+                }
+            }
+        }
+        fanOut.drain();
+    }
+
+    private BatchVerificationResult verifyJson(int index, String json) {
+        VerifiableCredential credential;
+        try {
+            credential = credentialReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            return failure(index, null, "❌ Invalid credential data: " + e.getOriginalMessage());
+        }
+        return verify(index, credential);
+    }
+
+    /**
+     * Verifies one batch item; invalid data and verification errors become a failed result
+     */
+    public BatchVerificationResult verify(int index, VerifiableCredential credential) {
+        if (credential == null) {
+            return failure(index, null, "❌ Invalid credential data: empty credential");
+        }
+        Set<ConstraintViolation<VerifiableCredential>> violations = validator.validate(credential);
+        if (!violations.isEmpty()) {
+            String reasons = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return failure(index, credential.getId(), "❌ Invalid credential data: " + reasons);
+        }
+        try {
+            return new BatchVerificationResult(index, credential.getId(), verifierService.verifyCredential(credential));
+        } catch (Exception e) {
+            return failure(index, credential.getId(),
+                "❌ Verification process failed due to an error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Result for a requested ID that is not stored
+     */
+    public BatchVerificationResult notFound(int index, String credentialId) {
+        return failure(index, credentialId, "❌ Credential not found");
+    }
+
+    private BatchVerificationResult failure(int index, String credentialId, String message) {
+        VerificationResult result = new VerificationResult(
+            false,
+            message,
+            new VerificationResult.VerificationDetails(false, false, false)
+        );
+        return new BatchVerificationResult(index, credentialId, result);
+    }
+
+    /**
+     * Runs verifications concurrently while emitting results strictly in submission order.
+     * At most maxInFlight verifications are pending, which bounds memory for unbounded inputs.
+     */
+    private class OrderedFanOut {
+        private final Deque<CompletableFuture<BatchVerificationResult>> window = new ArrayDeque<>();
+        private final ResultWriter writer;
+
+        OrderedFanOut(ResultWriter writer) {
+            this.writer = writer;
+        }
+
+        void submit(Supplier<BatchVerificationResult> task) throws IOException {
+            if (window.size() >= Math.max(1, maxInFlight)) {
+                writer.write(window.poll().join());
+            }
+            window.add(CompletableFuture.supplyAsync(task, batchExecutor));
+        }
+
+        void drain() throws IOException {
+            while (!window.isEmpty()) {
+                writer.write(window.poll().join());
+            }
+        }
+    }
+}
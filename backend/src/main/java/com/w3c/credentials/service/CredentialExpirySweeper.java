@@ -0,0 +1,153 @@
+package com.w3c.credentials.service;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves expired credentials out of the hot collection into an archive collection, oldest first,
+ * in batches read from the expiration index. Each batch is upserted into the archive before it is
+ * deleted, so a sweep interrupted halfway (or run by two instances at once) only repeats work.
+ */
+@Service
+public class CredentialExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialExpirySweeper.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    private IdempotentIssuanceService idempotentIssuanceService;
+
+    @Autowired
+    private CredentialMetrics metrics;
+
+    @Autowired
+    private CoarseClock clock;
+
+    @Value("${credentials.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${credentials.expiry.archive-collection:expired_credentials}")
+    private String archiveCollection;
+
+    @Value("${credentials.expiry.grace-period:P1D}")
+    private Duration gracePeriod;
+
+    @Value("${credentials.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${credentials.expiry.max-batches-per-sweep:100}")
+    private int maxBatchesPerSweep;
+
+    private final AtomicLong totalArchived = new AtomicLong();
+    private volatile LocalDateTime lastSweep;
+    private volatile int lastArchived;
+
+    /**
+     * Archives credentials that expired more than the grace period ago
+     */
+    @Scheduled(initialDelayString = "${credentials.expiry.initial-delay:PT1M}",
+               fixedDelayString = "${credentials.expiry.sweep-interval:PT15M}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = clock.now().minus(gracePeriod);
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerSweep; batch++) {
+                int moved = archiveBatch(cutoff);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Expiry sweep stopped after archiving {} credentials: {}", archived, e.getMessage());
+        }
+        lastSweep = clock.now();
+        lastArchived = archived;
+        totalArchived.addAndGet(archived);
+        if (archived > 0) {
+            logger.info("Archived {} credentials that expired before {}", archived, cutoff);
+        }
+    }
+
+    /**
+     * Gets the outcome of the most recent sweep
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("archiveCollection", archiveCollection);
+        stats.put("lastSweep", lastSweep);
+        stats.put("lastArchived", lastArchived);
+        stats.put("totalArchived", totalArchived.get());
+        return stats;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        // Raw documents, so the archive keeps every stored field whether or not the model maps it
+        Query query = new Query(Criteria.where("expirationDate").lt(cutoff))
+            .with(Sort.by(Sort.Direction.ASC, "expirationDate"))
+            .limit(batchSize);
+        List<Document> expired = mongoTemplate.find(query, Document.class, hotCollection());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        Date archivedAt = new Date();
+        List<WriteModel<Document>> upserts = new ArrayList<>(expired.size());
+        List<Object> ids = new ArrayList<>(expired.size());
+        for (Document document : expired) {
+            Object id = document.get("_id");
+            ids.add(id);
+            upserts.add(new ReplaceOneModel<>(new Document("_id", id),
+                new Document(document).append("archivedAt", archivedAt),
+                new ReplaceOptions().upsert(true)));
+        }
+        mongoTemplate.getCollection(archiveCollection).bulkWrite(upserts, new BulkWriteOptions().ordered(false));
+
+        // The expiry condition is repeated so a credential whose date was extended meanwhile stays put
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(ids).and("expirationDate").lt(cutoff)), hotCollection());
+
+        for (Document document : expired) {
+            VerifiableCredential credential = mongoTemplate.getConverter().read(VerifiableCredential.class, document);
+            readCache.credentialDeleted(credential.getId(), credential);
+            idempotentIssuanceService.credentialDeleted(credential);
+        }
+        metrics.recordArchived(expired.size());
+        return expired.size();
+    }
+
+    private String hotCollection() {
+        return mongoTemplate.getCollectionName(VerifiableCredential.class);
+    }
+}
@@ -1,13 +1,17 @@
 package com.w3c.credentials.service;
 
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.ProofSigner;
 import com.w3c.credentials.dto.IssueCredentialRequest;
-import com.w3c.credentials.dto.IssuerObject;
 import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.Issuer;
 import com.w3c.credentials.model.Proof;
 import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.UUID;
 
@@ -16,16 +20,37 @@ public class CredentialIssuerService {
     
     private static final String ISSUER_DID = "did:example:university:stanford";
     private static final String ISSUER_NAME = "Stanford University";
+    private static final String VERIFICATION_METHOD = ISSUER_DID + "#keys-1";
+    
+    @Autowired
+    private ProofSigner proofSigner;
+    
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+    
+    @Autowired
+    private CredentialMetrics metrics;
+    
+    @Autowired
+    private CredentialStatusRegistry statusRegistry;
+    
+    @Autowired
+    private SelectiveDisclosureService selectiveDisclosureService;
     
     /**
      * Issues a Bachelor Degree credential for a student
      */
     public VerifiableCredential issueBachelorDegree(IssueCredentialRequest request) {
-        LocalDateTime currentTime = LocalDateTime.now();
+        return metrics.timeIssuance(() -> buildAndSign(request));
+    }
+    
+    private VerifiableCredential buildAndSign(IssueCredentialRequest request) {
+        // MongoDB stores millisecond precision; sign exactly what will be read back
+        LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
         String credentialId = "urn:uuid:" + UUID.randomUUID().toString();
         
         // Create issuer object
-        IssuerObject issuer = new IssuerObject(ISSUER_DID, ISSUER_NAME);
+        Issuer issuer = Issuer.of(ISSUER_DID, ISSUER_NAME);
         
         // Create credential subject
         CredentialSubject credentialSubject = new CredentialSubject(
@@ -35,15 +60,7 @@ public class CredentialIssuerService {
             request.getUniversity() != null ? request.getUniversity() : ISSUER_NAME,
             currentTime.toString()
         );
-        
-        // Create proof (mock signature)
-        Proof proof = new Proof(
-            "Ed25519Signature2018",
-            currentTime,
-            "assertionMethod",
-            ISSUER_DID + "#keys-1",
-            generateMockSignature()
-        );
+        CredentialSearchService.indexName(credentialSubject);
         
         // Create verifiable credential
         VerifiableCredential credential = new VerifiableCredential(
@@ -56,19 +73,34 @@ public class CredentialIssuerService {
             issuer,
             currentTime,
             credentialSubject,
-            proof
+            null
         );
+        credential.setIssuanceKey(issuanceKey(request));
+        credential.setCredentialStatus(statusRegistry.allocate());
+        credential.setSelectiveDisclosure(
+            selectiveDisclosureService.prepare(credential, currentTime, VERIFICATION_METHOD));
+        
+        // Sign the credential
+        Proof proof = proofSigner.sign(credential, currentTime, Proof.PURPOSE_ASSERTION, VERIFICATION_METHOD);
+        credential.setProof(proof);
+        credential.setEtag(canonicalizer.etag(credential));
         
         return credential;
     }
     
     /**
-     * Generates a mock JWS signature for demonstration purposes
-     * In production, this would be replaced with actual cryptographic signing
+     * Gets the natural key of the credential a request would issue
+     */
+    public String issuanceKey(IssueCredentialRequest request) {
+        return issuanceKey(ISSUER_DID, request.getStudentDID(), request.getDegreeTitle());
+    }
+    
+    /**
+     * Builds the natural key of a degree: one credential per issuer, holder and degree title.
+     * DIDs cannot contain spaces, so joining on a space is unambiguous.
      */
-    private String generateMockSignature() {
-        return "eyJhbGciOiJFZERTQSIsImtpZCI6IiNrZXlzLTEifQ..mock_signature_" + 
-               UUID.randomUUID().toString().substring(0, 8);
+    public static String issuanceKey(String issuerDID, String holderDID, String degreeTitle) {
+        return issuerDID + " " + holderDID + " " + degreeTitle;
     }
     
     /**
@@ -0,0 +1,148 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.VerifiableCredential;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for issuance, verification and expiry archiving. Meters are registered once here so the hot
+ * paths only record; repository and HTTP latencies come from Spring Boot's own instrumentation.
+ */
+@Component
+public class CredentialMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer issuance;
+    private final Timer verificationValid;
+    private final Timer verificationInvalid;
+    private final Counter untrustedIssuer;
+    private final Counter invalidProof;
+    private final Counter expired;
+    private final Counter revoked;
+    private final Counter archived;
+    private final Counter issuanceReplayed;
+
+    public CredentialMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.issuance = Timer.builder("credentials.issuance")
+            .description("Time to build and sign a credential")
+            .register(registry);
+        this.verificationValid = verificationTimer(registry, "valid");
+        this.verificationInvalid = verificationTimer(registry, "invalid");
+        this.untrustedIssuer = failureCounter(registry, "issuer");
+        this.invalidProof = failureCounter(registry, "proof");
+        this.expired = failureCounter(registry, "expired");
+        this.revoked = failureCounter(registry, "revoked");
+        this.archived = Counter.builder("credentials.archived")
+            .description("Expired credentials moved to the archive collection")
+            .register(registry);
+        this.issuanceReplayed = Counter.builder("credentials.issuance.replayed")
+            .description("Issuance requests answered with an earlier credential instead of a new one")
+            .register(registry);
+    }
+
+    /**
+     * Times one issuance
+     */
+    public VerifiableCredential timeIssuance(Supplier<VerifiableCredential> issuer) {
+        return issuance.record(issuer);
+    }
+
+    /**
+     * Records one verification; each failed check is counted separately
+     */
+    public void recordVerification(long startNanos, VerificationResult.VerificationDetails details) {
+        boolean valid = details.isHasValidIssuer() && details.isHasValidProof() && details.isNotExpired()
+            && details.isNotRevoked();
+        (valid ? verificationValid : verificationInvalid).record(System.nanoTime() - startNanos,
+            TimeUnit.NANOSECONDS);
+        if (!details.isHasValidIssuer()) {
+            untrustedIssuer.increment();
+        }
+        if (!details.isHasValidProof()) {
+            invalidProof.increment();
+        }
+        if (!details.isNotExpired()) {
+            expired.increment();
+        }
+        if (!details.isNotRevoked()) {
+            revoked.increment();
+        }
+    }
+
+    /**
+     * Records credentials moved out of the hot collection by the expiry sweeper
+     */
+    public void recordArchived(int count) {
+        archived.increment(count);
+    }
+
+    /**
+     * Records an issuance retry answered with the credential already issued
+     */
+    public void recordIssuanceReplayed() {
+        issuanceReplayed.increment();
+    }
+
+    /**
+     * Exposes the number of credentials accepted for asynchronous issuance but not yet stored
+     */
+    public void registerIssuanceBacklog(Collection<?> backlog) {
+        Gauge.builder("credentials.issuance.backlog", backlog, Collection::size)
+            .description("Credentials accepted but not yet stored")
+            .register(registry);
+    }
+
+    /**
+     * Exposes an endpoint group's adaptive concurrency limit, requests in flight and rate-limited clients
+     */
+    public void registerAdmissionLimiter(String group, Supplier<Number> limit, Supplier<Number> inFlight,
+                                         Supplier<Number> clients) {
+        Gauge.builder("credentials.admission.limit", limit)
+            .description("Adaptive concurrency limit")
+            .tag("group", group)
+            .register(registry);
+        Gauge.builder("credentials.admission.in.flight", inFlight)
+            .description("Requests admitted and not yet completed")
+            .tag("group", group)
+            .register(registry);
+        Gauge.builder("credentials.admission.clients", clients)
+            .description("Clients with a rate limit bucket")
+            .tag("group", group)
+            .register(registry);
+    }
+
+    /**
+     * Records a request turned away by the rate limiter or the concurrency limit
+     */
+    public void recordAdmissionRejected(String group, String reason) {
+        Counter.builder("credentials.admission.rejected")
+            .description("Requests rejected before reaching a controller")
+            .tag("group", group)
+            .tag("reason", reason)
+            .register(registry)
+            .increment();
+    }
+
+    private static Timer verificationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("credentials.verification")
+            .description("Time to verify a credential")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static Counter failureCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("credentials.verification.failures")
+            .description("Failed verification checks")
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
@@ -0,0 +1,175 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.dto.PageCursor;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class CredentialQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Newest first; _id breaks ties between credentials issued in the same millisecond
+    static final Sort KEYSET_SORT = Sort.by(
+        Sort.Order.desc("issuanceDate"),
+        Sort.Order.desc("_id")
+    );
+
+    // Fields read for the summary view; everything else (context, proof, additional properties) stays on the server
+    private static final String[] SUMMARY_FIELDS = {
+        "issuanceDate",
+        "expirationDate",
+        "credentialSubject.id",
+        "credentialSubject.name",
+        "credentialSubject.degree",
+        "credentialSubject.university"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Fetches one page of credentials after the given cursor (keyset pagination)
+     */
+    public CredentialPage<VerifiableCredential> findPage(String cursor, int limit) {
+        return findKeysetPage(cursor, limit, false);
+    }
+
+    /**
+     * Same as {@link #findPage(String, int)} but reads only the summary fields
+     */
+    public CredentialPage<CredentialSummary> findSummaryPage(String cursor, int limit) {
+        return findKeysetPage(cursor, limit, true).map(CredentialSummary::from);
+    }
+
+    /**
+     * Summaries of a holder's credentials, newest first
+     */
+    public List<CredentialSummary> findSummariesByHolder(String holderDID) {
+        return findSummaries(holderCriteria(holderDID));
+    }
+
+    /**
+     * Summaries of credentials of the given type, newest first
+     */
+    public List<CredentialSummary> findSummariesByType(String type) {
+        return findSummaries(typeCriteria(type));
+    }
+
+    /**
+     * Restricts a query to the fields needed by {@link CredentialSummary}
+     */
+    public static Query includeSummaryFields(Query query, String... extraFields) {
+        query.fields().include(SUMMARY_FIELDS).include(extraFields);
+        return query;
+    }
+
+    private List<CredentialSummary> findSummaries(Criteria criteria) {
+        return mongoTemplate.find(summaryQuery(criteria), VerifiableCredential.class).stream()
+            .map(CredentialSummary::from)
+            .toList();
+    }
+
+    private CredentialPage<VerifiableCredential> findKeysetPage(String cursor, int limit, boolean summary) {
+        int pageSize = clampPageSize(limit);
+        return keysetPage(mongoTemplate.find(keysetPageQuery(cursor, pageSize, summary), VerifiableCredential.class), pageSize);
+    }
+
+    /**
+     * Streams every credential through a server-side Mongo cursor.
+     * The caller must close the returned stream to release the cursor.
+     */
+    public Stream<VerifiableCredential> streamAll() {
+        return mongoTemplate.stream(streamAllQuery(), VerifiableCredential.class);
+    }
+
+    /**
+     * Streams summaries of credentials expiring in [from, until), soonest first, from the expiration index.
+     * The caller must close the returned stream to release the cursor.
+     */
+    public Stream<CredentialSummary> streamExpiring(LocalDateTime from, LocalDateTime until) {
+        return mongoTemplate.stream(expiringQuery(from, until), VerifiableCredential.class)
+            .map(CredentialSummary::from);
+    }
+
+    // Query building below is shared with ReactiveCredentialQueryService
+
+    static Criteria holderCriteria(String holderDID) {
+        return Criteria.where("credentialSubject.id").is(holderDID);
+    }
+
+    static Criteria typeCriteria(String type) {
+        return Criteria.where("type").in(type);
+    }
+
+    static Query summaryQuery(Criteria criteria) {
+        return includeSummaryFields(new Query(criteria).with(Sort.by(Sort.Direction.DESC, "issuanceDate")));
+    }
+
+    static Query expiringQuery(LocalDateTime from, LocalDateTime until) {
+        return includeSummaryFields(new Query(Criteria.where("expirationDate").gte(from).lt(until))
+            .with(Sort.by(Sort.Direction.ASC, "expirationDate")));
+    }
+
+    static Query streamAllQuery() {
+        return new Query().with(KEYSET_SORT);
+    }
+
+    /**
+     * Query for one keyset page; it reads one extra credential to tell whether another page follows
+     */
+    static Query keysetPageQuery(String cursor, int pageSize, boolean summary) {
+        Query query = new Query().with(KEYSET_SORT).limit(pageSize + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(afterCursor(PageCursor.decode(cursor)));
+        }
+        if (summary) {
+            includeSummaryFields(query);
+        }
+        return query;
+    }
+
+    /**
+     * Turns the result of {@link #keysetPageQuery(String, int, boolean)} into a page
+     */
+    static CredentialPage<VerifiableCredential> keysetPage(List<VerifiableCredential> credentials, int pageSize) {
+        boolean hasMore = credentials.size() > pageSize;
+        if (hasMore) {
+            credentials = credentials.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            VerifiableCredential last = credentials.get(credentials.size() - 1);
+            nextCursor = new PageCursor(last.getIssuanceDate(), last.getId()).encode();
+        }
+
+        return new CredentialPage<>(credentials, nextCursor, hasMore, pageSize);
+    }
+
+    static Criteria afterCursor(PageCursor cursor) {
+        return new Criteria().orOperator(
+            Criteria.where("issuanceDate").lt(cursor.getIssuanceDate()),
+            Criteria.where("issuanceDate").is(cursor.getIssuanceDate()).and("_id").lt(cursor.getId())
+        );
+    }
+
+    static int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,211 @@
+package com.w3c.credentials.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.VerifiableCredentialRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process cache for the hottest reads: credential by ID and holder DID to credential IDs.
+ * Caffeine's W-TinyLFU admission keeps frequently read wallets resident. Credentials are immutable
+ * after issuance, so local writes only need to invalidate; deletions and issuance on other instances
+ * are only seen once an entry expires, so the time to live is kept to seconds.
+ *
+ * Misses are loaded outside Caffeine's compute, which would otherwise hold a map lock (and pin a
+ * virtual thread's carrier) for the length of the query; concurrent misses for one key may each query.
+ */
+@Service
+public class CredentialReadCache {
+
+    @Autowired
+    private VerifiableCredentialRepository credentialRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+
+    private final Cache<String, VerifiableCredential> credentialsById;
+    private final Cache<String, List<String>> idsByHolder;
+    private final Cache<String, String> etagsById;
+
+    public CredentialReadCache(@Value("${credentials.read-cache.max-credentials:50000}") long maxCredentials,
+                               @Value("${credentials.read-cache.max-holders:20000}") long maxHolders,
+                               @Value("${credentials.read-cache.max-etags:500000}") long maxEtags,
+                               @Value("${credentials.read-cache.ttl:PT5S}") Duration timeToLive) {
+        this.credentialsById = Caffeine.newBuilder()
+            .maximumSize(maxCredentials)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.idsByHolder = Caffeine.newBuilder()
+            .maximumSize(maxHolders)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        // Entity tags are small and never change for an ID, so keep many more of them than bodies; they
+        // expire like the bodies so a credential deleted on another node is not revalidated for long
+        this.etagsById = Caffeine.newBuilder()
+            .maximumSize(maxEtags)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Finds a credential by ID; misses are not cached so a later issuance is visible immediately
+     */
+    public Optional<VerifiableCredential> findById(String id) {
+        VerifiableCredential cached = credentialsById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<VerifiableCredential> loaded = credentialRepository.findById(id).map(this::rememberEtag);
+        loaded.ifPresent(credential -> credentialsById.put(id, credential));
+        return loaded;
+    }
+
+    /**
+     * Gets the cached entity tag of a credential without loading it or querying the database. Like a
+     * cached body it may outlive a deletion on another instance by up to the time to live.
+     */
+    public Optional<String> findCachedEtag(String id) {
+        return Optional.ofNullable(etagsById.getIfPresent(id));
+    }
+
+    /**
+     * Gets the entity tag of a loaded credential, computing it for credentials stored without one
+     */
+    public String etagOf(VerifiableCredential credential) {
+        String etag = credential.getEtag();
+        return etag != null ? etag : etagsById.get(credential.getId(), id -> canonicalizer.etag(credential));
+    }
+
+    /**
+     * Finds a holder's credentials, newest first
+     */
+    public List<VerifiableCredential> findByHolder(String holderDID) {
+        List<String> ids = idsByHolder.getIfPresent(holderDID);
+        if (ids == null) {
+            ids = loadHolderIds(holderDID);
+            idsByHolder.put(holderDID, ids);
+        }
+        Map<String, VerifiableCredential> credentials = new HashMap<>(credentialsById.getAllPresent(ids));
+        if (credentials.size() < ids.size()) {
+            Map<String, VerifiableCredential> loaded = loadAll(ids.stream().filter(id -> !credentials.containsKey(id)).toList());
+            credentialsById.putAll(loaded);
+            credentials.putAll(loaded);
+        }
+
+        List<VerifiableCredential> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            VerifiableCredential credential = credentials.get(id);
+            if (credential != null) {
+                result.add(credential);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records a newly stored credential
+     */
+    public void credentialStored(VerifiableCredential credential) {
+        credentialsById.put(credential.getId(), rememberEtag(credential));
+        invalidateHolder(credential);
+    }
+
+    /**
+     * Records credentials stored in bulk without caching their bodies
+     */
+    public void credentialsStored(Collection<VerifiableCredential> credentials) {
+        for (VerifiableCredential credential : credentials) {
+            rememberEtag(credential);
+            invalidateHolder(credential);
+        }
+    }
+
+    /**
+     * Records a deleted credential
+     */
+    public void credentialDeleted(String id, VerifiableCredential deleted) {
+        credentialsById.invalidate(id);
+        etagsById.invalidate(id);
+        if (deleted != null) {
+            invalidateHolder(deleted);
+        }
+    }
+
+    /**
+     * Gets hit/miss statistics for both caches
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("credentials", describe(credentialsById));
+        snapshot.put("holders", describe(idsByHolder));
+        snapshot.put("etags", describe(etagsById));
+        return snapshot;
+    }
+
+    private VerifiableCredential rememberEtag(VerifiableCredential credential) {
+        if (credential.getEtag() != null) {
+            etagsById.put(credential.getId(), credential.getEtag());
+        }
+        return credential;
+    }
+
+    private void invalidateHolder(VerifiableCredential credential) {
+        CredentialSubject subject = credential.getCredentialSubject();
+        if (subject != null && subject.getId() != null) {
+            idsByHolder.invalidate(subject.getId());
+        }
+    }
+
+    private List<String> loadHolderIds(String holderDID) {
+        Query query = new Query(Criteria.where("credentialSubject.id").is(holderDID))
+            .with(Sort.by(Sort.Direction.DESC, "issuanceDate"));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, VerifiableCredential.class).stream()
+            .map(VerifiableCredential::getId)
+            .toList();
+    }
+
+    private Map<String, VerifiableCredential> loadAll(List<String> ids) {
+        Map<String, VerifiableCredential> loaded = new HashMap<>();
+        for (VerifiableCredential credential : credentialRepository.findAllById(ids)) {
+            loaded.put(credential.getId(), rememberEtag(credential));
+        }
+        return loaded;
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", cache.estimatedSize());
+        snapshot.put("hitCount", stats.hitCount());
+        snapshot.put("missCount", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictionCount", stats.evictionCount());
+        return snapshot;
+    }
+}
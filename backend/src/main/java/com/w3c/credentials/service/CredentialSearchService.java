@@ -0,0 +1,206 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.dto.PageCursor;
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class CredentialSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialSearchService.class);
+
+    static final String NORMALIZED_NAME_FIELD = "credentialSubject.normalizedName";
+    static final String NAME_TOKENS_FIELD = "credentialSubject.nameTokens";
+
+    // Separates the match tier from the keyset position in a search cursor
+    private static final char TIER_SEPARATOR = '.';
+
+    /**
+     * Match tiers, best first. The tiers are disjoint and each is an indexed query sorted newest
+     * first, so results are ranked by the database and every match is reachable page by page.
+     */
+    private enum Tier {
+        EXACT_NAME, NAME_PREFIX, EXACT_TOKENS, TOKEN_PREFIXES
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${credentials.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Fills in the normalized name and tokens used by the search index
+     */
+    public static void indexName(CredentialSubject subject) {
+        String normalizedName = NameNormalizer.normalize(subject.getName());
+        subject.setNormalizedName(normalizedName);
+        subject.setNameTokens(NameNormalizer.tokens(normalizedName));
+    }
+
+    /**
+     * Searches by student name. Every query token must be a prefix of a token of the name,
+     * so "ann smi" matches "Anna Smith". Exact names come first, then whole-name prefixes, then
+     * names containing every query token, then the other matches; newest first within each.
+     */
+    public CredentialPage<VerifiableCredential> searchByName(String name, String cursor, int limit) {
+        return rankedSearch(name, cursor, limit, false);
+    }
+
+    /**
+     * Same as {@link #searchByName(String, String, int)} but reads only the summary fields
+     */
+    public CredentialPage<CredentialSummary> searchSummariesByName(String name, String cursor, int limit) {
+        return rankedSearch(name, cursor, limit, true).map(CredentialSummary::from);
+    }
+
+    private CredentialPage<VerifiableCredential> rankedSearch(String name, String cursor, int limit, boolean summary) {
+        String normalizedQuery = NameNormalizer.normalize(name);
+        List<String> queryTokens = NameNormalizer.tokens(normalizedQuery);
+        if (queryTokens.isEmpty()) {
+            throw new IllegalArgumentException("Search term must contain letters or digits");
+        }
+        int pageSize = CredentialQueryService.clampPageSize(limit);
+
+        Tier startTier = Tier.EXACT_NAME;
+        PageCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.indexOf(TIER_SEPARATOR);
+            if (separator != 1 || cursor.charAt(0) < '0' || cursor.charAt(0) >= '0' + Tier.values().length) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            startTier = Tier.values()[cursor.charAt(0) - '0'];
+            position = PageCursor.decode(cursor.substring(separator + 1));
+        }
+
+        // Read one match past the page, possibly from a later tier, to tell whether another page follows
+        List<VerifiableCredential> matches = new ArrayList<>(pageSize + 1);
+        Tier lastTier = startTier;
+        for (Tier tier : Tier.values()) {
+            if (tier.ordinal() < startTier.ordinal() || matches.size() > pageSize) {
+                continue;
+            }
+            Criteria criteria = tierCriteria(tier, normalizedQuery, queryTokens);
+            if (tier == startTier && position != null) {
+                criteria = new Criteria().andOperator(criteria, CredentialQueryService.afterCursor(position));
+            }
+            Query query = new Query(criteria)
+                .with(CredentialQueryService.KEYSET_SORT)
+                .limit(pageSize + 1 - matches.size());
+            if (summary) {
+                CredentialQueryService.includeSummaryFields(query);
+            }
+            List<VerifiableCredential> found = mongoTemplate.find(query, VerifiableCredential.class);
+            if (!found.isEmpty() && matches.size() < pageSize) {
+                lastTier = tier;
+            }
+            matches.addAll(found);
+        }
+
+        boolean hasMore = matches.size() > pageSize;
+        List<VerifiableCredential> page = hasMore ? new ArrayList<>(matches.subList(0, pageSize)) : matches;
+        String nextCursor = null;
+        if (hasMore) {
+            VerifiableCredential last = page.get(page.size() - 1);
+            nextCursor = lastTier.ordinal() + String.valueOf(TIER_SEPARATOR)
+                + new PageCursor(last.getIssuanceDate(), last.getId()).encode();
+        }
+        return new CredentialPage<>(page, nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * The filter of one tier. Tokens hold only letters and digits, so they are safe in anchored
+     * regexes, which the normalizedName and nameTokens indexes answer as range scans.
+     */
+    private static Criteria tierCriteria(Tier tier, String normalizedQuery, List<String> queryTokens) {
+        String namePrefix = "^" + normalizedQuery;
+        return switch (tier) {
+            case EXACT_NAME -> Criteria.where(NORMALIZED_NAME_FIELD).is(normalizedQuery);
+            case NAME_PREFIX -> new Criteria().andOperator(
+                Criteria.where(NORMALIZED_NAME_FIELD).regex(namePrefix),
+                Criteria.where(NORMALIZED_NAME_FIELD).ne(normalizedQuery));
+            case EXACT_TOKENS -> new Criteria().andOperator(
+                Criteria.where(NAME_TOKENS_FIELD).all(queryTokens),
+                Criteria.where(NORMALIZED_NAME_FIELD).not().regex(namePrefix));
+            case TOKEN_PREFIXES -> {
+                List<Criteria> criteria = new ArrayList<>(queryTokens.size() + 2);
+                for (String token : queryTokens) {
+                    criteria.add(Criteria.where(NAME_TOKENS_FIELD).regex("^" + token));
+                }
+                criteria.add(Criteria.where(NAME_TOKENS_FIELD).not().all(queryTokens));
+                criteria.add(Criteria.where(NORMALIZED_NAME_FIELD).not().regex(namePrefix));
+                yield new Criteria().andOperator(criteria);
+            }
+        };
+    }
+
+    /**
+     * Backfills search fields on credentials stored before the search index existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchFields() {
+        Query missing = new Query(Criteria.where(NORMALIZED_NAME_FIELD).exists(false));
+        missing.fields().include("credentialSubject.name");
+        String collection = mongoTemplate.getCollectionName(VerifiableCredential.class);
+
+        int updated = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(missing, Document.class, collection)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                Document document = iterator.next();
+                Document subject = document.get("credentialSubject", Document.class);
+                String normalizedName = NameNormalizer.normalize(subject != null ? subject.getString("name") : null);
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+                }
+                bulk.updateOne(
+                    Query.query(Criteria.where("_id").is(document.get("_id"))),
+                    new Update()
+                        .set(NORMALIZED_NAME_FIELD, normalizedName)
+                        .set(NAME_TOKENS_FIELD, NameNormalizer.tokens(normalizedName)));
+                if (++pending >= Math.max(1, chunkSize)) {
+                    bulk.execute();
+                    updated += pending;
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                bulk.execute();
+                updated += pending;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to backfill name search fields: {}", e.getMessage());
+            return;
+        }
+
+        if (updated > 0) {
+            logger.info("Backfilled name search fields on {} credentials", updated);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.model.CredentialStatus;
+
+/**
+ * Assigns status list entries at issuance and answers revocation checks during verification
+ */
+public interface CredentialStatusRegistry {
+    
+    /**
+     * Reserves the status entry for a credential about to be issued
+     */
+    CredentialStatus allocate();
+    
+    /**
+     * Gets whether the entry's bit is set; answered from memory, never with a per-check database read.
+     * A list published elsewhere is only fetched from a host the issuer is trusted to publish on.
+     */
+    boolean isRevoked(CredentialStatus status, String issuerDID);
+}
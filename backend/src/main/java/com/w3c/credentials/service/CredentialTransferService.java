@@ -0,0 +1,555 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.result.UpdateResult;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.model.SelectiveDisclosure;
+import com.w3c.credentials.model.StatusList;
+import com.w3c.credentials.model.VerifiableCredential;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Offline export and import of the credential collection as NDJSON, one credential per line in
+ * the JSON shape the API serves plus the selective disclosure data it withholds; files ending in .gz
+ * are gzip-compressed. The status lists the credentials point into travel in a file of their own:
+ * imported lists are merged into stored ones bit by bit, and a credential whose list is not stored
+ * is rejected rather than left failing its revocation check.
+ *
+ * Export streams a cursor in ID order, so memory stays flat however large the collection is.
+ * Import reads the file in chunks and loads them on a worker pool with unordered bulk inserts.
+ * Lines that fail to parse, fail Bean Validation or are rejected by the database go to a rejects
+ * file with the reason. After every chunk the number of lines fully handled is saved to a
+ * checkpoint along with the length of the rejects file, and a restarted import skips those lines
+ * and cuts off rejects written after the checkpoint; credentials already stored count as duplicates.
+ */
+@Service
+public class CredentialTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialTransferService.class);
+
+    private static final long PROGRESS_EVERY = 100_000;
+
+    private static final int MAX_MERGE_ATTEMPTS = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+
+    @Value("${credentials.transfer.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${credentials.transfer.workers:0}")
+    private int workers;
+
+    @Value("${credentials.status-list.base-url:http://localhost:8001}")
+    private String statusListBaseUrl;
+
+    // Local status lists known to be stored during an import, so each chunk only queries the ones it has not seen
+    private final Set<String> storedStatusLists = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Outcome of an import, counted over every run that contributed to it
+     */
+    public record ImportSummary(long lines, long imported, long duplicates, long rejected) {}
+
+    /**
+     * Lines fully handled by earlier runs of an import and the length of the rejects file they
+     * produced, saved after each chunk
+     */
+    record Checkpoint(String input, long lines, long imported, long duplicates, long rejected, long rejectsBytes) {}
+
+    /**
+     * A run of consecutive lines loaded by one worker; lines are numbered from 1
+     */
+    private record Chunk(long sequence, long firstLine, List<String> lines) {}
+
+    /**
+     * Writes the selective disclosure data the API withholds, so imported credentials can still be presented
+     */
+    private abstract static class ExportedCredential {
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        private SelectiveDisclosure selectiveDisclosure;
+    }
+
+    private record ChunkResult(long sequence, long lastLine, long imported, long duplicates, List<String> rejects) {}
+
+    /**
+     * Writes every stored credential to the file, replacing it only once the export is complete.
+     * Returns the number of credentials written.
+     */
+    public long exportCredentials(Path output) throws IOException {
+        Path partial = output.resolveSibling(output.getFileName() + ".partial");
+        long exported = 0;
+        ObjectWriter credentialWriter = objectMapper.copy()
+            .addMixIn(VerifiableCredential.class, ExportedCredential.class)
+            .writer();
+        try (Writer writer = openOutput(partial, isGzip(output));
+             MongoCursor<Document> cursor = credentials().find().sort(Sorts.ascending("_id")).batchSize(chunkSize).iterator()) {
+            while (cursor.hasNext()) {
+                VerifiableCredential credential = mongoTemplate.getConverter().read(VerifiableCredential.class, cursor.next());
+                writer.write(credentialWriter.writeValueAsString(credential));
+                writer.write('\n');
+                if (++exported % PROGRESS_EVERY == 0) {
+                    logger.info("Exported {} credentials", exported);
+                }
+            }
+        }
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return exported;
+    }
+
+    /**
+     * Writes every stored status list to the file, replacing it only once the export is complete.
+     * Returns the number of lists written.
+     */
+    public long exportStatusLists(Path output) throws IOException {
+        Path partial = output.resolveSibling(output.getFileName() + ".partial");
+        long exported = 0;
+        try (Writer writer = openOutput(partial, isGzip(output))) {
+            for (StatusList list : mongoTemplate.find(new Query().with(Sort.by("_id")), StatusList.class)) {
+                writer.write(objectMapper.writeValueAsString(list));
+                writer.write('\n');
+                exported++;
+            }
+        }
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return exported;
+    }
+
+    /**
+     * Loads the status lists in the file. A list that is already stored keeps every bit set on
+     * either side and the higher allocation counter, so importing twice changes nothing.
+     * Returns the number of lists read.
+     */
+    public long importStatusLists(Path input) throws IOException {
+        long lists = 0;
+        try (BufferedReader reader = openInput(input)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    mergeStatusList(objectMapper.readValue(line, StatusList.class));
+                    lists++;
+                }
+            }
+        }
+        return lists;
+    }
+
+    private void mergeStatusList(StatusList imported) {
+        for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS; attempt++) {
+            StatusList stored = mongoTemplate.findById(imported.getId(), StatusList.class);
+            if (stored == null) {
+                try {
+                    mongoTemplate.insert(imported);
+                    storedStatusLists.add(imported.getId());
+                    return;
+                } catch (DuplicateKeyException e) {
+                    // Created meanwhile by a running instance; merge into it
+                    continue;
+                }
+            }
+            BitSet bits = StatusListCodec.decode(stored.getEncodedList());
+            BitSet merged = (BitSet) bits.clone();
+            merged.or(StatusListCodec.decode(imported.getEncodedList()));
+            if (merged.equals(bits) && stored.getNextIndex() >= imported.getNextIndex()) {
+                storedStatusLists.add(stored.getId());
+                return;
+            }
+            // Bumping the version makes running instances reload the list on their next refresh
+            UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(stored.getId()).and("version").is(stored.getVersion())),
+                new Update()
+                    .set("encodedList", StatusListCodec.encode(merged, stored.getSize()))
+                    .max("nextIndex", imported.getNextIndex())
+                    .set("updatedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                    .inc("version", 1),
+                StatusList.class);
+            if (result.getModifiedCount() == 1) {
+                storedStatusLists.add(stored.getId());
+                return;
+            }
+        }
+        throw new IllegalStateException("Status list " + imported.getId() + " kept changing during import");
+    }
+
+    /**
+     * Loads the credentials in the file, resuming after the lines recorded in the checkpoint.
+     * The checkpoint is deleted once the whole file has been handled.
+     */
+    public ImportSummary importCredentials(Path input, Path rejects, Path checkpointFile) throws IOException, InterruptedException {
+        Checkpoint checkpoint = readCheckpoint(checkpointFile, input);
+        if (checkpoint.lines() > 0) {
+            logger.info("Resuming import of {} after line {}", input, checkpoint.lines());
+        }
+        storedStatusLists.clear();
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, namedThreads("credential-import-"));
+        // Bounds the chunks read ahead of the workers, and with them the lines held in memory
+        Semaphore inFlight = new Semaphore(threads * 2);
+
+        try (BufferedReader reader = openInput(input);
+             FileChannel rejectChannel = FileChannel.open(rejects, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             Writer rejectWriter = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(rejectChannel), StandardCharsets.UTF_8))) {
+            // Rejects written after the last checkpoint belong to chunks this run loads again
+            rejectChannel.truncate(checkpoint.rejectsBytes());
+            rejectChannel.position(checkpoint.rejectsBytes());
+            Progress progress = new Progress(checkpoint, checkpointFile, rejectChannel, rejectWriter);
+
+            long lineNumber = 0;
+            while (lineNumber < checkpoint.lines() && reader.readLine() != null) {
+                lineNumber++;
+            }
+
+            long sequence = 0;
+            List<String> lines = new ArrayList<>(chunkSize);
+            String line;
+            while (!progress.failed() && (line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    submit(pool, inFlight, progress, new Chunk(sequence++, lineNumber + 1, lines));
+                    lineNumber += lines.size();
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty() && !progress.failed()) {
+                submit(pool, inFlight, progress, new Chunk(sequence, lineNumber + 1, lines));
+            }
+
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (progress.failure != null) {
+                throw new IllegalStateException("Import stopped at line " + progress.checkpoint.lines()
+                    + "; rerun to resume: " + progress.failure.getMessage(), progress.failure);
+            }
+
+            Checkpoint done = progress.checkpoint;
+            Files.deleteIfExists(checkpointFile);
+            return new ImportSummary(done.lines(), done.imported(), done.duplicates(), done.rejected());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, Progress progress, Chunk chunk) throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                progress.completed(load(chunk));
+            } catch (RuntimeException | IOException e) {
+                progress.fail(e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Parses and validates a chunk, then inserts the valid credentials in one unordered bulk write
+     */
+    private ChunkResult load(Chunk chunk) {
+        List<Document> documents = new ArrayList<>(chunk.lines().size());
+        List<Long> documentLines = new ArrayList<>(chunk.lines().size());
+        List<String> rejects = new ArrayList<>();
+
+        for (int i = 0; i < chunk.lines().size(); i++) {
+            String line = chunk.lines().get(i);
+            long lineNumber = chunk.firstLine() + i;
+            if (line.isBlank()) {
+                continue;
+            }
+            VerifiableCredential credential;
+            try {
+                credential = objectMapper.readValue(line, VerifiableCredential.class);
+            } catch (JsonProcessingException e) {
+                rejects.add(reject(lineNumber, List.of("Unreadable credential: " + e.getOriginalMessage()), line));
+                continue;
+            }
+            Set<ConstraintViolation<VerifiableCredential>> violations = validator.validate(credential);
+            if (!violations.isEmpty()) {
+                rejects.add(reject(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList(), line));
+                continue;
+            }
+
+            // The search fields, issuance key and ETag are not part of the credential JSON, so derive them as issuance does
+            CredentialSearchService.indexName(credential.getCredentialSubject());
+            if (credential.getCredentialSubject().getDegree() != null) {
+                credential.setIssuanceKey(CredentialIssuerService.issuanceKey(
+                    credential.getIssuer().getId(),
+                    credential.getCredentialSubject().getId(),
+                    credential.getCredentialSubject().getDegree()));
+            }
+            credential.setEtag(canonicalizer.etag(credential));
+            Document document = new Document();
+            mongoTemplate.getConverter().write(credential, document);
+            documents.add(document);
+            documentLines.add(lineNumber);
+        }
+
+        rejectMissingStatusLists(documents, documentLines, chunk, rejects);
+
+        long duplicates = 0;
+        Map<Integer, String> rejected = new HashMap<>();
+        if (!documents.isEmpty()) {
+            try {
+                credentials().insertMany(documents, new InsertManyOptions().ordered(false));
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteConcernError() != null) {
+                    throw e;
+                }
+                // A duplicate ID is a credential stored by an earlier, interrupted run; a duplicate
+                // issuance key is a different credential for a degree that is already stored
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    if (IdempotentIssuanceService.isDuplicateId(error)) {
+                        duplicates++;
+                    } else {
+                        rejected.put(error.getIndex(), error.getMessage());
+                    }
+                }
+            }
+        }
+        rejected.forEach((index, error) -> {
+            long lineNumber = documentLines.get(index);
+            String line = chunk.lines().get((int) (lineNumber - chunk.firstLine()));
+            rejects.add(reject(lineNumber, List.of("Rejected by the database: " + error), line));
+        });
+
+        long imported = documents.size() - duplicates - rejected.size();
+        return new ChunkResult(chunk.sequence(), chunk.firstLine() + chunk.lines().size() - 1, imported, duplicates, rejects);
+    }
+
+    /**
+     * Drops the credentials whose status entry points into a local list that is not stored
+     */
+    private void rejectMissingStatusLists(List<Document> documents, List<Long> documentLines, Chunk chunk, List<String> rejects) {
+        Map<Integer, String> listIds = new HashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            Document status = documents.get(i).get("credentialStatus", Document.class);
+            String url = status != null ? status.getString("statusListCredential") : null;
+            int index = i;
+            StatusListService.localListId(statusListBaseUrl, url)
+                .filter(listId -> !storedStatusLists.contains(listId))
+                .ifPresent(listId -> listIds.put(index, listId));
+        }
+        if (listIds.isEmpty()) {
+            return;
+        }
+
+        Query query = new Query(Criteria.where("_id").in(new HashSet<>(listIds.values())));
+        query.fields().include("_id");
+        mongoTemplate.find(query, StatusList.class).forEach(list -> storedStatusLists.add(list.getId()));
+
+        for (int i = documents.size() - 1; i >= 0; i--) {
+            String listId = listIds.get(i);
+            if (listId != null && !storedStatusLists.contains(listId)) {
+                long lineNumber = documentLines.get(i);
+                String line = chunk.lines().get((int) (lineNumber - chunk.firstLine()));
+                rejects.add(reject(lineNumber, List.of("Status list " + listId + " is not stored; import the status lists first"), line));
+                documents.remove(i);
+                documentLines.remove(i);
+            }
+        }
+    }
+
+    private String reject(long lineNumber, List<String> errors, String line) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("line", lineNumber);
+        entry.put("errors", errors);
+        entry.put("record", line);
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode reject for line " + lineNumber, e);
+        }
+    }
+
+    /**
+     * Applies chunk results in file order, so the checkpoint and the rejects file only ever cover
+     * a prefix of the input even though workers finish chunks out of order
+     */
+    private final class Progress {
+
+        private final Path checkpointFile;
+        private final FileChannel rejectChannel;
+        private final Writer rejectWriter;
+        private final TreeMap<Long, ChunkResult> finished = new TreeMap<>();
+
+        private volatile Checkpoint checkpoint;
+        private volatile Exception failure;
+        private long nextSequence;
+
+        Progress(Checkpoint checkpoint, Path checkpointFile, FileChannel rejectChannel, Writer rejectWriter) {
+            this.checkpoint = checkpoint;
+            this.checkpointFile = checkpointFile;
+            this.rejectChannel = rejectChannel;
+            this.rejectWriter = rejectWriter;
+        }
+
+        synchronized void completed(ChunkResult result) throws IOException {
+            finished.put(result.sequence(), result);
+            Checkpoint advanced = checkpoint;
+            ChunkResult next;
+            while ((next = finished.remove(nextSequence)) != null) {
+                for (String reject : next.rejects()) {
+                    rejectWriter.write(reject);
+                    rejectWriter.write('\n');
+                }
+                advanced = new Checkpoint(advanced.input(), next.lastLine(),
+                    advanced.imported() + next.imported(),
+                    advanced.duplicates() + next.duplicates(),
+                    advanced.rejected() + next.rejects().size(),
+                    advanced.rejectsBytes());
+                nextSequence++;
+            }
+            if (advanced != checkpoint) {
+                // Rejects reach the disk before the checkpoint that moves past them
+                rejectWriter.flush();
+                advanced = new Checkpoint(advanced.input(), advanced.lines(), advanced.imported(),
+                    advanced.duplicates(), advanced.rejected(), rejectChannel.position());
+                writeCheckpoint(checkpointFile, advanced);
+                if (advanced.lines() / PROGRESS_EVERY > checkpoint.lines() / PROGRESS_EVERY) {
+                    logger.info("Imported up to line {} ({} credentials, {} duplicates, {} rejected)",
+                        advanced.lines(), advanced.imported(), advanced.duplicates(), advanced.rejected());
+                }
+                checkpoint = advanced;
+            }
+        }
+
+        synchronized void fail(Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        boolean failed() {
+            return failure != null;
+        }
+    }
+
+    private Checkpoint readCheckpoint(Path checkpointFile, Path input) throws IOException {
+        String source = input.toAbsolutePath().normalize().toString();
+        if (!Files.exists(checkpointFile)) {
+            return new Checkpoint(source, 0, 0, 0, 0, 0);
+        }
+        Checkpoint checkpoint = objectMapper.readValue(checkpointFile.toFile(), Checkpoint.class);
+        if (!source.equals(checkpoint.input())) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " belongs to " + checkpoint.input());
+        }
+        return checkpoint;
+    }
+
+    private void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) throws IOException {
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.write(temporary, objectMapper.writeValueAsBytes(checkpoint));
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private MongoCollection<Document> credentials() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(VerifiableCredential.class));
+    }
+
+    private static boolean isGzip(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+
+    private static Writer openOutput(Path file, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (gzip) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * Opens the file, decompressing it when it starts with the gzip magic bytes
+     */
+    private static BufferedReader openInput(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        if (gzip) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
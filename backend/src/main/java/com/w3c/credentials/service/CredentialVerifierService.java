@@ -1,108 +1,165 @@
 package com.w3c.credentials.service;
 
-import com.w3c.credentials.dto.IssuerObject;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.ProofVerifier;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningPayload;
 import com.w3c.credentials.dto.VerificationResult;
 import com.w3c.credentials.model.Proof;
 import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CredentialVerifierService {
     
-    private static final List<String> TRUSTED_ISSUERS = Arrays.asList(
-        "did:example:university:stanford",
-        "did:example:university:mit", 
-        "did:example:university:harvard"
-    );
+    private final Map<String, ProofVerifier> proofVerifiers;
+    
+    @Autowired
+    private CredentialCanonicalizer canonicalizer;
+    
+    @Autowired
+    private SignatureVerificationCache verificationCache;
+    
+    @Autowired
+    private CredentialMetrics metrics;
+    
+    @Autowired
+    private TrustRegistry trustRegistry;
+    
+    @Autowired
+    private CredentialStatusRegistry statusRegistry;
+    
+    @Autowired
+    private CoarseClock clock;
+    
+    @Autowired
+    public CredentialVerifierService(List<ProofVerifier> proofVerifiers) {
+        this.proofVerifiers = proofVerifiers.stream()
+            .collect(Collectors.toUnmodifiableMap(ProofVerifier::getProofType, Function.identity()));
+    }
     
     /**
      * Verifies a verifiable credential
      */
     public VerificationResult verifyCredential(VerifiableCredential credential) {
+        return verifyCredential(credential, Proof.PURPOSE_ASSERTION);
+    }
+    
+    /**
+     * Verifies a credential whose proof must have been made for the given purpose
+     */
+    VerificationResult verifyCredential(VerifiableCredential credential, String proofPurpose) {
+        long start = System.nanoTime();
+        LocalDateTime now = clock.now();
+        
         // Extract issuer DID
-        String issuerDID = extractIssuerDID(credential.getIssuer());
+        String issuerDID = credential.getIssuer() != null ? credential.getIssuer().getId() : null;
         
         // Perform verification checks
-        boolean hasValidIssuer = validateIssuer(issuerDID);
-        boolean hasValidProof = validateProof(credential.getProof());
-        boolean isNotExpired = checkExpiration(credential);
+        boolean hasValidIssuer = validateIssuer(issuerDID, now);
+        boolean hasValidProof = validateProof(credential, issuerDID, proofPurpose);
+        boolean isNotExpired = checkExpiration(credential, now);
+        // The status list URL comes from the credential, so it is only followed once the credential is known genuine
+        boolean isNotRevoked = !(hasValidIssuer && hasValidProof) || checkRevocation(credential, issuerDID);
         
         // Overall validation result
-        boolean isValid = hasValidIssuer && hasValidProof && isNotExpired;
+        boolean isValid = hasValidIssuer && hasValidProof && isNotExpired && isNotRevoked;
         
         // Generate verification message
-        String message = generateVerificationMessage(isValid, hasValidIssuer, hasValidProof, isNotExpired);
+        String message = generateVerificationMessage(isValid, hasValidIssuer, hasValidProof, isNotExpired, isNotRevoked);
         
         // Create verification details
         VerificationResult.VerificationDetails details = new VerificationResult.VerificationDetails(
-            hasValidIssuer, hasValidProof, isNotExpired
+            hasValidIssuer, hasValidProof, isNotExpired, isNotRevoked
         );
+        metrics.recordVerification(start, details);
         
         return new VerificationResult(isValid, message, details);
     }
     
-    /**
-     * Extracts issuer DID from issuer object or string
-     */
-    private String extractIssuerDID(Object issuer) {
-        if (issuer instanceof String) {
-            return (String) issuer;
-        } else if (issuer instanceof IssuerObject) {
-            return ((IssuerObject) issuer).getId();
-        } else {
-            // Handle generic object (from MongoDB deserialization)
-            try {
-                @SuppressWarnings("unchecked")
-                var issuerMap = (java.util.Map<String, Object>) issuer;
-                return (String) issuerMap.get("id");
-            } catch (Exception e) {
-                return issuer.toString();
-            }
-        }
-    }
-    
     /**
      * Validates if the issuer is trusted
      */
-    private boolean validateIssuer(String issuerDID) {
-        return TRUSTED_ISSUERS.contains(issuerDID);
+    private boolean validateIssuer(String issuerDID, LocalDateTime now) {
+        return trustRegistry.isTrusted(issuerDID, now);
     }
     
     /**
-     * Validates the proof structure and content
+     * Validates the proof structure and its signature
      */
-    private boolean validateProof(Proof proof) {
+    private boolean validateProof(VerifiableCredential credential, String issuerDID, String proofPurpose) {
+        Proof proof = credential.getProof();
         if (proof == null) {
             return false;
         }
         
         // Check if required fields are present
-        return proof.getType() != null && 
-               proof.getCreated() != null && 
-               proof.getProofPurpose() != null && 
-               proof.getVerificationMethod() != null;
+        boolean isComplete = proof.getType() != null && 
+                             proof.getCreated() != null && 
+                             proof.getProofPurpose() != null && 
+                             proof.getVerificationMethod() != null;
+        if (!isComplete) {
+            return false;
+        }
+        
+        // A proof made for another purpose, such as a selective disclosure presentation, does not vouch for this one
+        if (!proof.getProofPurpose().equals(proofPurpose)) {
+            return false;
+        }
+        
+        // The signing key must belong to the issuer the credential names
+        long keyGeneration = trustRegistry.getKeyGeneration();
+        TrustRegistry.ResolvedKey key = trustRegistry.findKey(proof.getVerificationMethod());
+        if (key == null || !key.issuerDID().equals(issuerDID)) {
+            return false;
+        }
+        
+        // Check the signature with the suite registered for this proof type
+        ProofVerifier verifier = proofVerifiers.get(proof.getType());
+        if (verifier == null) {
+            return false;
+        }
+        
+        // Stored credentials are immutable, so the signature outcome for identical content can be reused
+        SigningPayload payload = canonicalizer.signingPayload(credential, proof);
+        String digest = canonicalizer.contentDigest(payload, proof);
+        return verificationCache.verify(keyGeneration, digest, () -> verifier.verify(proof, payload));
     }
     
     /**
      * Checks if the credential has expired
-     * For this demo, credentials are always valid (no expiration logic)
      */
-    private boolean checkExpiration(VerifiableCredential credential) {
+    private boolean checkExpiration(VerifiableCredential credential, LocalDateTime now) {
         if (credential.getExpirationDate() == null) {
             return true; // No expiration date means it doesn't expire
         }
-        return credential.getExpirationDate().isAfter(LocalDateTime.now());
+        return credential.getExpirationDate().isAfter(now);
+    }
+    
+    /**
+     * Checks the credential's status list entry; a list that cannot be read counts as revoked
+     */
+    private boolean checkRevocation(VerifiableCredential credential, String issuerDID) {
+        try {
+            return !statusRegistry.isRevoked(credential.getCredentialStatus(), issuerDID);
+        } catch (RuntimeException e) {
+            return false;
+        }
     }
     
     /**
      * Generates a human-readable verification message
      */
     private String generateVerificationMessage(boolean isValid, boolean hasValidIssuer, 
-                                             boolean hasValidProof, boolean isNotExpired) {
+                                             boolean hasValidProof, boolean isNotExpired,
+                                             boolean isNotRevoked) {
         if (isValid) {
             return "✅ Credential verification successful! This is a valid credential.";
         } else {
@@ -123,6 +180,12 @@ public class CredentialVerifierService {
             if (!isNotExpired) {
                 if (!first) message.append(", ");
                 message.append("credential expired");
+                first = false;
+            }
+            
+            if (!isNotRevoked) {
+                if (!first) message.append(", ");
+                message.append("credential revoked");
             }
             
             return message.toString();
@@ -133,6 +196,6 @@ public class CredentialVerifierService {
      * Gets the list of trusted issuers
      */
     public List<String> getTrustedIssuers() {
-        return TRUSTED_ISSUERS;
+        return trustRegistry.getIssuerDIDs();
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.w3c.credentials.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pings MongoDB in the background and keeps the latest outcome in memory, so health probes
+ * are answered without a database round trip. A result older than the stale-after window is
+ * reported as down: a ping that hangs is as bad as one that fails. Pings run on their own thread
+ * rather than Spring's shared scheduler, so a long expiry sweep or registry reload cannot make
+ * the result go stale.
+ */
+@Service("databaseHealthIndicator")
+public class DatabaseHealthMonitor implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseHealthMonitor.class);
+
+    private static final Document PING = new Document("ping", 1);
+
+    /**
+     * Outcome of database checks
+     */
+    public enum Status { STARTING, CONNECTED, DEGRADED, DISCONNECTED, STALE }
+
+    /**
+     * Result of the most recent ping
+     */
+    public record Snapshot(Status status, Instant checkedAt, long latencyMillis, String error) {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoPoolMonitor poolMonitor;
+
+    @Value("${credentials.health.interval:PT5S}")
+    private Duration interval;
+
+    @Value("${credentials.health.stale-after:PT15S}")
+    private Duration staleAfter;
+
+    @Value("${credentials.health.slow-ping:PT0.5S}")
+    private Duration slowPing;
+
+    @Value("${credentials.health.pool-saturation-threshold:0.9}")
+    private double poolSaturationThreshold;
+
+    private volatile Snapshot latest = new Snapshot(Status.STARTING, Instant.now(), 0, null);
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Starts the background pings
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "database-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background pings
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Pings the database; runs on the monitor's own thread so probes never wait for it
+     */
+    public void check() {
+        long start = System.nanoTime();
+        try {
+            mongoTemplate.executeCommand(PING);
+            long latency = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            Status status = latency > slowPing.toMillis() ? Status.DEGRADED : Status.CONNECTED;
+            latest = new Snapshot(status, Instant.now(), latency, null);
+        } catch (Exception e) {
+            long latency = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            if (latest.status() != Status.DISCONNECTED) {
+                log.warn("MongoDB ping failed: {}", e.getMessage());
+            }
+            latest = new Snapshot(Status.DISCONNECTED, Instant.now(), latency, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the latest database status, accounting for staleness and pool saturation
+     */
+    public Status getStatus() {
+        Snapshot snapshot = latest;
+        if (snapshot.status() == Status.STARTING || snapshot.status() == Status.DISCONNECTED) {
+            return snapshot.status();
+        }
+        if (snapshot.checkedAt().plus(staleAfter).isBefore(Instant.now())) {
+            return Status.STALE;
+        }
+        if (poolMonitor.getSaturation() >= poolSaturationThreshold && poolMonitor.hasWaiters()) {
+            return Status.DEGRADED;
+        }
+        return snapshot.status();
+    }
+
+    /**
+     * Gets whether the application can serve requests; a degraded database still serves them
+     */
+    public boolean isAvailable() {
+        Status status = getStatus();
+        return status == Status.CONNECTED || status == Status.DEGRADED;
+    }
+
+    /**
+     * Gets the latest check result and pool usage for health responses
+     */
+    public Map<String, Object> getDetails() {
+        Snapshot snapshot = latest;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("type", "MongoDB");
+        details.put("status", getStatus().name().toLowerCase());
+        details.put("checkedAt", snapshot.checkedAt());
+        details.put("ageMillis", Duration.between(snapshot.checkedAt(), Instant.now()).toMillis());
+        details.put("pingMillis", snapshot.latencyMillis());
+        if (snapshot.error() != null) {
+            details.put("error", snapshot.error());
+        }
+        details.put("pool", poolMonitor.getStats());
+        return details;
+    }
+
+    @Override
+    public Health health() {
+        return (isAvailable() ? Health.up() : Health.down()).withDetails(getDetails()).build();
+    }
+}
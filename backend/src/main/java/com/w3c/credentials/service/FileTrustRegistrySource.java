@@ -0,0 +1,101 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.w3c.credentials.model.TrustedIssuer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reads trusted issuers from a JSON array. A file on disk is watched and reloaded when it
+ * changes (including editors that replace it); a classpath resource is read once.
+ */
+@Component
+@ConditionalOnProperty(name = "credentials.trust-registry.source", havingValue = "file", matchIfMissing = true)
+public class FileTrustRegistrySource implements TrustRegistrySource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FileTrustRegistrySource.class);
+    
+    private static final Duration SETTLE_DELAY = Duration.ofMillis(250);
+    
+    private static final TypeReference<List<TrustedIssuer>> ISSUER_LIST = new TypeReference<>() {};
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${credentials.trust-registry.file:classpath:trust-registry.json}")
+    private Resource resource;
+    
+    @Override
+    public String getDescription() {
+        return resource.getDescription();
+    }
+    
+    @Override
+    public List<TrustedIssuer> load() throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, ISSUER_LIST);
+        }
+    }
+    
+    @Override
+    public void watch(Runnable onChange) {
+        if (!resource.isFile()) {
+            return;
+        }
+        Path file;
+        WatchService watchService;
+        try {
+            file = resource.getFile().toPath().toAbsolutePath();
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.warn("Unable to watch {}; relying on periodic refresh: {}", resource.getDescription(), e.getMessage());
+            return;
+        }
+        
+        Thread watcher = new Thread(() -> watchLoop(watchService, file, onChange), "trust-registry-file-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+    
+    private void watchLoop(WatchService watchService, Path file, Runnable onChange) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= file.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    // A save usually arrives as several events (truncate, write); wait for it to settle
+                    Thread.sleep(SETTLE_DELAY.toMillis());
+                    for (WatchKey pending = watchService.poll(); pending != null; pending = watchService.poll()) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.w3c.credentials.service;
+
+/**
+ * Thrown when an Idempotency-Key is reused for a request that would issue a different credential
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,195 @@
+package com.w3c.credentials.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.WriteError;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.VerifiableCredentialRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes single-credential issuance safe to retry. A degree is identified by its natural key
+ * (issuer, holder DID, degree title), which is stored on the credential under a unique index.
+ *
+ * The first request for a key signs and stores the credential; requests for the same key that
+ * arrive meanwhile wait for it instead of signing their own, and later ones are answered from a
+ * short-lived in-memory map and then from the index, without signing or writing again. An
+ * Idempotency-Key header is bound to the natural key of the request that first used it, and
+ * reusing it for a different degree is refused. Deleting or archiving a credential forgets it,
+ * so its degree can be issued again.
+ *
+ * With asynchronous issuance the index is not read before acknowledging, so a retry arriving after
+ * the in-memory entry expired, or on another instance, is accepted again; the write-behind pipeline
+ * reports that credential as superseded when it is stored, and later retries get the stored one.
+ */
+@Service
+public class IdempotentIssuanceService {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final String ID_INDEX = "_id_";
+    private static final String ISSUANCE_KEY_INDEX = "issuanceKey";
+
+    @Autowired
+    private CredentialIssuerService issuerService;
+
+    @Autowired
+    private AsyncIssuanceService asyncIssuanceService;
+
+    @Autowired
+    private VerifiableCredentialRepository credentialRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    private CredentialMetrics metrics;
+
+    private final Cache<String, CompletableFuture<VerifiableCredential>> issued;
+    private final Cache<String, String> idempotencyKeys;
+    private final Duration waitTimeout;
+
+    public IdempotentIssuanceService(
+            @Value("${credentials.issuance.dedup.ttl:PT10M}") Duration ttl,
+            @Value("${credentials.issuance.dedup.max-size:100000}") long maxSize,
+            @Value("${credentials.issuance.dedup.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.issued = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.idempotencyKeys = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @PostConstruct
+    public void followSupersededCredentials() {
+        // Retries of a degree whose accepted credential lost to another instance get the stored one
+        asyncIssuanceService.onSuperseded((credential, winner) -> issued.asMap().computeIfPresent(
+            credential.getIssuanceKey(), (key, future) -> isFor(future, credential) ? CompletableFuture.completedFuture(winner) : future));
+    }
+
+    /**
+     * The credential answering an issuance request, and whether it was issued by an earlier request
+     */
+    public record Issuance(VerifiableCredential credential, boolean replayed) {}
+
+    /**
+     * Issues the degree unless it was issued already, in which case the original credential is returned.
+     * Stores it directly, or through the write-behind pipeline when asynchronous issuance is enabled.
+     * Throws IdempotencyConflictException if the idempotency key was used for a different degree, and
+     * RejectedExecutionException if a concurrent request for the same degree does not finish within wait-timeout.
+     */
+    public Issuance issue(IssueCredentialRequest request, String idempotencyKey) throws InterruptedException {
+        String issuanceKey = issuerService.issuanceKey(request);
+        if (idempotencyKey != null) {
+            String bound = idempotencyKeys.asMap().putIfAbsent(idempotencyKey, issuanceKey);
+            if (bound != null && !bound.equals(issuanceKey)) {
+                throw new IdempotencyConflictException("Idempotency-Key was already used for a different credential");
+            }
+        }
+
+        CompletableFuture<VerifiableCredential> mine = new CompletableFuture<>();
+        CompletableFuture<VerifiableCredential> earlier = issued.asMap().putIfAbsent(issuanceKey, mine);
+        if (earlier != null) {
+            metrics.recordIssuanceReplayed();
+            return new Issuance(await(earlier), true);
+        }
+
+        try {
+            // Asynchronous issuance keeps the database off this path; conflicts are resolved when storing
+            VerifiableCredential existing = asyncIssuanceService.isEnabled() ? null : findIssued(issuanceKey);
+            if (existing != null) {
+                mine.complete(existing);
+                metrics.recordIssuanceReplayed();
+                return new Issuance(existing, true);
+            }
+            Issuance issuance = issueAndStore(request, issuanceKey);
+            mine.complete(issuance.credential());
+            return issuance;
+        } catch (InterruptedException | RuntimeException e) {
+            // Waiting retries see the failure; the next one starts over
+            issued.asMap().remove(issuanceKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets a deleted credential, so a later request for its degree issues a new one
+     */
+    public void credentialDeleted(VerifiableCredential credential) {
+        if (credential.getIssuanceKey() != null) {
+            issued.asMap().computeIfPresent(credential.getIssuanceKey(), (key, future) -> isFor(future, credential) ? null : future);
+        }
+    }
+
+    private static boolean isFor(CompletableFuture<VerifiableCredential> future, VerifiableCredential credential) {
+        return future.isDone() && !future.isCompletedExceptionally() && future.join().getId().equals(credential.getId());
+    }
+
+    private Issuance issueAndStore(IssueCredentialRequest request, String issuanceKey) throws InterruptedException {
+        if (asyncIssuanceService.isEnabled()) {
+            return new Issuance(asyncIssuanceService.issue(request), false);
+        }
+        VerifiableCredential credential = issuerService.issueBachelorDegree(request);
+        try {
+            VerifiableCredential saved = credentialRepository.save(credential);
+            readCache.credentialStored(saved);
+            return new Issuance(saved, false);
+        } catch (DuplicateKeyException e) {
+            // Another instance stored the same degree first; its credential wins
+            VerifiableCredential existing = findIssued(issuanceKey);
+            if (existing == null) {
+                throw e;
+            }
+            metrics.recordIssuanceReplayed();
+            return new Issuance(existing, true);
+        }
+    }
+
+    private VerifiableCredential findIssued(String issuanceKey) {
+        return mongoTemplate.findOne(new Query(Criteria.where("issuanceKey").is(issuanceKey)), VerifiableCredential.class);
+    }
+
+    private VerifiableCredential await(CompletableFuture<VerifiableCredential> future) throws InterruptedException {
+        try {
+            return future.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RejectedExecutionException("Timed out waiting for a concurrent issuance of the same credential");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Whether a write error is a duplicate credential ID, as opposed to a duplicate natural key
+     */
+    static boolean isDuplicateId(WriteError error) {
+        return error.getCode() == DUPLICATE_KEY && error.getMessage() != null && error.getMessage().contains(ID_INDEX);
+    }
+
+    /**
+     * Whether a write error is a duplicate natural key, meaning the degree was stored under another credential
+     */
+    static boolean isDuplicateIssuanceKey(WriteError error) {
+        return error.getCode() == DUPLICATE_KEY && error.getMessage() != null && error.getMessage().contains(ISSUANCE_KEY_INDEX);
+    }
+}
@@ -0,0 +1,242 @@
+package com.w3c.credentials.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of credentials accepted but not yet stored, one record per line.
+ * The journal is split into numbered segments; a segment is deleted once it is no longer
+ * written to and every record in it has been released, so disk use follows the backlog.
+ * Appends are group-committed: records queued while one batch is being forced to disk are
+ * written and forced together by the next appender, so concurrent issuers share one fsync.
+ */
+final class IssuanceJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssuanceJournal.class);
+
+    private static final String PREFIX = "issuance-";
+    private static final String SUFFIX = ".journal";
+
+    /**
+     * A record read back from a segment left by an earlier run
+     */
+    record Recovered(long segment, String record) {}
+
+    /**
+     * A record waiting for its batch to be committed; the fields are set by whichever appender
+     * commits the batch, under commitLock, and read by the owner after taking the same lock
+     */
+    private static final class PendingRecord {
+        final ByteBuffer bytes;
+        boolean committed;
+        long segment;
+        IOException failure;
+
+        PendingRecord(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final boolean sync;
+
+    // Records not yet released, per segment; guarded by this
+    private final Map<Long, Integer> outstanding = new HashMap<>();
+
+    private final ConcurrentLinkedQueue<PendingRecord> pending = new ConcurrentLinkedQueue<>();
+    // Held by the appender committing a batch; a j.u.c lock, so waiting appenders do not pin carriers
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private long syncs;
+
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+
+    IssuanceJournal(Path directory, long maxSegmentBytes, boolean sync) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.sync = sync;
+    }
+
+    /**
+     * Reads the segments left by earlier runs and opens a fresh segment after them.
+     * Recovered records count as outstanding until they are released.
+     */
+    synchronized List<Recovered> open() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> existing = listSegments();
+
+        List<Recovered> recovered = new ArrayList<>();
+        for (Map.Entry<Long, Path> entry : existing.entrySet()) {
+            int count = 0;
+            try (BufferedReader reader = Files.newBufferedReader(entry.getValue(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        recovered.add(new Recovered(entry.getKey(), line));
+                        count++;
+                    }
+                }
+            }
+            if (count == 0) {
+                Files.deleteIfExists(entry.getValue());
+            } else {
+                outstanding.put(entry.getKey(), count);
+            }
+        }
+
+        segment = existing.isEmpty() ? 1 : existing.lastKey() + 1;
+        openSegment();
+        return recovered;
+    }
+
+    /**
+     * Appends one record and, with sync enabled, returns only once it has been forced to disk.
+     * Records appended concurrently are written and forced as one batch.
+     */
+    long append(String record) throws IOException {
+        PendingRecord entry = new PendingRecord(ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8)));
+        pending.add(entry);
+        commitLock.lock();
+        try {
+            // The appender that held the lock before us may already have committed our record
+            if (!entry.committed) {
+                commitPending();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+        if (entry.failure != null) {
+            throw entry.failure;
+        }
+        return entry.segment;
+    }
+
+    /**
+     * Writes every queued record, forces the segment once and acknowledges the whole batch
+     */
+    private synchronized void commitPending() {
+        List<PendingRecord> batch = new ArrayList<>();
+        for (PendingRecord entry = pending.poll(); entry != null; entry = pending.poll()) {
+            batch.add(entry);
+        }
+        try {
+            if (segmentBytes >= maxSegmentBytes) {
+                long sealed = segment;
+                channel.close();
+                segment++;
+                openSegment();
+                deleteIfReleased(sealed);
+            }
+            ByteBuffer[] buffers = batch.stream().map(entry -> entry.bytes).toArray(ByteBuffer[]::new);
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                segmentBytes += channel.write(buffers);
+            }
+            if (sync) {
+                channel.force(false);
+                syncs++;
+            }
+            outstanding.merge(segment, batch.size(), Integer::sum);
+            for (PendingRecord entry : batch) {
+                entry.segment = segment;
+            }
+        } catch (IOException e) {
+            // None of the batch is acknowledged; any part that did reach disk is replayed idempotently
+            for (PendingRecord entry : batch) {
+                entry.failure = e;
+            }
+        }
+        for (PendingRecord entry : batch) {
+            entry.committed = true;
+        }
+    }
+
+    /**
+     * Marks records of a segment as stored; a sealed segment with nothing outstanding is deleted
+     */
+    synchronized void release(long recordSegment, int count) {
+        Integer left = outstanding.computeIfPresent(recordSegment, (key, value) -> value - count > 0 ? value - count : null);
+        if (left == null && recordSegment != segment) {
+            deleteIfReleased(recordSegment);
+        }
+    }
+
+    /**
+     * Gets the number of records not yet released
+     */
+    synchronized int outstandingRecords() {
+        return outstanding.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Gets the number of times a batch has been forced to disk
+     */
+    synchronized long syncCount() {
+        return syncs;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            deleteIfReleased(segment);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentPath(segment),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentBytes = channel.size();
+    }
+
+    private void deleteIfReleased(long candidate) {
+        if (outstanding.containsKey(candidate)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segmentPath(candidate));
+        } catch (IOException e) {
+            // Left behind, the segment is replayed on the next start; the inserts are idempotent
+            logger.warn("Unable to delete issuance journal segment {}: {}", candidate, e.getMessage());
+        }
+    }
+
+    private TreeMap<Long, Path> listSegments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring unexpected file in issuance journal: {}", file);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%012d%s", PREFIX, number, SUFFIX));
+    }
+}
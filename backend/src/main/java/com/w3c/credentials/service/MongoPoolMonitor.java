@@ -0,0 +1,134 @@
+package com.w3c.credentials.service;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks MongoDB connection-pool usage from driver events, so saturation can be read
+ * without asking the server. The driver keeps one pool per server; each is tracked on its
+ * own and saturation is that of the busiest, since a full pool to the primary stalls writes
+ * however idle the secondaries are.
+ */
+@Component
+public class MongoPoolMonitor implements ConnectionPoolListener {
+
+    private final Map<ServerId, PoolUsage> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.put(event.getServerId(), new PoolUsage(event.getSettings().getMaxSize()));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        // Closed when a server leaves the topology as well as on shutdown
+        pools.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        PoolUsage pool = pools.get(event.getServerId());
+        if (pool != null) {
+            pool.waiting.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        PoolUsage pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.waiting.decrementAndGet();
+            pool.checkedOut.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        PoolUsage pool = pools.get(event.getServerId());
+        if (pool != null) {
+            pool.waiting.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        PoolUsage pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.checkedOut.decrementAndGet();
+        }
+    }
+
+    /**
+     * Fraction in use of the busiest server's pool, from 0 to 1
+     */
+    public double getSaturation() {
+        double saturation = 0.0;
+        for (PoolUsage pool : pools.values()) {
+            saturation = Math.max(saturation, pool.saturation());
+        }
+        return saturation;
+    }
+
+    /**
+     * Gets whether requests are queued for a connection to any server
+     */
+    public boolean hasWaiters() {
+        for (PoolUsage pool : pools.values()) {
+            if (pool.waiting.get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the current usage of each server's pool
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> servers = new TreeMap<>();
+        pools.forEach((serverId, pool) -> servers.put(serverId.getAddress().toString(), pool.describe()));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("saturation", getSaturation());
+        snapshot.put("waiting", hasWaiters());
+        snapshot.put("servers", servers);
+        return snapshot;
+    }
+
+    private static final class PoolUsage {
+
+        private final int maxSize;
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        PoolUsage(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        double saturation() {
+            return maxSize == 0 ? 0.0 : Math.min(1.0, (double) checkedOut.get() / maxSize);
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("maxSize", maxSize);
+            snapshot.put("checkedOut", checkedOut.get());
+            snapshot.put("waitQueueSize", waiting.get());
+            snapshot.put("saturation", saturation());
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.w3c.credentials.service;
+
+import com.mongodb.MongoException;
+import com.w3c.credentials.model.TrustedIssuer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reads trusted issuers from the trusted_issuers collection and follows its change stream.
+ * Change streams need a replica set; on a standalone server only the periodic refresh applies.
+ */
+@Component
+@ConditionalOnProperty(name = "credentials.trust-registry.source", havingValue = "mongo")
+public class MongoTrustRegistrySource implements TrustRegistrySource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MongoTrustRegistrySource.class);
+    
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Override
+    public String getDescription() {
+        return "MongoDB collection " + mongoTemplate.getCollectionName(TrustedIssuer.class);
+    }
+    
+    @Override
+    public List<TrustedIssuer> load() {
+        return mongoTemplate.findAll(TrustedIssuer.class);
+    }
+    
+    @Override
+    public void watch(Runnable onChange) {
+        Thread watcher = new Thread(() -> watchLoop(onChange), "trust-registry-change-stream");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+    
+    private void watchLoop(Runnable onChange) {
+        boolean reported = false;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Any insert, update, replace or delete invalidates the snapshot; the registry reloads it whole
+                mongoTemplate.getCollection(mongoTemplate.getCollectionName(TrustedIssuer.class))
+                    .watch()
+                    .forEach(change -> onChange.run());
+            } catch (MongoException e) {
+                if (!reported) {
+                    logger.info("Change stream on trusted issuers unavailable ({}); relying on periodic refresh", e.getMessage());
+                    reported = true;
+                }
+            }
+            // The stream ended or failed: catch up on anything missed, then resubscribe
+            onChange.run();
+            try {
+                Thread.sleep(RETRY_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.w3c.credentials.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds names into the lowercase ASCII-ish form used by the search index.
+ * "  José  O'Neil " becomes "jose oneil" with tokens [jose, oneil].
+ */
+public final class NameNormalizer {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['’]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private NameNormalizer() {}
+    
+    /**
+     * Case-folds, strips diacritics and collapses separators to single spaces
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        String withoutApostrophes = APOSTROPHES.matcher(withoutMarks).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutApostrophes.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    /**
+     * Splits a normalized name into distinct tokens, in order of appearance
+     */
+    public static List<String> tokens(String normalizedName) {
+        if (normalizedName.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(normalizedName.split(" ")).distinct().toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reactive variant of {@link CredentialQueryService}; both build the same queries.
+ * Fluxes are backed by Mongo cursors whose batches are requested as subscribers demand them.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCredentialQueryService {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Fetches one page of credentials after the given cursor (keyset pagination)
+     */
+    public Mono<CredentialPage<VerifiableCredential>> findPage(String cursor, int limit) {
+        return findKeysetPage(cursor, limit, false);
+    }
+
+    /**
+     * Same as {@link #findPage(String, int)} but reads only the summary fields
+     */
+    public Mono<CredentialPage<CredentialSummary>> findSummaryPage(String cursor, int limit) {
+        return findKeysetPage(cursor, limit, true).map(page -> page.map(CredentialSummary::from));
+    }
+
+    /**
+     * Summaries of a holder's credentials, newest first
+     */
+    public Flux<CredentialSummary> findSummariesByHolder(String holderDID) {
+        return findSummaries(CredentialQueryService.holderCriteria(holderDID));
+    }
+
+    /**
+     * Summaries of credentials of the given type, newest first
+     */
+    public Flux<CredentialSummary> findSummariesByType(String type) {
+        return findSummaries(CredentialQueryService.typeCriteria(type));
+    }
+
+    /**
+     * Streams every credential, newest first
+     */
+    public Flux<VerifiableCredential> streamAll() {
+        return reactiveMongoTemplate.find(CredentialQueryService.streamAllQuery(), VerifiableCredential.class);
+    }
+
+    /**
+     * Streams summaries of credentials expiring in [from, until), soonest first
+     */
+    public Flux<CredentialSummary> streamExpiring(LocalDateTime from, LocalDateTime until) {
+        return reactiveMongoTemplate.find(CredentialQueryService.expiringQuery(from, until), VerifiableCredential.class)
+            .map(CredentialSummary::from);
+    }
+
+    /**
+     * Loads credentials with a single $in query; missing IDs are simply absent
+     */
+    public Flux<VerifiableCredential> findAllById(Collection<String> ids) {
+        return reactiveMongoTemplate.find(new Query(Criteria.where("_id").in(ids)), VerifiableCredential.class);
+    }
+
+    private Flux<CredentialSummary> findSummaries(Criteria criteria) {
+        return reactiveMongoTemplate.find(CredentialQueryService.summaryQuery(criteria), VerifiableCredential.class)
+            .map(CredentialSummary::from);
+    }
+
+    private Mono<CredentialPage<VerifiableCredential>> findKeysetPage(String cursor, int limit, boolean summary) {
+        int pageSize = CredentialQueryService.clampPageSize(limit);
+        return Mono.fromCallable(() -> CredentialQueryService.keysetPageQuery(cursor, pageSize, summary))
+            .flatMap(query -> reactiveMongoTemplate.find(query, VerifiableCredential.class).collectList())
+            .map(credentials -> CredentialQueryService.keysetPage(credentials, pageSize));
+    }
+}
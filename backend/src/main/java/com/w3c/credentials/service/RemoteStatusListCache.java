@@ -0,0 +1,72 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.BitSet;
+
+/**
+ * Status lists published by other issuers, fetched over HTTP on first use and refreshed in the
+ * background, so a revocation check is a bit lookup in a cached list. Callers check that the URL
+ * is on a host its issuer is trusted to publish on; a first fetch blocks for up to the timeout.
+ */
+@Component
+public class RemoteStatusListCache {
+    
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final LoadingCache<String, BitSet> lists;
+    
+    public RemoteStatusListCache(ObjectMapper objectMapper,
+                                 @Value("${credentials.status-list.refresh-interval:PT30S}") Duration refreshInterval,
+                                 @Value("${credentials.status-list.remote-timeout:PT5S}") Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(requestTimeout)
+            // A redirect could lead away from the issuer's trusted host
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        // Serve the last good copy while a refresh is in flight; drop lists nobody has asked about for a while
+        this.lists = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .refreshAfterWrite(refreshInterval)
+            .expireAfterAccess(refreshInterval.multipliedBy(20))
+            .build(this::fetch);
+    }
+    
+    /**
+     * Gets whether a bit is set in a remote list; throws if the list cannot be fetched
+     */
+    public boolean isSet(String statusListCredential, int index) {
+        return lists.get(statusListCredential).get(index);
+    }
+    
+    private BitSet fetch(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(requestTimeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Status list " + url + " returned HTTP " + response.statusCode());
+        }
+        JsonNode encodedList = objectMapper.readTree(response.body()).path("credentialSubject").path("encodedList");
+        if (!encodedList.isTextual()) {
+            throw new IOException("Status list " + url + " has no encodedList");
+        }
+        return StatusListCodec.decode(encodedList.asText());
+    }
+}
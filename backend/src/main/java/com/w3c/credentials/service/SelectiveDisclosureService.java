@@ -0,0 +1,235 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.w3c.credentials.crypto.InstancePool;
+import com.w3c.credentials.crypto.ProofSigner;
+import com.w3c.credentials.dto.SelectivePresentation;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.ClaimDisclosure;
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.SelectiveDisclosure;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SD-JWT style selective disclosure for credential subjects. At issuance every subject claim is
+ * turned into a disclosure, base64url(JSON [salt, name, value]), and the issuer signs a redacted
+ * copy of the credential whose subject keeps only the holder ID and the sorted disclosure digests.
+ * A presentation is that redacted credential plus the disclosures the holder picks, so a verifier
+ * checks one signature over a small fixed document and hashes only the disclosed claims. That proof
+ * carries its own purpose, so the redacted credential does not pass as a credential on its own.
+ */
+@Service
+public class SelectiveDisclosureService {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+    private static final int SALT_BYTES = 16;
+
+    // MessageDigest is not thread-safe but is costly to look up, so reuse pooled instances
+    private static final InstancePool<MessageDigest> SHA_256 = new InstancePool<>(SelectiveDisclosureService::newSha256, MessageDigest::reset);
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private ProofSigner proofSigner;
+
+    @Autowired
+    private CredentialVerifierService verifierService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${credentials.selective-disclosure.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Builds the disclosures of the subject's claims and signs the redacted credential; null when disabled
+     */
+    public SelectiveDisclosure prepare(VerifiableCredential credential, LocalDateTime created, String verificationMethod) {
+        if (!enabled || credential.getCredentialSubject() == null) {
+            return null;
+        }
+        List<ClaimDisclosure> claims = new ArrayList<>();
+        subjectClaims(credential.getCredentialSubject())
+            .forEach((name, value) -> claims.add(disclose(name, value)));
+
+        VerifiableCredential redacted = redact(credential, digestsOf(claims));
+        Proof proof = proofSigner.sign(redacted, created, Proof.PURPOSE_SELECTIVE_DISCLOSURE, verificationMethod);
+        return new SelectiveDisclosure(proof, claims);
+    }
+
+    /**
+     * Assembles a presentation revealing only the named claims.
+     * Throws IllegalArgumentException if the credential has no disclosures or lacks one of the claims.
+     */
+    public SelectivePresentation present(VerifiableCredential credential, Collection<String> claimNames) {
+        SelectiveDisclosure selectiveDisclosure = credential.getSelectiveDisclosure();
+        if (selectiveDisclosure == null || selectiveDisclosure.getClaims() == null) {
+            throw new IllegalArgumentException("Credential was issued without selective disclosure");
+        }
+
+        Map<String, String> disclosuresByClaim = new LinkedHashMap<>();
+        for (ClaimDisclosure claim : selectiveDisclosure.getClaims()) {
+            disclosuresByClaim.put(claim.getClaim(), claim.getDisclosure());
+        }
+        List<String> disclosures = new ArrayList<>(claimNames.size());
+        for (String name : new HashSet<>(claimNames)) {
+            String disclosure = disclosuresByClaim.get(name);
+            if (disclosure == null) {
+                throw new IllegalArgumentException("Unknown claim: " + name);
+            }
+            disclosures.add(disclosure);
+        }
+
+        VerifiableCredential redacted = redact(credential, digestsOf(selectiveDisclosure.getClaims()));
+        redacted.setProof(selectiveDisclosure.getProof());
+        return new SelectivePresentation(redacted, disclosures);
+    }
+
+    /**
+     * Verifies the redacted credential under the selective disclosure proof purpose, then checks each
+     * disclosure against its digests
+     */
+    public VerificationResult verify(SelectivePresentation presentation) {
+        VerifiableCredential redacted = presentation.getCredential();
+        CredentialSubject subject = redacted.getCredentialSubject();
+        List<String> digests = subject != null ? subject.getDisclosureDigests() : null;
+        if (digests == null) {
+            return invalidDisclosures("credential is not a selective disclosure presentation");
+        }
+
+        Set<String> committed = new HashSet<>(digests);
+        Map<String, Object> disclosed = new LinkedHashMap<>();
+        for (String disclosure : presentation.getDisclosures()) {
+            if (!committed.contains(digest(disclosure))) {
+                return invalidDisclosures("disclosure not covered by the proof");
+            }
+            JsonNode decoded = decode(disclosure);
+            if (decoded == null || !decoded.isArray() || decoded.size() != 3 || !decoded.get(1).isTextual()) {
+                return invalidDisclosures("malformed disclosure");
+            }
+            disclosed.put(decoded.get(1).asText(), objectMapper.convertValue(decoded.get(2), Object.class));
+        }
+
+        VerificationResult result = verifierService.verifyCredential(redacted, Proof.PURPOSE_SELECTIVE_DISCLOSURE);
+        if (result.isValid()) {
+            Map<String, Object> claims = new LinkedHashMap<>(disclosed);
+            claims.put("id", subject.getId());
+            result.setDisclosedClaims(claims);
+        }
+        return result;
+    }
+
+    /**
+     * The credential with its subject reduced to the holder ID and the claim digests, and no proof
+     */
+    static VerifiableCredential redact(VerifiableCredential credential, List<String> digests) {
+        CredentialSubject subject = new CredentialSubject();
+        subject.setId(credential.getCredentialSubject().getId());
+        subject.setDisclosureDigests(digests);
+
+        VerifiableCredential redacted = new VerifiableCredential(
+            credential.getId(),
+            credential.getContext(),
+            credential.getType(),
+            credential.getIssuer(),
+            credential.getIssuanceDate(),
+            subject,
+            null
+        );
+        redacted.setExpirationDate(credential.getExpirationDate());
+        redacted.setCredentialStatus(credential.getCredentialStatus());
+        return redacted;
+    }
+
+    private static Map<String, Object> subjectClaims(CredentialSubject subject) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        putIfPresent(claims, "name", subject.getName());
+        putIfPresent(claims, "degree", subject.getDegree());
+        putIfPresent(claims, "university", subject.getUniversity());
+        putIfPresent(claims, "graduationDate", subject.getGraduationDate());
+        if (subject.getAdditionalProperties() != null) {
+            subject.getAdditionalProperties().forEach((name, value) -> putIfPresent(claims, name, value));
+        }
+        return claims;
+    }
+
+    private static void putIfPresent(Map<String, Object> claims, String name, Object value) {
+        if (value != null) {
+            claims.put(name, value);
+        }
+    }
+
+    private ClaimDisclosure disclose(String name, Object value) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(List.of(BASE64URL.encodeToString(salt), name, value));
+            String disclosure = BASE64URL.encodeToString(json);
+            return new ClaimDisclosure(name, digest(disclosure), disclosure);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode claim " + name, e);
+        }
+    }
+
+    private JsonNode decode(String disclosure) {
+        try {
+            return objectMapper.readTree(BASE64URL_DECODER.decode(disclosure));
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sorted, so the signed document does not reveal the order of the claims
+     */
+    private static List<String> digestsOf(List<ClaimDisclosure> claims) {
+        return claims.stream().map(ClaimDisclosure::getDigest).sorted().toList();
+    }
+
+    private static String digest(String disclosure) {
+        MessageDigest sha256 = SHA_256.borrow();
+        try {
+            return BASE64URL.encodeToString(sha256.digest(disclosure.getBytes(StandardCharsets.US_ASCII)));
+        } finally {
+            SHA_256.release(sha256);
+        }
+    }
+
+    private static VerificationResult invalidDisclosures(String reason) {
+        return new VerificationResult(
+            false,
+            "❌ Verification failed: " + reason,
+            new VerificationResult.VerificationDetails(false, false, false)
+        );
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+}
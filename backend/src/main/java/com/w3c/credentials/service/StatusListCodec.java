@@ -0,0 +1,62 @@
+package com.w3c.credentials.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * StatusList2021 bitstring encoding: GZIP-compressed, then base64url without padding.
+ * Index 0 is the most significant bit of the first byte, unlike BitSet's own byte order.
+ */
+final class StatusListCodec {
+
+    private StatusListCodec() {
+    }
+
+    /**
+     * Encodes the set bits of a list with the given length in bits
+     */
+    static String encode(BitSet bits, int size) {
+        byte[] bytes = new byte[(size + 7) / 8];
+        for (int i = bits.nextSetBit(0); i >= 0 && i < size; i = bits.nextSetBit(i + 1)) {
+            bytes[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(compressed.toByteArray());
+    }
+
+    /**
+     * Decodes an encoded list into the set of revoked indexes
+     */
+    static BitSet decode(String encodedList) {
+        byte[] bytes;
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(encodedList)))) {
+            bytes = gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed status list", e);
+        }
+
+        BitSet bits = new BitSet(bytes.length * 8);
+        for (int i = 0; i < bytes.length; i++) {
+            int value = bytes[i] & 0xFF;
+            while (value != 0) {
+                int highest = Integer.numberOfLeadingZeros(value) - 24;
+                bits.set(i * 8 + highest);
+                value &= ~(0x80 >>> highest);
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,389 @@
+package com.w3c.credentials.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.dto.StatusListCredential;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.StatusList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * StatusList2021 revocation lists for credentials issued here.
+ * Each list is held in memory as a BitSet. Revocations set bits locally and are written to MongoDB
+ * in batches by a scheduled flush, merged with the stored bits under an optimistic version check so
+ * instances never overwrite each other. A scheduled refresh picks up other instances' revocations.
+ * Index allocation claims blocks of indexes with one atomic increment per block, under a
+ * ReentrantLock rather than a monitor so a virtual thread waiting on the claim does not pin its carrier.
+ */
+@Service
+public class StatusListService implements CredentialStatusRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatusListService.class);
+    
+    public static final String STATUS_PATH = "/api/credentials/status/";
+    
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private SigningKeyProvider signingKeyProvider;
+    
+    @Autowired
+    private RemoteStatusListCache remoteLists;
+    
+    @Autowired
+    private TrustRegistry trustRegistry;
+    
+    @Value("${credentials.status-list.base-url:http://localhost:8001}")
+    private String baseUrl;
+    
+    // 131,072 entries (16KB uncompressed) is the minimum list length StatusList2021 recommends for herd privacy
+    @Value("${credentials.status-list.size:131072}")
+    private int listSize;
+    
+    @Value("${credentials.status-list.allocation-block:1000}")
+    private int allocationBlock;
+    
+    private final Map<String, ListState> lists = new ConcurrentHashMap<>();
+    
+    // IDs with no stored list, so unknown IDs do not cost a MongoDB read each; lists created here are removed at once
+    private final Cache<String, Boolean> missingLists;
+    
+    // Allocation state, guarded by allocationLock
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private long activeList = 1;
+    private int nextIndex;
+    private int blockEnd;
+    
+    /**
+     * In-memory copy of one list; every field is guarded by the instance's monitor
+     */
+    private static final class ListState {
+        final String id;
+        final int size;
+        final String issuer;
+        BitSet revoked;
+        BitSet pending = new BitSet();
+        String encodedList;
+        long version;
+        LocalDateTime updatedAt;
+        
+        ListState(StatusList stored) {
+            this.id = stored.getId();
+            this.size = stored.getSize();
+            this.issuer = stored.getIssuer();
+            apply(StatusListCodec.decode(stored.getEncodedList()), stored);
+        }
+        
+        /**
+         * Installs a stored copy unless it is older than the one held; returns whether it was installed
+         */
+        boolean apply(BitSet stored, StatusList document) {
+            if (revoked != null && document.getVersion() < version) {
+                return false;
+            }
+            stored.or(pending);
+            this.revoked = stored;
+            this.encodedList = document.getEncodedList();
+            this.version = document.getVersion();
+            this.updatedAt = document.getUpdatedAt();
+            return true;
+        }
+    }
+    
+    public StatusListService(@Value("${credentials.status-list.refresh-interval:PT30S}") Duration missingListTtl) {
+        this.missingLists = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(missingListTtl)
+            .build();
+    }
+    
+    /**
+     * Loads the stored lists up front so revocation checks never wait on MongoDB
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLists() {
+        try {
+            for (StatusList stored : mongoTemplate.findAll(StatusList.class)) {
+                lists.computeIfAbsent(stored.getId(), id -> new ListState(stored));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to load status lists; they will be loaded on first use: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public CredentialStatus allocate() {
+        allocationLock.lock();
+        try {
+            if (nextIndex >= blockEnd) {
+                claimBlock();
+            }
+            return new CredentialStatus(listUrl(String.valueOf(activeList)), nextIndex++);
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isRevoked(CredentialStatus status, String issuerDID) {
+        if (status == null) {
+            return false;
+        }
+        if (!CredentialStatus.PURPOSE_REVOCATION.equals(status.getStatusPurpose())) {
+            // Suspension and other purposes are not supported; do not treat them as revocation
+            return false;
+        }
+        int index = Integer.parseInt(status.getStatusListIndex());
+        String url = status.getStatusListCredential();
+        Optional<String> localId = localListId(url);
+        if (localId.isEmpty()) {
+            if (!isTrustedRemoteList(url, issuerDID)) {
+                throw new IllegalStateException("Status list " + url + " is not on a host trusted for " + issuerDID);
+            }
+            return remoteLists.isSet(url, index);
+        }
+        ListState state = findList(localId.get());
+        if (state == null) {
+            throw new IllegalStateException("Unknown status list " + url);
+        }
+        synchronized (state) {
+            return state.revoked.get(index);
+        }
+    }
+    
+    /**
+     * Revokes a credential issued here; takes effect locally at once and is stored by the next flush
+     */
+    public void revoke(CredentialStatus status) {
+        Optional<String> localId = status == null ? Optional.empty() : localListId(status.getStatusListCredential());
+        ListState state = localId.map(this::findList).orElse(null);
+        if (state == null) {
+            throw new IllegalArgumentException("Credential has no status entry in a list issued here");
+        }
+        int index = Integer.parseInt(status.getStatusListIndex());
+        if (index < 0 || index >= state.size) {
+            throw new IllegalArgumentException("Status list index " + index + " is outside list " + state.id);
+        }
+        synchronized (state) {
+            state.revoked.set(index);
+            state.pending.set(index);
+        }
+    }
+    
+    /**
+     * Gets a list as a StatusList2021Credential, as of the last flush or refresh
+     */
+    public Optional<StatusListCredential> getStatusListCredential(String listId) {
+        ListState state = findList(listId);
+        if (state == null) {
+            return Optional.empty();
+        }
+        synchronized (state) {
+            return Optional.of(new StatusListCredential(listUrl(state.id), state.issuer, state.updatedAt,
+                CredentialStatus.PURPOSE_REVOCATION, state.encodedList));
+        }
+    }
+    
+    /**
+     * Gets the stored version of a list, used as its entity tag
+     */
+    public Optional<Long> getVersion(String listId) {
+        ListState state = findList(listId);
+        if (state == null) {
+            return Optional.empty();
+        }
+        synchronized (state) {
+            return Optional.of(state.version);
+        }
+    }
+    
+    /**
+     * Writes pending revocations, one merged update per changed list
+     */
+    @Scheduled(fixedDelayString = "${credentials.status-list.flush-interval:PT5S}")
+    public void flush() {
+        for (ListState state : lists.values()) {
+            BitSet batch;
+            synchronized (state) {
+                if (state.pending.isEmpty()) {
+                    continue;
+                }
+                batch = state.pending;
+                state.pending = new BitSet();
+            }
+            try {
+                write(state, batch);
+            } catch (RuntimeException e) {
+                synchronized (state) {
+                    state.pending.or(batch);
+                }
+                logger.warn("Unable to flush status list {}; will retry: {}", state.id, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Reloads lists changed by other instances
+     */
+    @Scheduled(fixedDelayString = "${credentials.status-list.refresh-interval:PT30S}")
+    public void refresh() {
+        for (ListState state : lists.values()) {
+            try {
+                StatusList stored = mongoTemplate.findById(state.id, StatusList.class);
+                // A flush may have installed a newer version since this read; apply keeps the newer one
+                if (stored != null && stored.getVersion() > currentVersion(state)) {
+                    BitSet bits = StatusListCodec.decode(stored.getEncodedList());
+                    synchronized (state) {
+                        state.apply(bits, stored);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Unable to refresh status list {}: {}", state.id, e.getMessage());
+            }
+        }
+    }
+    
+    private void write(ListState state, BitSet batch) {
+        for (int attempt = 0; attempt < MAX_FLUSH_ATTEMPTS; attempt++) {
+            StatusList stored = mongoTemplate.findById(state.id, StatusList.class);
+            if (stored == null) {
+                throw new IllegalStateException("Status list " + state.id + " is missing");
+            }
+            BitSet merged = StatusListCodec.decode(stored.getEncodedList());
+            merged.or(batch);
+            String encoded = StatusListCodec.encode(merged, stored.getSize());
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            
+            UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(state.id).and("version").is(stored.getVersion())),
+                new Update().set("encodedList", encoded).set("updatedAt", now).inc("version", 1),
+                StatusList.class);
+            if (result.getModifiedCount() == 1) {
+                stored.setEncodedList(encoded);
+                stored.setUpdatedAt(now);
+                stored.setVersion(stored.getVersion() + 1);
+                synchronized (state) {
+                    state.apply(merged, stored);
+                }
+                return;
+            }
+            // Another instance flushed in between; merge again on top of its write
+        }
+        throw new IllegalStateException("Status list " + state.id + " kept changing during flush");
+    }
+    
+    private long currentVersion(ListState state) {
+        synchronized (state) {
+            return state.version;
+        }
+    }
+    
+    private ListState findList(String listId) {
+        ListState state = lists.get(listId);
+        if (state != null || missingLists.getIfPresent(listId) != null) {
+            return state;
+        }
+        // Read outside the map's lock, which a virtual thread would otherwise hold pinned across the query
+        StatusList stored = mongoTemplate.findById(listId, StatusList.class);
+        if (stored == null) {
+            missingLists.put(listId, Boolean.TRUE);
+            return lists.get(listId);
+        }
+        return lists.computeIfAbsent(listId, id -> new ListState(stored));
+    }
+    
+    /**
+     * Only HTTPS lists on a host the issuer is trusted to publish on are fetched, so a credential
+     * cannot make this service request an arbitrary (e.g. internal) address
+     */
+    private boolean isTrustedRemoteList(String url, String issuerDID) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) && uri.getRawUserInfo() == null
+            && trustRegistry.isStatusListHost(issuerDID, uri.getHost());
+    }
+    
+    private void claimBlock() {
+        while (true) {
+            String listId = String.valueOf(activeList);
+            ensureList(listId);
+            StatusList claimed = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(listId).and("nextIndex").lte(listSize - allocationBlock)),
+                new Update().inc("nextIndex", allocationBlock),
+                FindAndModifyOptions.options().returnNew(true),
+                StatusList.class);
+            if (claimed != null) {
+                blockEnd = claimed.getNextIndex();
+                nextIndex = blockEnd - allocationBlock;
+                return;
+            }
+            // This list is fully allocated; move on to the next one
+            activeList++;
+        }
+    }
+    
+    private void ensureList(String listId) {
+        missingLists.invalidate(listId);
+        mongoTemplate.upsert(
+            new Query(Criteria.where("_id").is(listId)),
+            new Update()
+                .setOnInsert("issuer", TrustRegistry.controllerOf(signingKeyProvider.getKeyId()))
+                .setOnInsert("statusPurpose", CredentialStatus.PURPOSE_REVOCATION)
+                .setOnInsert("size", listSize)
+                .setOnInsert("nextIndex", 0)
+                .setOnInsert("encodedList", StatusListCodec.encode(new BitSet(), listSize))
+                .setOnInsert("version", 0L)
+                .setOnInsert("updatedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)),
+            StatusList.class);
+    }
+    
+    private String listUrl(String listId) {
+        return baseUrl + STATUS_PATH + listId;
+    }
+    
+    private Optional<String> localListId(String statusListCredential) {
+        return localListId(baseUrl, statusListCredential);
+    }
+    
+    /**
+     * Gets the ID of the list a status list URL names, if the list is one of those served under the base URL
+     */
+    static Optional<String> localListId(String baseUrl, String statusListCredential) {
+        String prefix = baseUrl + STATUS_PATH;
+        if (statusListCredential == null || !statusListCredential.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        return Optional.of(statusListCredential.substring(prefix.length()));
+    }
+}
@@ -0,0 +1,274 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.crypto.PublicKeyResolver;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.model.Issuer;
+import com.w3c.credentials.model.TrustedIssuer;
+import com.w3c.credentials.model.TrustedKey;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Trusted issuers and their verification keys. Lookups read an immutable, hash-indexed
+ * snapshot; a reload builds a complete new snapshot and swaps it in with one volatile write,
+ * so verifications never wait for or observe a partial reload.
+ */
+@Service
+public class TrustRegistry implements PublicKeyResolver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TrustRegistry.class);
+    
+    private static final String DID_WEB_PREFIX = "did:web:";
+    
+    /**
+     * A verification key decoded at load time, with the issuer that controls it
+     */
+    public record ResolvedKey(String issuerDID, PublicKey publicKey, TrustedKey source) {
+    }
+    
+    /**
+     * keyGeneration moves on whenever the keys change, so results cached under an older generation are never read again
+     */
+    private record Snapshot(Map<String, TrustedIssuer> issuers, Map<String, ResolvedKey> keys, long keyGeneration, Instant loadedAt) {
+    }
+    
+    @Autowired
+    private TrustRegistrySource source;
+    
+    @Autowired
+    private SigningKeyProvider signingKeyProvider;
+    
+    @Autowired
+    private SignatureVerificationCache verificationCache;
+    
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), 0, Instant.EPOCH);
+    
+    @PostConstruct
+    public void start() {
+        reload();
+        source.watch(this::reload);
+    }
+    
+    /**
+     * Re-reads the source periodically, as a safety net for missed change notifications
+     */
+    @Scheduled(initialDelayString = "${credentials.trust-registry.refresh-interval:PT5M}",
+               fixedDelayString = "${credentials.trust-registry.refresh-interval:PT5M}")
+    public void refresh() {
+        reload();
+    }
+    
+    /**
+     * Loads the source into a new snapshot; on failure the current snapshot stays in place
+     */
+    public synchronized void reload() {
+        Snapshot previous = snapshot;
+        Snapshot next;
+        try {
+            next = buildSnapshot(source.load(), previous);
+        } catch (Exception e) {
+            logger.warn("Unable to load trust registry from {}; keeping the previous snapshot: {}",
+                source.getDescription(), e.toString());
+            return;
+        }
+        
+        snapshot = next;
+        
+        // Only DIDs this service knows are interned, never ones taken from request bodies
+        Set<String> knownDIDs = new HashSet<>(next.issuers().keySet());
+        knownDIDs.add(controllerOf(signingKeyProvider.getKeyId()));
+        Issuer.internIssuers(knownDIDs);
+        
+        // Outcomes computed against the old keys are keyed by the old generation and can no longer be hit,
+        // even one stored by a check that was still running; dropping them only frees the memory
+        boolean keysChanged = next.keyGeneration() != previous.keyGeneration();
+        if (keysChanged) {
+            verificationCache.getCache().invalidateAll();
+        }
+        if (keysChanged || !previous.issuers().keySet().equals(next.issuers().keySet())) {
+            logger.info("Trust registry loaded from {}: {} issuers, {} keys",
+                source.getDescription(), next.issuers().size(), next.keys().size());
+        }
+    }
+    
+    /**
+     * Gets whether an issuer is in the registry and within its validity window at the given time
+     */
+    public boolean isTrusted(String issuerDID, LocalDateTime at) {
+        if (issuerDID == null) {
+            return false;
+        }
+        TrustedIssuer issuer = snapshot.issuers().get(issuerDID);
+        return issuer != null && issuer.isValidAt(at);
+    }
+    
+    /**
+     * Gets whether a trusted issuer publishes status lists on the given host: one listed in its
+     * statusListHosts, or the domain of a did:web issuer
+     */
+    public boolean isStatusListHost(String issuerDID, String host) {
+        if (issuerDID == null || host == null) {
+            return false;
+        }
+        TrustedIssuer issuer = snapshot.issuers().get(issuerDID);
+        if (issuer == null) {
+            return false;
+        }
+        if (host.equalsIgnoreCase(didWebHost(issuerDID))) {
+            return true;
+        }
+        List<String> hosts = issuer.getStatusListHosts();
+        return hosts != null && hosts.stream().anyMatch(host::equalsIgnoreCase);
+    }
+    
+    /**
+     * Gets the generation of the current keys; read it before resolving a key, so an outcome cached
+     * under it was computed with those keys or newer ones
+     */
+    public long getKeyGeneration() {
+        return snapshot.keyGeneration();
+    }
+    
+    /**
+     * Finds a verification key of a trusted issuer
+     */
+    public ResolvedKey findKey(String verificationMethod) {
+        return verificationMethod == null ? null : snapshot.keys().get(verificationMethod);
+    }
+    
+    @Override
+    public PublicKey resolve(String verificationMethod, LocalDateTime at) {
+        ResolvedKey key = findKey(verificationMethod);
+        if (key == null) {
+            return null;
+        }
+        LocalDateTime time = at != null ? at : LocalDateTime.now();
+        return key.source().isValidAt(time) ? key.publicKey() : null;
+    }
+    
+    /**
+     * Gets the DIDs of all registered issuers
+     */
+    public List<String> getIssuerDIDs() {
+        return List.copyOf(snapshot.issuers().keySet());
+    }
+    
+    /**
+     * Gets the snapshot size and age
+     */
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("source", source.getDescription());
+        stats.put("issuers", current.issuers().size());
+        stats.put("keys", current.keys().size());
+        stats.put("loadedAt", current.loadedAt());
+        return stats;
+    }
+    
+    private Snapshot buildSnapshot(List<TrustedIssuer> issuers, Snapshot previous) {
+        Map<String, TrustedIssuer> issuersByDID = new HashMap<>(issuers.size() * 2);
+        Map<String, ResolvedKey> keysByMethod = new HashMap<>(issuers.size() * 4);
+        KeyFactory keyFactory = keyFactory();
+        
+        for (TrustedIssuer issuer : issuers) {
+            if (issuer.getId() == null || issuer.getId().isBlank()) {
+                continue;
+            }
+            issuersByDID.put(issuer.getId(), issuer);
+            if (issuer.getKeys() == null) {
+                continue;
+            }
+            for (TrustedKey key : issuer.getKeys()) {
+                if (key.getId() == null || key.getPublicKey() == null) {
+                    logger.warn("Skipping incomplete key {} of {}", key.getId(), issuer.getId());
+                    continue;
+                }
+                try {
+                    PublicKey publicKey = keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey().trim())));
+                    keysByMethod.put(key.getId(), new ResolvedKey(issuer.getId(), publicKey, key));
+                } catch (GeneralSecurityException | RuntimeException e) {
+                    logger.warn("Skipping unreadable key {} of {}: {}", key.getId(), issuer.getId(), e.getMessage());
+                }
+            }
+        }
+        
+        // This service's own signing key always verifies, whatever the source says about its issuer
+        String localKeyId = signingKeyProvider.getKeyId();
+        keysByMethod.put(localKeyId, new ResolvedKey(controllerOf(localKeyId),
+            signingKeyProvider.getPublicKey(localKeyId), new TrustedKey(localKeyId, null)));
+        
+        long keyGeneration = sameKeys(previous.keys(), keysByMethod) ? previous.keyGeneration() : previous.keyGeneration() + 1;
+        return new Snapshot(Map.copyOf(issuersByDID), Map.copyOf(keysByMethod), keyGeneration, Instant.now());
+    }
+    
+    private static boolean sameKeys(Map<String, ResolvedKey> previous, Map<String, ResolvedKey> next) {
+        if (previous.size() != next.size()) {
+            return false;
+        }
+        for (Map.Entry<String, ResolvedKey> entry : next.entrySet()) {
+            ResolvedKey old = previous.get(entry.getKey());
+            ResolvedKey key = entry.getValue();
+            if (old == null
+                || !old.issuerDID().equals(key.issuerDID())
+                || !old.publicKey().equals(key.publicKey())
+                || !Objects.equals(old.source().getValidFrom(), key.source().getValidFrom())
+                || !Objects.equals(old.source().getValidUntil(), key.source().getValidUntil())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * The DID that controls a verification method, i.e. the part before the fragment
+     */
+    static String controllerOf(String verificationMethod) {
+        int fragment = verificationMethod.indexOf('#');
+        return fragment < 0 ? verificationMethod : verificationMethod.substring(0, fragment);
+    }
+    
+    /**
+     * The host of a did:web DID (did:web:example.com:issuers:1 is example.com), or null for other methods
+     */
+    static String didWebHost(String did) {
+        if (!did.startsWith(DID_WEB_PREFIX)) {
+            return null;
+        }
+        String rest = did.substring(DID_WEB_PREFIX.length());
+        int path = rest.indexOf(':');
+        String domain = path < 0 ? rest : rest.substring(0, path);
+        // A port is percent-encoded as %3A; only the host is compared
+        int port = domain.toLowerCase().indexOf("%3a");
+        return port < 0 ? domain : domain.substring(0, port);
+    }
+    
+    private static KeyFactory keyFactory() {
+        try {
+            return KeyFactory.getInstance(SigningKeyProvider.KEY_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(SigningKeyProvider.KEY_ALGORITHM + " is not available in this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.model.TrustedIssuer;
+
+import java.util.List;
+
+/**
+ * Where the trust registry's issuers come from
+ */
+public interface TrustRegistrySource {
+    
+    /**
+     * Describes the source for logs and health output
+     */
+    String getDescription();
+    
+    /**
+     * Reads every trusted issuer
+     */
+    List<TrustedIssuer> load() throws Exception;
+    
+    /**
+     * Starts watching for changes in the background, calling onChange after each one.
+     * Sources that cannot be watched rely on the registry's periodic refresh.
+     */
+    void watch(Runnable onChange);
+}
@@ -0,0 +1,39 @@
+package com.w3c.credentials;
+
+import com.w3c.credentials.model.CredentialSubject;
+import com.w3c.credentials.model.Issuer;
+import com.w3c.credentials.model.VerifiableCredential;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unsigned sample credentials for tests
+ */
+public final class TestCredentials {
+
+    public static final String ISSUER_DID = "did:example:university:stanford";
+    public static final String KEY_ID = ISSUER_DID + "#keys-1";
+
+    private TestCredentials() {
+    }
+
+    /**
+     * A degree credential for the holder, issued at a fixed time and without a proof
+     */
+    public static VerifiableCredential credential(String id, String holderDID) {
+        LocalDateTime issued = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_000_000);
+        CredentialSubject subject = new CredentialSubject(holderDID, "Anna Smith",
+            "Bachelor of Science in Computer Science", "Stanford University", "2024-06-01");
+        VerifiableCredential credential = new VerifiableCredential(
+            id,
+            List.of("https://www.w3.org/2018/credentials/v1", "https://www.w3.org/2018/credentials/examples/v1"),
+            List.of("VerifiableCredential", "UniversityDegreeCredential"),
+            Issuer.of(ISSUER_DID, "Stanford University"),
+            issued,
+            subject,
+            null);
+        credential.setExpirationDate(issued.plusYears(5));
+        return credential;
+    }
+}
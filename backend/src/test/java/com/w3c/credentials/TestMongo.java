@@ -0,0 +1,53 @@
+package com.w3c.credentials;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.net.InetSocketAddress;
+
+/**
+ * The MongoDB server for tests: the one in TEST_MONGO_URL when set, otherwise an in-memory
+ * server shared by all tests in the JVM. The in-memory server speaks the wire protocol but has
+ * no query planner, so tests that explain queries only run against a real server.
+ */
+public final class TestMongo {
+
+    private static final String EXTERNAL_URL = System.getenv("TEST_MONGO_URL");
+    private static String url;
+
+    private TestMongo() {
+    }
+
+    /**
+     * Gets the connection string of the test server, without a database
+     */
+    public static synchronized String url() {
+        if (url == null) {
+            if (EXTERNAL_URL != null && !EXTERNAL_URL.isBlank()) {
+                url = EXTERNAL_URL;
+            } else {
+                MongoServer server = new MongoServer(new MemoryBackend());
+                InetSocketAddress address = server.bind();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::shutdownNow));
+                url = "mongodb://" + address.getHostString() + ":" + address.getPort();
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Gets whether tests run against a real MongoDB rather than the in-memory server
+     */
+    public static boolean isExternal() {
+        return EXTERNAL_URL != null && !EXTERNAL_URL.isBlank();
+    }
+
+    /**
+     * Points Spring Data at a database of the test server
+     */
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        registry.add("spring.data.mongodb.uri", () -> url() + "/" + database);
+        registry.add("spring.data.mongodb.database", () -> database);
+    }
+}
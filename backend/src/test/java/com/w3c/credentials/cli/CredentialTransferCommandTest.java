@@ -0,0 +1,89 @@
+package com.w3c.credentials.cli;
+
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.service.CredentialTransferService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(CredentialTransferCommand.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CredentialTransferCommandTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private CredentialTransferCommand command;
+
+    @MockBean
+    private CredentialTransferService transferService;
+
+    @MockBean
+    private MongoIndexInitializer indexInitializer;
+
+    @Test
+    void importCreatesTheIndexesFirst() throws Exception {
+        when(transferService.importCredentials(any(), any(), any()))
+            .thenReturn(new CredentialTransferService.ImportSummary(1, 1, 0, 0));
+
+        command.run(new DefaultApplicationArguments("import", "--file=credentials.ndjson"));
+
+        InOrder order = inOrder(indexInitializer, transferService);
+        order.verify(indexInitializer).prepareCollection();
+        order.verify(transferService).importCredentials(Path.of("credentials.ndjson"),
+            Path.of("credentials.ndjson.rejects.ndjson"), Path.of("credentials.ndjson.checkpoint"));
+        assertThat(command.getExitCode()).isZero();
+    }
+
+    @Test
+    void importLoadsTheStatusListsBeforeTheCredentials() throws Exception {
+        Path file = directory.resolve("credentials.ndjson.gz");
+        Path lists = directory.resolve("credentials.ndjson.status-lists.ndjson.gz");
+        Files.createFile(lists);
+        when(transferService.importCredentials(any(), any(), any()))
+            .thenReturn(new CredentialTransferService.ImportSummary(1, 1, 0, 0));
+
+        command.run(new DefaultApplicationArguments("import", "--file=" + file));
+
+        InOrder order = inOrder(transferService);
+        order.verify(transferService).importStatusLists(lists);
+        order.verify(transferService).importCredentials(any(), any(), any());
+        assertThat(command.getExitCode()).isZero();
+    }
+
+    @Test
+    void exportWritesTheStatusListsAlongside() throws Exception {
+        command.run(new DefaultApplicationArguments("export", "--file=credentials.ndjson", "--status-lists=lists.ndjson"));
+
+        verify(transferService).exportCredentials(Path.of("credentials.ndjson"));
+        verify(transferService).exportStatusLists(Path.of("lists.ndjson"));
+        assertThat(command.getExitCode()).isZero();
+    }
+
+    @Test
+    void importDoesNotStartWithoutTheIndexes() throws Exception {
+        doThrow(new IllegalStateException("index build failed")).when(indexInitializer).prepareCollection();
+
+        command.run(new DefaultApplicationArguments("import", "--file=credentials.ndjson"));
+
+        verify(transferService, never()).importCredentials(any(), any(), any());
+        assertThat(command.getExitCode()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.service.AdmissionControlService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlFilterTest {
+
+    @Mock
+    private AdmissionControlService admissionControl;
+
+    @InjectMocks
+    private AdmissionControlFilter filter;
+
+    @Test
+    void groupsRequestsByTheirPathWithinTheApplication() throws Exception {
+        when(admissionControl.admit(any(), any(), any())).thenReturn(new AdmissionControlService.Admission(null, 0, null, 0));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/wallet/api/credentials/verify");
+        request.setContextPath("/wallet");
+        request.setServletPath("/api/credentials/verify");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(admissionControl).admit(eq("POST"), eq("/api/credentials/verify"), any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.w3c.credentials.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageFormatConfigTest {
+
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void eachFormatGetsItsOwnEntityTag() {
+        assertThat(MessageFormatConfig.representationEtag("abc", (String) null)).isEqualTo("abc");
+        assertThat(MessageFormatConfig.representationEtag("abc", "*/*")).isEqualTo("abc");
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/json")).isEqualTo("abc");
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/cbor")).isEqualTo("abc-cbor");
+        assertThat(MessageFormatConfig.representationEtag("abc", MessageFormatConfig.SMILE_VALUE)).isEqualTo("abc-smile");
+    }
+
+    @Test
+    void mostPreferredAcceptableFormatWins() {
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/json;q=0.5, application/cbor"))
+            .isEqualTo("abc-cbor");
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/cbor;q=0, */*")).isEqualTo("abc");
+        assertThat(MessageFormatConfig.representationEtag("abc", "text/html, application/*;q=0.8")).isEqualTo("abc");
+        assertThat(MessageFormatConfig.representationEtag("abc", "not a media type")).isEqualTo("abc");
+    }
+
+    @Test
+    void prettyJsonHasItsOwnEntityTag() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("pretty", "true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/json")).isEqualTo("abc-pretty");
+        assertThat(MessageFormatConfig.representationEtag("abc", "application/cbor")).isEqualTo("abc-cbor");
+    }
+
+    @Test
+    void prettyReactiveRequestHasItsOwnEntityTag() {
+        MockServerHttpRequest pretty = MockServerHttpRequest.get("/api/credentials/abc?pretty=true")
+            .accept(MediaType.APPLICATION_JSON).build();
+        MockServerHttpRequest cbor = MockServerHttpRequest.get("/api/credentials/abc?pretty=true")
+            .accept(MediaType.APPLICATION_CBOR).build();
+
+        assertThat(MessageFormatConfig.representationEtag("abc", pretty)).isEqualTo("abc-pretty");
+        assertThat(MessageFormatConfig.representationEtag("abc", cbor)).isEqualTo("abc-cbor");
+        assertThat(MessageFormatConfig.representationEtag("abc", MockServerHttpRequest.get("/").build())).isEqualTo("abc");
+    }
+
+    @Test
+    void reactiveJsonIsPrettyOnlyWhenAskedFor() {
+        assertThat(encodeJson(MockServerHttpRequest.get("/api/credentials?pretty=true").build())).contains("\n");
+        assertThat(encodeJson(MockServerHttpRequest.get("/api/credentials").build())).doesNotContain("\n");
+    }
+
+    private static String encodeJson(MockServerHttpRequest request) {
+        MessageFormatConfig.PrettyPrintingJsonEncoder encoder = new MessageFormatConfig.PrettyPrintingJsonEncoder(new ObjectMapper());
+        ResolvableType type = ResolvableType.forClassWithGenerics(Map.class, String.class, Object.class);
+        Map<String, Object> hints = encoder.getEncodeHints(type, type, MediaType.APPLICATION_JSON,
+            request, new MockServerHttpResponse());
+
+        DataBuffer buffer = encoder.encodeValue(Map.of("n", 1), DefaultDataBufferFactory.sharedInstance, type,
+            MediaType.APPLICATION_JSON, hints);
+        String json = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return json;
+    }
+
+    @Test
+    void cborStreamIsWrittenItemByItemAsOneArray() throws Exception {
+        MessageFormatConfig.StreamingCborEncoder encoder = new MessageFormatConfig.StreamingCborEncoder(CBOR);
+        Flux<Map<String, Object>> items = Flux.range(1, 3).map(i -> Map.of("n", i));
+
+        List<DataBuffer> buffers = encoder.encode(items, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClassWithGenerics(Map.class, String.class, Object.class), MediaType.APPLICATION_CBOR, Map.of())
+            .collectList().block();
+
+        // An opening marker, one buffer per item and the closing break
+        assertThat(buffers).hasSize(5);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (DataBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            body.write(bytes);
+            DataBufferUtils.release(buffer);
+        }
+        List<Object> decoded = CBOR.readValue(body.toByteArray(), new TypeReference<>() {});
+        assertThat(decoded).containsExactly(Map.of("n", 1), Map.of("n", 2), Map.of("n", 3));
+    }
+
+    @Test
+    void emptyCborStreamIsAnEmptyArray() throws Exception {
+        MessageFormatConfig.StreamingCborEncoder encoder = new MessageFormatConfig.StreamingCborEncoder(CBOR);
+
+        List<DataBuffer> buffers = encoder.encode(Flux.empty(), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(String.class), MediaType.APPLICATION_CBOR, Map.of())
+            .collectList().block();
+
+        byte[] body = DataBufferUtils.join(Flux.fromIterable(buffers)).map(buffer -> {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        }).block();
+        assertThat(CBOR.readValue(body, new TypeReference<List<Object>>() {})).isEmpty();
+    }
+}
@@ -0,0 +1,256 @@
+package com.w3c.credentials.config;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.dto.CredentialSummary;
+import com.w3c.credentials.dto.PageCursor;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.VerifiableCredentialRepository;
+import com.w3c.credentials.service.CoarseClock;
+import com.w3c.credentials.service.CredentialExpirySweeper;
+import com.w3c.credentials.service.CredentialMetrics;
+import com.w3c.credentials.service.CredentialQueryService;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.CredentialSearchService;
+import com.w3c.credentials.service.IdempotentIssuanceService;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DataMongoTest
+@Import({MongoConversionConfig.class, MongoIndexInitializer.class, CredentialQueryService.class,
+    CredentialSearchService.class, CredentialExpirySweeper.class, CredentialReadCache.class,
+    CredentialCanonicalizer.class, CoarseClock.class, MongoIndexInitializerTest.SentQueries.class})
+class MongoIndexInitializerTest {
+
+    /**
+     * Records the find commands sent to the credential collection, as the driver sends them
+     */
+    @TestConfiguration
+    static class SentQueries implements CommandListener {
+
+        private final List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer sentQueriesListener() {
+            return settings -> settings.addCommandListener(this);
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            BsonDocument command = event.getCommand();
+            if (event.getCommandName().equals("find") && command.getString("find").getValue().equals(COLLECTION)) {
+                finds.add(command.clone());
+            }
+        }
+
+        List<BsonDocument> during(Runnable queries) {
+            finds.clear();
+            queries.run();
+            return List.copyOf(finds);
+        }
+    }
+
+    private static final String COLLECTION = "verifiable_credentials";
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "index_initializer_test");
+    }
+
+    @Autowired
+    private MongoIndexInitializer initializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SentQueries sentQueries;
+
+    @Autowired
+    private VerifiableCredentialRepository repository;
+
+    @Autowired
+    private CredentialQueryService queryService;
+
+    @Autowired
+    private CredentialSearchService searchService;
+
+    @Autowired
+    private CredentialExpirySweeper expirySweeper;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @MockBean
+    private IdempotentIssuanceService idempotentIssuanceService;
+
+    @MockBean
+    private CredentialMetrics metrics;
+
+    @BeforeEach
+    void createIndexes() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        mongoTemplate.createCollection(VerifiableCredential.class);
+        initializer.ensureIndexes();
+    }
+
+    /**
+     * The find commands of every repository method and every query the services build
+     */
+    private List<BsonDocument> sentFinds() {
+        LocalDateTime now = LocalDateTime.now();
+        String cursor = new PageCursor(now, "urn:uuid:probe").encode();
+        return sentQueries.during(() -> {
+            repository.findByCredentialSubjectId("did:example:probe");
+            repository.findByIssuerDID("did:example:probe");
+            repository.findByIssuanceDateAfter(now);
+            repository.findByType("VerifiableCredential");
+            repository.findNotExpiredCredentials(now);
+            queryService.findPage(null, 10);
+            queryService.findSummaryPage(cursor, 10);
+            queryService.findSummariesByHolder("did:example:probe");
+            queryService.findSummariesByType("VerifiableCredential");
+            try (Stream<VerifiableCredential> all = queryService.streamAll()) {
+                all.count();
+            }
+            try (Stream<CredentialSummary> expiring = queryService.streamExpiring(now, now.plusDays(30))) {
+                expiring.count();
+            }
+            searchService.searchByName("Probe Name", null, 10);
+            // Resumes in the second tier, so the keyset condition joins a tier filter
+            searchService.searchSummariesByName("Probe Name", "1." + cursor, 10);
+            readCache.findByHolder("did:example:probe");
+            expirySweeper.sweep();
+        });
+    }
+
+    @Test
+    void everySentQueryLeadsWithAnIndexedField() {
+        List<String> leadingKeys = leadingKeys();
+        List<BsonDocument> finds = sentFinds();
+
+        assertThat(finds).hasSizeGreaterThan(15);
+        for (BsonDocument find : finds) {
+            BsonDocument filter = find.getDocument("filter", new BsonDocument());
+            BsonDocument sort = find.getDocument("sort", new BsonDocument());
+            boolean sortLeads = !sort.isEmpty() && leadingKeys.contains(sort.getFirstKey());
+            assertThat(usesIndex(filter, leadingKeys) || sortLeads).as("index for %s", find.toJson()).isTrue();
+        }
+    }
+
+    @Test
+    void noSentQueryScansTheCollection() {
+        assumeTrue(TestMongo.isExternal(), "explain needs a real MongoDB; set TEST_MONGO_URL");
+
+        List<String> scans = new ArrayList<>();
+        for (BsonDocument find : sentFinds()) {
+            FindIterable<Document> explained = mongoTemplate.getCollection(COLLECTION)
+                .find(find.getDocument("filter", new BsonDocument()))
+                .sort(find.getDocument("sort", new BsonDocument()));
+            if (explained.explain().toJson().contains("\"COLLSCAN\"")) {
+                scans.add(find.toJson());
+            }
+        }
+        assertThat(scans).isEmpty();
+    }
+
+    @Test
+    void everyQueryShapeLeadsWithAnIndexedField() {
+        List<String> leadingKeys = leadingKeys();
+
+        for (MongoIndexInitializer.QueryShape shape : initializer.queryShapes()) {
+            List<String> fields = shape.filter().isEmpty()
+                ? List.of(shape.sort().keySet().iterator().next())
+                : filteredFields(shape.filter());
+            assertThat(leadingKeys).as("index for %s on %s", shape.name(), fields).containsAll(fields);
+        }
+    }
+
+    @Test
+    void queryShapesUseStoredFieldNames() {
+        Map<String, Document> filters = new HashMap<>();
+        initializer.queryShapes().forEach(shape -> filters.put(shape.name(), shape.filter()));
+
+        // CredentialSubject.id is stored as _id of the subdocument, as in the index definitions
+        assertThat(filters.get("findByCredentialSubjectId")).containsOnlyKeys("credentialSubject._id");
+    }
+
+    @Test
+    void noQueryShapeScansTheCollection() {
+        assumeTrue(TestMongo.isExternal(), "explain needs a real MongoDB; set TEST_MONGO_URL");
+
+        assertThat(initializer.findCollectionScans()).isEmpty();
+    }
+
+    private List<String> leadingKeys() {
+        List<String> leadingKeys = new ArrayList<>();
+        for (Document index : mongoTemplate.getCollection(COLLECTION).listIndexes()) {
+            leadingKeys.add(index.get("key", Document.class).keySet().iterator().next());
+        }
+        return leadingKeys;
+    }
+
+    /**
+     * Whether an index can answer the filter: one of its conditions is on a leading key, or for an
+     * $or every branch can be answered
+     */
+    private static boolean usesIndex(BsonDocument filter, List<String> leadingKeys) {
+        for (Map.Entry<String, BsonValue> condition : filter.entrySet()) {
+            String key = condition.getKey();
+            if (key.equals("$and") && condition.getValue().asArray().stream()
+                    .anyMatch(branch -> usesIndex(branch.asDocument(), leadingKeys))) {
+                return true;
+            }
+            if (key.equals("$or") && condition.getValue().asArray().stream()
+                    .allMatch(branch -> usesIndex(branch.asDocument(), leadingKeys))) {
+                return true;
+            }
+            if (leadingKeys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The fields a filter constrains; each branch of an $or needs its own index
+     */
+    private static List<String> filteredFields(Document filter) {
+        List<String> fields = new ArrayList<>();
+        filter.forEach((key, value) -> {
+            if (key.equals("$or")) {
+                ((List<?>) value).forEach(branch -> fields.addAll(filteredFields((Document) branch)));
+            } else {
+                fields.add(key);
+            }
+        });
+        return fields;
+    }
+}
@@ -0,0 +1,37 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.service.AdmissionControlService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAdmissionControlFilterTest {
+
+    @Mock
+    private AdmissionControlService admissionControl;
+
+    @InjectMocks
+    private ReactiveAdmissionControlFilter filter;
+
+    @Test
+    void groupsRequestsByTheirPathWithinTheApplication() {
+        when(admissionControl.admit(any(), any(), any())).thenReturn(new AdmissionControlService.Admission(null, 0, null, 0));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post("/wallet/api/credentials/verify").contextPath("/wallet"));
+
+        filter.filter(exchange, ignored -> Mono.empty()).block();
+
+        verify(admissionControl).admit(eq("POST"), eq("/api/credentials/verify"), any());
+    }
+}
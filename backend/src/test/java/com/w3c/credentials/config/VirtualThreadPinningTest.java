@@ -0,0 +1,174 @@
+package com.w3c.credentials.config;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.crypto.PublicKeyResolver;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.dto.BatchIssueResponse;
+import com.w3c.credentials.dto.BatchIssueResult;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.StatusList;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CoarseClock;
+import com.w3c.credentials.service.CredentialBatchIssuerService;
+import com.w3c.credentials.service.CredentialIssuerService;
+import com.w3c.credentials.service.CredentialMetrics;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.CredentialVerifierService;
+import com.w3c.credentials.service.RemoteStatusListCache;
+import com.w3c.credentials.service.SelectiveDisclosureService;
+import com.w3c.credentials.service.StatusListService;
+import com.w3c.credentials.service.TrustRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real batch issuance path (status index allocation, selective disclosure, signing, bulk
+ * insert) and then cold read-cache lookups on the virtual-thread batch executor under JFR, and fails
+ * if any virtual thread pinned its carrier while blocked.
+ */
+@DataMongoTest
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Import({BatchExecutorConfig.class, MongoConversionConfig.class, CredentialCanonicalizer.class,
+    SigningKeyProvider.class, Ed25519Signature2018Suite.class, SignatureVerificationCache.class, CoarseClock.class,
+    CredentialBatchIssuerService.class, CredentialIssuerService.class, StatusListService.class,
+    SelectiveDisclosureService.class, CredentialVerifierService.class, CredentialReadCache.class,
+    VirtualThreadPinningTest.Beans.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {
+    "spring.threads.virtual.enabled=true",
+    "credentials.signing.key-id=" + TestCredentials.KEY_ID,
+    // Small blocks and chunks, so allocations contend for new blocks and chunks overlap them
+    "credentials.status-list.allocation-block=5",
+    "credentials.batch.chunk-size=50"
+})
+class VirtualThreadPinningTest {
+
+    private static final int CREDENTIALS = 200;
+
+    static class Beans {
+        // Takes the place of the mocked registry's key resolution
+        @Bean
+        @Primary
+        PublicKeyResolver publicKeyResolver(SigningKeyProvider keyProvider) {
+            return (verificationMethod, at) -> keyProvider.getPublicKey(verificationMethod);
+        }
+
+        @Bean
+        CredentialMetrics credentialMetrics() {
+            return new CredentialMetrics(new SimpleMeterRegistry());
+        }
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "pinning_test");
+    }
+
+    @Autowired
+    @Qualifier("credentialBatchExecutor")
+    private Executor batchExecutor;
+
+    @Autowired
+    private CredentialBatchIssuerService batchIssuerService;
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    private Ed25519Signature2018Suite suite;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private TrustRegistry trustRegistry;
+
+    @MockBean
+    private RemoteStatusListCache remoteLists;
+
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        mongoTemplate.dropCollection(StatusList.class);
+    }
+
+    @Test
+    void batchIssuanceAndCacheLoadsNeverPinACarrierThread() throws Exception {
+        assertThat(batchExecutor).isInstanceOf(VirtualThreadTaskExecutor.class);
+        List<IssueCredentialRequest> requests = new ArrayList<>();
+        for (int i = 0; i < CREDENTIALS; i++) {
+            requests.add(new IssueCredentialRequest("Anna Smith", "did:example:student:pinning-" + i, "Bachelor of Science"));
+        }
+
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            BatchIssueResponse response = batchIssuerService.issueAll(requests);
+            assertThat(response.getIssued()).isEqualTo(CREDENTIALS);
+
+            List<CompletableFuture<Boolean>> reads = new ArrayList<>();
+            for (BatchIssueResult result : response.getResults()) {
+                reads.add(CompletableFuture.supplyAsync(() -> readAndVerify(result.getCredentialId()), batchExecutor));
+            }
+            CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+            assertThat(reads).allMatch(CompletableFuture::join);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinned = RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+            .map(RecordedEvent::toString)
+            .toList();
+        Files.deleteIfExists(dump);
+        assertThat(pinned).isEmpty();
+    }
+
+    private boolean readAndVerify(String id) {
+        VerifiableCredential stored = readCache.findById(id).orElse(null);
+        return stored != null
+            && readCache.findByHolder(stored.getCredentialSubject().getId()).size() == 1
+            && suite.verify(stored);
+    }
+}
@@ -0,0 +1,76 @@
+package com.w3c.credentials.controller;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.service.CredentialReadCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialsControllerTest {
+
+    @Mock
+    private CredentialReadCache readCache;
+
+    @InjectMocks
+    private CredentialsController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private VerifiableCredential cached(String id, CredentialStatus status) {
+        VerifiableCredential credential = TestCredentials.credential(id, "did:example:student:1");
+        credential.setCredentialStatus(status);
+        credential.setEtag("etag-" + id);
+        when(readCache.findById(id)).thenReturn(Optional.of(credential));
+        when(readCache.etagOf(any())).thenReturn(credential.getEtag());
+        return credential;
+    }
+
+    @Test
+    void credentialWithoutStatusEntryIsImmutable() throws Exception {
+        cached("urn:uuid:final", null);
+
+        mockMvc.perform(get("/api/credentials/urn:uuid:final"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void revocableCredentialIsRevalidated() throws Exception {
+        cached("urn:uuid:revocable", new CredentialStatus("https://vc.example.edu/api/credentials/status/1", 7));
+
+        mockMvc.perform(get("/api/credentials/urn:uuid:revocable"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, must-revalidate, public"));
+    }
+
+    @Test
+    void revalidationFromTheEtagIndexIsNotMarkedImmutable() throws Exception {
+        when(readCache.findCachedEtag("urn:uuid:indexed")).thenReturn(Optional.of("etag-indexed"));
+
+        mockMvc.perform(get("/api/credentials/urn:uuid:indexed").header(HttpHeaders.IF_NONE_MATCH, "\"etag-indexed\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, must-revalidate, public"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.w3c.credentials.controller;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.ReactiveVerifiableCredentialRepository;
+import com.w3c.credentials.service.CredentialReadCache;
+import com.w3c.credentials.service.IdempotentIssuanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCredentialsControllerTest {
+
+    @Mock
+    private ReactiveVerifiableCredentialRepository credentialRepository;
+
+    @Mock
+    private CredentialReadCache readCache;
+
+    @Mock
+    private IdempotentIssuanceService idempotentIssuanceService;
+
+    @InjectMocks
+    private ReactiveCredentialsController controller;
+
+    @Test
+    void deletionDropsTheCredentialFromTheReadCache() {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:deleted", "did:example:student:1");
+        when(credentialRepository.findById("urn:uuid:deleted")).thenReturn(Mono.just(credential));
+        when(credentialRepository.deleteById("urn:uuid:deleted")).thenReturn(Mono.empty());
+
+        assertThat(controller.deleteCredential("urn:uuid:deleted").block().getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        verify(readCache).credentialDeleted("urn:uuid:deleted", credential);
+        verify(idempotentIssuanceService).credentialDeleted(credential);
+    }
+
+    @Test
+    void deletingAMissingCredentialStillDropsAStaleCacheEntry() {
+        when(credentialRepository.findById("urn:uuid:gone")).thenReturn(Mono.empty());
+        when(credentialRepository.deleteById("urn:uuid:gone")).thenReturn(Mono.empty());
+
+        assertThat(controller.deleteCredential("urn:uuid:gone").block().getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        verify(readCache).credentialDeleted("urn:uuid:gone", null);
+        verify(idempotentIssuanceService, never()).credentialDeleted(any());
+    }
+}
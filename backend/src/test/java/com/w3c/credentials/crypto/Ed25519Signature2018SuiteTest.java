@@ -0,0 +1,109 @@
+package com.w3c.credentials.crypto;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "credentials.signing.key-id=" + TestCredentials.KEY_ID)
+class Ed25519Signature2018SuiteTest {
+
+    @Configuration
+    @Import({CredentialCanonicalizer.class, SigningKeyProvider.class, Ed25519Signature2018Suite.class})
+    static class Config {
+        @Bean
+        PublicKeyResolver publicKeyResolver(SigningKeyProvider keyProvider) {
+            return (verificationMethod, at) -> keyProvider.getPublicKey(verificationMethod);
+        }
+    }
+
+    @Autowired
+    private Ed25519Signature2018Suite suite;
+
+    private VerifiableCredential signed() {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:signed", "did:example:student:1");
+        credential.setProof(suite.sign(credential, credential.getIssuanceDate(), "assertionMethod", TestCredentials.KEY_ID));
+        return credential;
+    }
+
+    @Test
+    void signedCredentialVerifies() {
+        VerifiableCredential credential = signed();
+
+        assertThat(credential.getProof().getJws()).startsWith("eyJhbGciOiJFZERTQSIsImI2NCI6ZmFsc2UsImNyaXQiOlsiYjY0Il19..");
+        assertThat(suite.verify(credential)).isTrue();
+    }
+
+    @Test
+    void changedClaimFailsVerification() {
+        VerifiableCredential credential = signed();
+        credential.getCredentialSubject().setDegree("Doctor of Philosophy");
+
+        assertThat(suite.verify(credential)).isFalse();
+    }
+
+    @Test
+    void changedProofOptionsFailVerification() {
+        VerifiableCredential credential = signed();
+        credential.getProof().setProofPurpose("authentication");
+
+        assertThat(suite.verify(credential)).isFalse();
+    }
+
+    @Test
+    void unknownVerificationMethodFailsVerification() {
+        VerifiableCredential credential = signed();
+        credential.getProof().setVerificationMethod("did:example:university:mit#keys-1");
+
+        assertThat(suite.verify(credential)).isFalse();
+    }
+
+    @Test
+    void malformedJwsFailsVerification() {
+        VerifiableCredential credential = signed();
+        String jws = credential.getProof().getJws();
+
+        credential.getProof().setJws(jws.replace("..", "."));
+        assertThat(suite.verify(credential)).isFalse();
+        credential.getProof().setJws("e30.." + jws.substring(jws.indexOf("..") + 2));
+        assertThat(suite.verify(credential)).isFalse();
+        credential.getProof().setJws(jws.substring(0, jws.length() - 4) + "!!!!");
+        assertThat(suite.verify(credential)).isFalse();
+    }
+
+    @Test
+    void otherProofTypeIsNotVerified() {
+        VerifiableCredential credential = signed();
+        credential.getProof().setType("RsaSignature2018");
+
+        assertThat(suite.verify(credential)).isFalse();
+    }
+
+    @Test
+    void signingForForeignKeyIsRejected() {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:foreign", "did:example:student:1");
+
+        assertThatThrownBy(() -> suite.sign(credential, LocalDateTime.now(), "assertionMethod", "did:example:other#keys-1"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void verifiesAgainstPrecomputedPayload() {
+        VerifiableCredential credential = signed();
+        Proof proof = credential.getProof();
+
+        assertThat(suite.verify(proof, new CredentialCanonicalizer().signingPayload(credential, proof))).isTrue();
+    }
+}
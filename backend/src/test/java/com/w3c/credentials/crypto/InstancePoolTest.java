@@ -0,0 +1,69 @@
+package com.w3c.credentials.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstancePoolTest {
+
+    @Test
+    void releasedInstancesAreReusedAcrossThreads() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Object> pool = new InstancePool<>(2, () -> {
+            created.incrementAndGet();
+            return new Object();
+        }, instance -> { });
+
+        Object first = pool.borrow();
+        pool.release(first);
+        Object[] borrowedElsewhere = new Object[1];
+        Thread other = new Thread(() -> borrowedElsewhere[0] = pool.borrow());
+        other.start();
+        other.join();
+
+        assertThat(borrowedElsewhere[0]).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void keepsAtMostMaxIdleInstances() {
+        InstancePool<Object> pool = new InstancePool<>(2, Object::new, instance -> { });
+
+        Object a = pool.borrow();
+        Object b = pool.borrow();
+        Object c = pool.borrow();
+        pool.release(a);
+        pool.release(b);
+        pool.release(c);
+
+        assertThat(pool.idleCount()).isEqualTo(2);
+    }
+
+    @Test
+    void instancesAreResetOnRelease() throws Exception {
+        InstancePool<MessageDigest> pool = new InstancePool<>(1, InstancePoolTest::sha256, MessageDigest::reset);
+
+        MessageDigest abandoned = pool.borrow();
+        abandoned.update("partial input left by a failed caller".getBytes(US_ASCII));
+        pool.release(abandoned);
+
+        MessageDigest digest = pool.borrow();
+        assertThat(digest).isSameAs(abandoned);
+        assertThat(HexFormat.of().formatHex(digest.digest("abc".getBytes(US_ASCII))))
+            .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
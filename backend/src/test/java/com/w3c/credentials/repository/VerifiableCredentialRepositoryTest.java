@@ -0,0 +1,129 @@
+package com.w3c.credentials.repository;
+
+import com.mongodb.client.model.IndexOptions;
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.model.Issuer;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConversionConfig.class, MongoIndexInitializer.class})
+class VerifiableCredentialRepositoryTest {
+
+    private static final String OTHER_DID = "did:example:university:mit";
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "repository_test");
+    }
+
+    @Autowired
+    private VerifiableCredentialRepository repository;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void dropCredentials() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+    }
+
+    private VerifiableCredential credential(String id, Issuer issuer) {
+        VerifiableCredential credential = TestCredentials.credential(id, "did:example:student:" + id);
+        credential.setIssuer(issuer);
+        return credential;
+    }
+
+    private Document stored(String id) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(VerifiableCredential.class))
+            .find(new Document("_id", id)).first();
+    }
+
+    private List<String> issuerIndexKeys() {
+        return mongoTemplate.indexOps(VerifiableCredential.class).getIndexInfo().stream()
+            .filter(index -> index.getName().equals("issuer_issuanceDate"))
+            .map(IndexInfo::getIndexFields)
+            .flatMap(List::stream)
+            .map(IndexField::getKey)
+            .toList();
+    }
+
+    @Test
+    void findsBareAndObjectIssuersByDid() {
+        repository.save(credential("urn:uuid:bare", Issuer.of(TestCredentials.ISSUER_DID)));
+        repository.save(credential("urn:uuid:object", Issuer.of(TestCredentials.ISSUER_DID, "Stanford University")));
+        repository.save(credential("urn:uuid:other", Issuer.of(OTHER_DID, "MIT")));
+
+        assertThat(stored("urn:uuid:bare").get("issuer")).isEqualTo(TestCredentials.ISSUER_DID);
+        assertThat(stored("urn:uuid:object").get("issuer"))
+            .isEqualTo(new Document("id", TestCredentials.ISSUER_DID).append("name", "Stanford University"));
+
+        List<VerifiableCredential> found = repository.findByIssuerDID(TestCredentials.ISSUER_DID);
+
+        assertThat(found).extracting(VerifiableCredential::getId).containsExactlyInAnyOrder("urn:uuid:bare", "urn:uuid:object");
+        assertThat(found).extracting(VerifiableCredential::getIssuer)
+            .containsExactlyInAnyOrder(Issuer.of(TestCredentials.ISSUER_DID), Issuer.of(TestCredentials.ISSUER_DID, "Stanford University"));
+    }
+
+    @Test
+    void issuerIdIsKeptAsWrittenInQueriesAndIndexes() {
+        indexInitializer.prepareCollection();
+
+        Document filter = new QueryMapper(mongoTemplate.getConverter()).getMappedObject(
+            new Document("issuer.id", TestCredentials.ISSUER_DID),
+            mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(VerifiableCredential.class));
+
+        assertThat(filter).isEqualTo(new Document("issuer.id", TestCredentials.ISSUER_DID));
+        assertThat(issuerIndexKeys()).containsExactly("issuer.id", "issuanceDate");
+    }
+
+    @Test
+    void issuerIndexOnUnderscoreIdIsReplaced() {
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(VerifiableCredential.class)).createIndex(
+            new Document("issuer._id", 1).append("issuanceDate", -1),
+            new IndexOptions().name("issuer_issuanceDate"));
+
+        indexInitializer.prepareCollection();
+
+        assertThat(issuerIndexKeys()).containsExactly("issuer.id", "issuanceDate");
+    }
+
+    @Test
+    void legacyIssuerIsMigratedAndFound() {
+        VerifiableCredential legacy = credential("urn:uuid:legacy", Issuer.of(TestCredentials.ISSUER_DID, "Stanford University"));
+        Document document = new Document();
+        mongoTemplate.getConverter().write(legacy, document);
+        document.put("issuer", new Document("_id", TestCredentials.ISSUER_DID)
+            .append("name", "Stanford University")
+            .append("_class", "com.w3c.credentials.model.Issuer"));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(VerifiableCredential.class)).insertOne(document);
+
+        indexInitializer.prepareCollection();
+
+        assertThat(repository.findByIssuerDID(TestCredentials.ISSUER_DID)).extracting(VerifiableCredential::getIssuer)
+            .containsExactly(Issuer.of(TestCredentials.ISSUER_DID, "Stanford University"));
+    }
+}
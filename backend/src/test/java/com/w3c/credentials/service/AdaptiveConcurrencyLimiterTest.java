@@ -0,0 +1,81 @@
+package com.w3c.credentials.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Admits as many requests as the limit allows, then completes them all within the target
+     */
+    private static void fastRound(AdaptiveConcurrencyLimiter limiter) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(1, false);
+        }
+    }
+
+    @Test
+    void limitGrowsByAboutOnePerRoundOfFastRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 1000, TARGET);
+
+        for (int round = 0; round < 20; round++) {
+            fastRound(limiter);
+        }
+
+        // Half of each round completes while the limit is at least half used, so about half a step per round
+        assertThat(limiter.getLimit()).isBetween(15, 30);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void idleCapacityDoesNotRaiseTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 1000, TARGET);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(1, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void slowResponseCutsTheLimitOncePerTarget() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 1000, TimeUnit.MILLISECONDS.toNanos(20));
+        Thread.sleep(25);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.SECONDS.toNanos(1), false);
+        limiter.release(TimeUnit.SECONDS.toNanos(1), false);
+
+        assertThat(limiter.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void fixedLimitNeverAdapts() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed(3);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(TimeUnit.MINUTES.toNanos(1), true);
+        limiter.release(1, false);
+        limiter.release(1, false);
+        for (int round = 0; round < 50; round++) {
+            fastRound(limiter);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,74 @@
+package com.w3c.credentials.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlServiceTest {
+
+    private static AdmissionControlService service() {
+        return new AdmissionControlService(new CredentialMetrics(new SimpleMeterRegistry()), true, Set.of("partner-key"), 1000,
+            1000, 1000, Duration.ofNanos(1),
+            1000, 1000, Duration.ofNanos(1),
+            1000, 1000, 8,
+            1000, 1000, 4,
+            32, 4, 256);
+    }
+
+    private static int limitOf(AdmissionControlService service, AdmissionControlService.Group group) {
+        return (Integer) ((Map<?, ?>) service.getStats().get(group.getTag())).get("concurrencyLimit");
+    }
+
+    @Test
+    void batchEndpointsHaveTheirOwnGroups() {
+        assertThat(AdmissionControlService.groupOf("POST", "/api/credentials/verify/batch")).isEqualTo(AdmissionControlService.Group.VERIFY_BATCH);
+        assertThat(AdmissionControlService.groupOf("POST", "/api/credentials/verify/ids")).isEqualTo(AdmissionControlService.Group.VERIFY_BATCH);
+        assertThat(AdmissionControlService.groupOf("POST", "/api/credentials/issue/batch")).isEqualTo(AdmissionControlService.Group.ISSUE_BATCH);
+        assertThat(AdmissionControlService.groupOf("POST", "/api/credentials/verify/urn:uuid:1")).isEqualTo(AdmissionControlService.Group.VERIFY);
+        assertThat(AdmissionControlService.groupOf("POST", "/api/credentials/issue")).isEqualTo(AdmissionControlService.Group.ISSUE);
+        assertThat(AdmissionControlService.groupOf("GET", "/api/credentials/verify/batch")).isNull();
+    }
+
+    @Test
+    void slowBatchesDoNotShrinkTheSingleRequestLimit() throws InterruptedException {
+        AdmissionControlService service = service();
+        Thread.sleep(5);
+
+        for (int i = 0; i < 8; i++) {
+            AdmissionControlService.Admission admission = service.admit("POST", "/api/credentials/verify/batch", "ip:10.0.0.1");
+            assertThat(admission.isAdmitted()).isTrue();
+            service.complete(admission, 500);
+        }
+        assertThat(limitOf(service, AdmissionControlService.Group.VERIFY)).isEqualTo(32);
+        assertThat(limitOf(service, AdmissionControlService.Group.VERIFY_BATCH)).isEqualTo(8);
+
+        service.complete(service.admit("POST", "/api/credentials/verify", "ip:10.0.0.1"), 500);
+        assertThat(limitOf(service, AdmissionControlService.Group.VERIFY)).isEqualTo(28);
+    }
+
+    @Test
+    void batchConcurrencyIsCappedSeparately() {
+        AdmissionControlService service = service();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(service.admit("POST", "/api/credentials/issue/batch", "ip:10.0.0." + i).isAdmitted()).isTrue();
+        }
+
+        assertThat(service.admit("POST", "/api/credentials/issue/batch", "ip:10.0.0.9").rejection().value()).isEqualTo(503);
+        assertThat(service.admit("POST", "/api/credentials/issue", "ip:10.0.0.9").isAdmitted()).isTrue();
+    }
+
+    @Test
+    void onlyConfiguredApiKeysGetTheirOwnBucket() {
+        AdmissionControlService service = service();
+
+        assertThat(service.clientKey("partner-key", "10.0.0.1")).isEqualTo("key:partner-key");
+        assertThat(service.clientKey("made-up-key", "10.0.0.1")).isEqualTo("ip:10.0.0.1");
+        assertThat(service.clientKey(null, "10.0.0.1")).isEqualTo("ip:10.0.0.1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.dto.IssuanceStatus;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Acknowledging without touching the database, and resolving a degree accepted twice when it is stored
+ */
+@DataMongoTest
+@DirtiesContext
+@Import({IdempotentIssuanceService.class, AsyncIssuanceService.class, CredentialReadCache.class, CredentialCanonicalizer.class,
+    MongoConversionConfig.class, MongoIndexInitializer.class, IdempotentIssuanceServiceTest.Metrics.class})
+@TestPropertySource(properties = {
+    "credentials.issuance.async.enabled=true",
+    "credentials.issuance.async.flush-interval=PT0.01S"
+})
+class AsyncIssuanceServiceTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "async_issuance_test");
+        registry.add("credentials.issuance.async.journal-dir", () -> journalDirectory.toString());
+    }
+
+    @Autowired
+    private IdempotentIssuanceService issuanceService;
+
+    @Autowired
+    private AsyncIssuanceService asyncIssuanceService;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private CredentialIssuerService issuerService;
+
+    @BeforeEach
+    void freshCollection() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        indexInitializer.prepareCollection();
+        IdempotentIssuanceServiceTest.stubIssuer(issuerService);
+    }
+
+    @AfterEach
+    void dropCollection() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+    }
+
+    /**
+     * A credential another instance stored for the degree, which this one has not seen
+     */
+    private VerifiableCredential storedElsewhere(String degree) {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:other-node-" + degree.hashCode(), IdempotentIssuanceServiceTest.HOLDER_DID);
+        credential.getCredentialSubject().setDegree(degree);
+        credential.setIssuanceKey(IdempotentIssuanceServiceTest.key(IdempotentIssuanceServiceTest.request(degree)));
+        return mongoTemplate.insert(credential);
+    }
+
+    private IssuanceStatus awaitSettled(String credentialId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        IssuanceStatus status = asyncIssuanceService.getStatus(credentialId).orElseThrow();
+        while (status.getState() == IssuanceStatus.State.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = asyncIssuanceService.getStatus(credentialId).orElseThrow();
+        }
+        return status;
+    }
+
+    @Test
+    void acceptedCredentialIsStored() throws Exception {
+        IdempotentIssuanceService.Issuance issuance = issuanceService.issue(IdempotentIssuanceServiceTest.request("Master of Arts"), null);
+
+        assertThat(issuance.replayed()).isFalse();
+        assertThat(awaitSettled(issuance.credential().getId()).getState()).isEqualTo(IssuanceStatus.State.STORED);
+        assertThat(mongoTemplate.findById(issuance.credential().getId(), VerifiableCredential.class)).isNotNull();
+    }
+
+    @Test
+    void degreeStoredByAnotherInstanceSupersedesTheAcceptedCredential() throws Exception {
+        VerifiableCredential other = storedElsewhere("Master of Science");
+
+        // Accepted without reading the database, then rejected by the unique issuance key when stored
+        IdempotentIssuanceService.Issuance accepted = issuanceService.issue(IdempotentIssuanceServiceTest.request("Master of Science"), null);
+        IssuanceStatus status = awaitSettled(accepted.credential().getId());
+
+        assertThat(accepted.replayed()).isFalse();
+        assertThat(status.getState()).isEqualTo(IssuanceStatus.State.SUPERSEDED);
+        assertThat(status.getCredentialUrl()).isEqualTo("/api/credentials/" + other.getId());
+        assertThat(mongoTemplate.count(new Query(), VerifiableCredential.class)).isEqualTo(1);
+
+        IdempotentIssuanceService.Issuance retry = issuanceService.issue(IdempotentIssuanceServiceTest.request("Master of Science"), null);
+
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.credential().getId()).isEqualTo(other.getId());
+    }
+}
@@ -0,0 +1,123 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.model.VerifiableCredential;
+import com.w3c.credentials.repository.VerifiableCredentialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DataMongoTest
+@Import({MongoConversionConfig.class, CredentialCanonicalizer.class, CredentialReadCache.class})
+@TestPropertySource(properties = "credentials.read-cache.ttl=PT0.5S")
+class CredentialReadCacheTest {
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "read_cache_test");
+    }
+
+    @Autowired
+    private CredentialReadCache readCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @SpyBean
+    private VerifiableCredentialRepository credentialRepository;
+
+    @BeforeEach
+    void clear() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+    }
+
+    private VerifiableCredential storeElsewhere(String id) {
+        VerifiableCredential credential = TestCredentials.credential(id, "did:example:student:" + id);
+        credential.setEtag("etag-" + id);
+        return mongoTemplate.insert(credential);
+    }
+
+    @Test
+    void cachedEtagIsServedWhileTheCredentialExists() {
+        VerifiableCredential credential = storeElsewhere("urn:uuid:kept");
+        readCache.credentialsStored(List.of(credential));
+
+        assertThat(readCache.findCachedEtag(credential.getId())).contains("etag-urn:uuid:kept");
+    }
+
+    @Test
+    void revalidationNeverQueriesTheDatabase() {
+        VerifiableCredential credential = storeElsewhere("urn:uuid:revalidated");
+        readCache.credentialsStored(List.of(credential));
+        clearInvocations(credentialRepository);
+
+        assertThat(readCache.findCachedEtag(credential.getId())).contains("etag-urn:uuid:revalidated");
+        verifyNoInteractions(credentialRepository);
+    }
+
+    @Test
+    void cachedEtagIsDroppedOnceAnotherNodesDeletionOutlivesTheTtl() throws Exception {
+        VerifiableCredential credential = storeElsewhere("urn:uuid:deleted");
+        readCache.credentialsStored(List.of(credential));
+
+        // Deleted directly, as another node would, so this node's cache never hears of it
+        mongoTemplate.remove(credential);
+        Thread.sleep(600);
+
+        assertThat(readCache.findCachedEtag(credential.getId())).isEmpty();
+        assertThat(readCache.findById(credential.getId())).isEmpty();
+    }
+
+    @Test
+    void etagIsForgottenWhenDeletedLocally() {
+        VerifiableCredential credential = storeElsewhere("urn:uuid:local");
+        readCache.credentialStored(credential);
+        assertThat(readCache.findCachedEtag(credential.getId())).isPresent();
+
+        readCache.credentialDeleted(credential.getId(), credential);
+
+        assertThat(readCache.findCachedEtag(credential.getId())).isEmpty();
+    }
+
+    @Test
+    void deletionOnAnotherNodeIsSeenOnceTheEntryExpires() throws Exception {
+        VerifiableCredential credential = storeElsewhere("urn:uuid:expiring");
+        assertThat(readCache.findById(credential.getId())).isPresent();
+
+        mongoTemplate.remove(credential);
+        Thread.sleep(600);
+
+        assertThat(readCache.findById(credential.getId())).isEmpty();
+    }
+
+    @Test
+    void issuanceOnAnotherNodeJoinsTheHoldersListOnceItExpires() throws Exception {
+        VerifiableCredential first = storeElsewhere("urn:uuid:wallet-1");
+        String holder = first.getCredentialSubject().getId();
+        assertThat(readCache.findByHolder(holder)).extracting(VerifiableCredential::getId).containsExactly(first.getId());
+
+        VerifiableCredential second = TestCredentials.credential("urn:uuid:wallet-2", holder);
+        second.setIssuanceDate(first.getIssuanceDate().plusDays(1));
+        mongoTemplate.insert(second);
+        Thread.sleep(600);
+
+        assertThat(readCache.findByHolder(holder)).extracting(VerifiableCredential::getId)
+            .containsExactly(second.getId(), first.getId());
+    }
+}
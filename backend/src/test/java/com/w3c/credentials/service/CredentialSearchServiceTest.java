@@ -0,0 +1,119 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.dto.CredentialPage;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@Import({MongoConversionConfig.class, CredentialSearchService.class})
+class CredentialSearchServiceTest {
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "search_test");
+    }
+
+    @Autowired
+    private CredentialSearchService searchService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void clear() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+    }
+
+    private void store(String id, String name, int minutesAgo) {
+        VerifiableCredential credential = TestCredentials.credential(id, "did:example:student:" + id);
+        credential.getCredentialSubject().setName(name);
+        credential.setIssuanceDate(credential.getIssuanceDate().minusMinutes(minutesAgo));
+        CredentialSearchService.indexName(credential.getCredentialSubject());
+        mongoTemplate.insert(credential);
+    }
+
+    private List<String> allPages(String name, int limit) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CredentialPage<VerifiableCredential> page = searchService.searchByName(name, cursor, limit);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(limit);
+            page.getItems().forEach(credential -> ids.add(credential.getId()));
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    void ranksTiersBeforeRecencyAcrossPages() {
+        // Many newer prefix matches must not hide an older exact match
+        for (int i = 0; i < 40; i++) {
+            store("prefix-" + i, "Lee Annabel " + i, i);
+        }
+        store("tokens", "Lee Ann", 100);
+        store("token-prefix", "Lee Annika", 110);
+        store("exact", "Ann", 1000);
+        store("name-prefix", "Ann Smith", 500);
+        store("other", "Bob Marley", 0);
+
+        List<String> ids = allPages("ann", 7);
+
+        assertThat(ids).hasSize(44).doesNotHaveDuplicates();
+        assertThat(ids.subList(0, 2)).containsExactly("exact", "name-prefix");
+        assertThat(ids.get(2)).isEqualTo("tokens");
+        // Token prefixes, newest first
+        assertThat(ids.subList(3, 6)).containsExactly("prefix-0", "prefix-1", "prefix-2");
+        assertThat(ids.get(43)).isEqualTo("token-prefix");
+        assertThat(ids).doesNotContain("other");
+    }
+
+    @Test
+    void pagesEndingOnATierBoundaryContinueWithTheNextTier() {
+        store("exact-1", "Ann", 1);
+        store("exact-2", "Ann", 2);
+        store("prefix", "Ann Smith", 0);
+
+        CredentialPage<VerifiableCredential> first = searchService.searchByName("Ann", null, 2);
+        assertThat(first.getItems()).extracting(VerifiableCredential::getId).containsExactly("exact-1", "exact-2");
+        assertThat(first.isHasMore()).isTrue();
+
+        CredentialPage<VerifiableCredential> second = searchService.searchByName("Ann", first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(VerifiableCredential::getId).containsExactly("prefix");
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void everyQueryWordMustPrefixANameWord() {
+        store("anna-smith", "Anna Smith", 0);
+        store("anna-jones", "Anna Jones", 1);
+        store("jose", "José O'Neil", 2);
+
+        assertThat(new HashSet<>(allPages("ann smi", 10))).containsExactly("anna-smith");
+        assertThat(allPages("JOSE oneil", 10)).containsExactly("jose");
+    }
+
+    @Test
+    void rejectsMalformedCursorsAndEmptyTerms() {
+        assertThatThrownBy(() -> searchService.searchByName("ann", "12", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.searchByName("ann", "9.abc", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.searchByName(" -- ", null, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
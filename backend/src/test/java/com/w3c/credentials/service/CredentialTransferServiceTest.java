@@ -0,0 +1,228 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.model.ClaimDisclosure;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.SelectiveDisclosure;
+import com.w3c.credentials.model.StatusList;
+import com.w3c.credentials.model.VerifiableCredential;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@Import({CredentialTransferService.class, CredentialCanonicalizer.class, MongoConversionConfig.class, MongoIndexInitializer.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {"credentials.transfer.chunk-size=2", "credentials.transfer.workers=2"})
+class CredentialTransferServiceTest {
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "transfer_test");
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private CredentialTransferService transferService;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    @AfterEach
+    void dropCredentials() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        mongoTemplate.dropCollection(StatusList.class);
+    }
+
+    private static VerifiableCredential credential(int number) {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:transfer-" + number, "did:example:student:" + number);
+        credential.setProof(new Proof("Ed25519Signature2018", credential.getIssuanceDate(), "assertionMethod", TestCredentials.KEY_ID, "jws"));
+        return credential;
+    }
+
+    private Path writeInput(List<String> lines) throws Exception {
+        Path input = directory.resolve("credentials.ndjson");
+        Files.write(input, lines);
+        return input;
+    }
+
+    @Test
+    void rerunResumesAfterTheCheckpointAndCountsInFlightInsertsAsDuplicates() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            lines.add(objectMapper.writeValueAsString(credential(i)));
+        }
+        lines.add(4, "{\"id\": \"urn:uuid:transfer-invalid\"}");
+        Path input = writeInput(lines);
+        Path rejects = directory.resolve("rejects.ndjson");
+        Path checkpoint = directory.resolve("import.checkpoint");
+
+        // An earlier run stored lines 1-2 and checkpointed them, then crashed with line 3 inserted but not checkpointed
+        indexInitializer.prepareCollection();
+        mongoTemplate.insert(credential(1));
+        mongoTemplate.insert(credential(2));
+        mongoTemplate.insert(credential(3));
+        Files.write(checkpoint, objectMapper.writeValueAsBytes(new CredentialTransferService.Checkpoint(
+            input.toAbsolutePath().normalize().toString(), 2, 2, 0, 0, 0)));
+
+        CredentialTransferService.ImportSummary summary = transferService.importCredentials(input, rejects, checkpoint);
+
+        assertThat(summary).isEqualTo(new CredentialTransferService.ImportSummary(7, 5, 1, 1));
+        assertThat(mongoTemplate.count(new Query(), VerifiableCredential.class)).isEqualTo(6);
+        assertThat(checkpoint).doesNotExist();
+        List<String> rejected = Files.readAllLines(rejects);
+        assertThat(rejected).hasSize(1);
+        JsonNode reject = objectMapper.readTree(rejected.get(0));
+        assertThat(reject.get("line").asLong()).isEqualTo(5);
+    }
+
+    @Test
+    void resumeCutsOffRejectsWrittenAfterTheCheckpoint() throws Exception {
+        Path input = writeInput(List.of("{\"id\": \"urn:uuid:transfer-invalid\"}", objectMapper.writeValueAsString(credential(1))));
+        Path rejects = directory.resolve("rejects.ndjson");
+        Path checkpoint = directory.resolve("import.checkpoint");
+        // An earlier run checkpointed before this file and crashed after flushing the reject of line 1
+        String earlier = "{\"line\": 0}\n";
+        Files.writeString(rejects, earlier + "{\"line\": 1}\n");
+        Files.write(checkpoint, objectMapper.writeValueAsBytes(new CredentialTransferService.Checkpoint(
+            input.toAbsolutePath().normalize().toString(), 0, 0, 0, 0, earlier.length())));
+
+        transferService.importCredentials(input, rejects, checkpoint);
+
+        List<String> rejected = Files.readAllLines(rejects);
+        assertThat(rejected).hasSize(2);
+        assertThat(rejected.get(0)).isEqualTo("{\"line\": 0}");
+        assertThat(objectMapper.readTree(rejected.get(1)).get("line").asLong()).isEqualTo(1);
+    }
+
+    private static StatusList statusList(String id, int nextIndex, int... revoked) {
+        BitSet bits = new BitSet();
+        for (int index : revoked) {
+            bits.set(index);
+        }
+        StatusList list = new StatusList();
+        list.setId(id);
+        list.setIssuer(TestCredentials.ISSUER_DID);
+        list.setStatusPurpose(CredentialStatus.PURPOSE_REVOCATION);
+        list.setSize(1024);
+        list.setNextIndex(nextIndex);
+        list.setEncodedList(StatusListCodec.encode(bits, 1024));
+        list.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        return list;
+    }
+
+    @Test
+    void credentialPointingIntoAMissingStatusListIsRejectedUntilTheListIsImported() throws Exception {
+        VerifiableCredential credential = credential(1);
+        credential.setCredentialStatus(new CredentialStatus("http://localhost:8001" + StatusListService.STATUS_PATH + "7", 3));
+        mongoTemplate.insert(credential);
+        mongoTemplate.insert(statusList("7", 10, 3));
+        Path export = directory.resolve("export.ndjson");
+        Path lists = directory.resolve("export.status-lists.ndjson");
+        transferService.exportCredentials(export);
+        assertThat(transferService.exportStatusLists(lists)).isEqualTo(1);
+        dropCredentials();
+
+        CredentialTransferService.ImportSummary withoutLists = transferService.importCredentials(
+            export, directory.resolve("rejects.ndjson"), directory.resolve("import.checkpoint"));
+        assertThat(withoutLists.rejected()).isEqualTo(1);
+        assertThat(Files.readString(directory.resolve("rejects.ndjson"))).contains("Status list 7 is not stored");
+
+        assertThat(transferService.importStatusLists(lists)).isEqualTo(1);
+        CredentialTransferService.ImportSummary withLists = transferService.importCredentials(
+            export, directory.resolve("rejects.ndjson"), directory.resolve("import.checkpoint"));
+        assertThat(withLists.imported()).isEqualTo(1);
+        assertThat(StatusListCodec.decode(mongoTemplate.findById("7", StatusList.class).getEncodedList()).get(3)).isTrue();
+    }
+
+    @Test
+    void importedStatusListIsMergedIntoTheStoredOne() throws Exception {
+        StatusList stored = statusList("1", 40, 5);
+        stored.setVersion(4);
+        mongoTemplate.insert(stored);
+        Path lists = directory.resolve("lists.ndjson");
+        Files.write(lists, List.of(objectMapper.writeValueAsString(statusList("1", 25, 9))));
+
+        transferService.importStatusLists(lists);
+        transferService.importStatusLists(lists);
+
+        StatusList merged = mongoTemplate.findById("1", StatusList.class);
+        BitSet bits = StatusListCodec.decode(merged.getEncodedList());
+        assertThat(bits.get(5)).isTrue();
+        assertThat(bits.get(9)).isTrue();
+        assertThat(bits.cardinality()).isEqualTo(2);
+        assertThat(merged.getNextIndex()).isEqualTo(40);
+        assertThat(merged.getVersion()).isEqualTo(5);
+    }
+
+    @Test
+    void exportKeepsTheSelectiveDisclosureDataTheApiWithholds() throws Exception {
+        VerifiableCredential credential = credential(1);
+        credential.setSelectiveDisclosure(new SelectiveDisclosure(credential.getProof(),
+            List.of(new ClaimDisclosure("degree", "digest", "disclosure"))));
+        mongoTemplate.insert(credential);
+        Path export = directory.resolve("export.ndjson");
+
+        transferService.exportCredentials(export);
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        transferService.importCredentials(export, directory.resolve("rejects.ndjson"), directory.resolve("import.checkpoint"));
+
+        VerifiableCredential imported = mongoTemplate.findById(credential.getId(), VerifiableCredential.class);
+        assertThat(imported.getSelectiveDisclosure().getClaims()).extracting(ClaimDisclosure::getDisclosure)
+            .containsExactly("disclosure");
+        assertThat(objectMapper.writeValueAsString(imported)).doesNotContain("selectiveDisclosure");
+    }
+
+    @Test
+    void checkpointOfAnotherFileIsRefused() throws Exception {
+        Path input = writeInput(List.of(objectMapper.writeValueAsString(credential(1))));
+        Path checkpoint = directory.resolve("import.checkpoint");
+        Files.write(checkpoint, objectMapper.writeValueAsBytes(Map.of(
+            "input", "/elsewhere/other.ndjson", "lines", 1, "imported", 1, "duplicates", 0, "rejected", 0)));
+
+        assertThatThrownBy(() -> transferService.importCredentials(input, directory.resolve("rejects.ndjson"), checkpoint))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("/elsewhere/other.ndjson");
+        assertThat(mongoTemplate.count(new Query(), VerifiableCredential.class)).isZero();
+    }
+}
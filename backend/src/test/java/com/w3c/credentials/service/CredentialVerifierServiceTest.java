@@ -0,0 +1,140 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.crypto.PublicKeyResolver;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.TrustedKey;
+import com.w3c.credentials.model.VerifiableCredential;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "credentials.signing.key-id=" + TestCredentials.KEY_ID)
+class CredentialVerifierServiceTest {
+
+    private static final String STATUS_URL = "https://169.254.169.254/latest/meta-data";
+
+    @Configuration
+    @Import({CredentialVerifierService.class, CredentialCanonicalizer.class, SigningKeyProvider.class,
+        Ed25519Signature2018Suite.class})
+    static class Config {
+        // Takes the place of the mocked registry's key resolution
+        @Bean
+        @Primary
+        PublicKeyResolver publicKeyResolver(SigningKeyProvider keyProvider) {
+            return (verificationMethod, at) -> keyProvider.getPublicKey(verificationMethod);
+        }
+
+        @Bean
+        SignatureVerificationCache signatureVerificationCache() {
+            return new SignatureVerificationCache(1000, Duration.ofMinutes(10));
+        }
+
+        @Bean
+        CredentialMetrics credentialMetrics() {
+            return new CredentialMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        CoarseClock coarseClock() {
+            return new CoarseClock(Duration.ofSeconds(1));
+        }
+    }
+
+    @Autowired
+    private CredentialVerifierService verifierService;
+
+    @Autowired
+    private Ed25519Signature2018Suite suite;
+
+    @Autowired
+    private SigningKeyProvider keyProvider;
+
+    @MockBean
+    private TrustRegistry trustRegistry;
+
+    @MockBean
+    private CredentialStatusRegistry statusRegistry;
+
+    @BeforeEach
+    void trustTheTestIssuer() {
+        when(trustRegistry.isTrusted(anyString(), any())).thenAnswer(call -> TestCredentials.ISSUER_DID.equals(call.getArgument(0)));
+        when(trustRegistry.findKey(TestCredentials.KEY_ID)).thenReturn(new TrustRegistry.ResolvedKey(
+            TestCredentials.ISSUER_DID, keyProvider.getPublicKey(TestCredentials.KEY_ID), new TrustedKey(TestCredentials.KEY_ID, null)));
+    }
+
+    private VerifiableCredential signedWithStatus() {
+        VerifiableCredential credential = TestCredentials.credential("urn:uuid:status", "did:example:student:1");
+        credential.setExpirationDate(credential.getIssuanceDate().plusYears(100));
+        credential.setCredentialStatus(new CredentialStatus(STATUS_URL, 3));
+        credential.setProof(suite.sign(credential, credential.getIssuanceDate(), "assertionMethod", TestCredentials.KEY_ID));
+        return credential;
+    }
+
+    @Test
+    void genuineCredentialIsCheckedForRevocation() {
+        VerifiableCredential credential = signedWithStatus();
+
+        VerificationResult result = verifierService.verifyCredential(credential);
+
+        assertThat(result.isValid()).isTrue();
+        verify(statusRegistry).isRevoked(credential.getCredentialStatus(), TestCredentials.ISSUER_DID);
+    }
+
+    @Test
+    void forgedCredentialNeverReachesItsStatusList() {
+        VerifiableCredential credential = signedWithStatus();
+        credential.getCredentialSubject().setName("Mallory");
+
+        VerificationResult result = verifierService.verifyCredential(credential);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isHasValidProof()).isFalse();
+        verify(statusRegistry, never()).isRevoked(any(), any());
+    }
+
+    @Test
+    void untrustedIssuerNeverReachesItsStatusList() {
+        when(trustRegistry.isTrusted(anyString(), any())).thenReturn(false);
+
+        VerificationResult result = verifierService.verifyCredential(signedWithStatus());
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isHasValidIssuer()).isFalse();
+        verify(statusRegistry, never()).isRevoked(any(), any());
+    }
+
+    @Test
+    void unreadableStatusListFailsClosed() {
+        VerifiableCredential credential = signedWithStatus();
+        when(statusRegistry.isRevoked(any(), any())).thenThrow(new IllegalStateException("Status list is not on a trusted host"));
+
+        VerificationResult result = verifierService.verifyCredential(credential);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isNotRevoked()).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package com.w3c.credentials.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = {"credentials.health.interval=PT0.05S", "credentials.health.stale-after=PT1S"})
+class DatabaseHealthMonitorTest {
+
+    private static final CountDownLatch SWEEP_RELEASED = new CountDownLatch(1);
+
+    @Configuration
+    @EnableScheduling
+    @Import(DatabaseHealthMonitor.class)
+    static class Config {
+        // Lets @Value bind durations the way Spring Boot does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        LongSweep longSweep() {
+            return new LongSweep();
+        }
+    }
+
+    /**
+     * Holds Spring's scheduler thread the way a long expiry sweep would
+     */
+    static class LongSweep {
+        @Scheduled(fixedDelay = 60_000)
+        public void sweep() throws InterruptedException {
+            SWEEP_RELEASED.await(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Autowired
+    private DatabaseHealthMonitor monitor;
+
+    @MockBean
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private MongoPoolMonitor poolMonitor;
+
+    @AfterAll
+    static void releaseSweep() {
+        SWEEP_RELEASED.countDown();
+    }
+
+    @Test
+    void pingsKeepGoingWhileTheSharedSchedulerIsBusy() throws Exception {
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document("ok", 1));
+        Instant first = awaitConnected();
+
+        Thread.sleep(1500);
+
+        assertThat(monitor.getStatus()).isEqualTo(DatabaseHealthMonitor.Status.CONNECTED);
+        assertThat((Instant) monitor.getDetails().get("checkedAt")).isAfter(first);
+        assertThat(monitor.isAvailable()).isTrue();
+    }
+
+    private Instant awaitConnected() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (monitor.getStatus() != DatabaseHealthMonitor.Status.CONNECTED && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(monitor.getStatus()).isEqualTo(DatabaseHealthMonitor.Status.CONNECTED);
+        return (Instant) monitor.getDetails().get("checkedAt");
+    }
+}
@@ -0,0 +1,192 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.config.MongoConversionConfig;
+import com.w3c.credentials.config.MongoIndexInitializer;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.dto.IssueCredentialRequest;
+import com.w3c.credentials.model.VerifiableCredential;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@DataMongoTest
+@Import({IdempotentIssuanceService.class, AsyncIssuanceService.class, CredentialReadCache.class, CredentialCanonicalizer.class,
+    MongoConversionConfig.class, MongoIndexInitializer.class, IdempotentIssuanceServiceTest.Metrics.class})
+@TestPropertySource(properties = "credentials.issuance.dedup.wait-timeout=PT1S")
+class IdempotentIssuanceServiceTest {
+
+    static final String HOLDER_DID = "did:example:student:dedup";
+
+    static class Metrics {
+        @Bean
+        CredentialMetrics credentialMetrics() {
+            return new CredentialMetrics(new SimpleMeterRegistry());
+        }
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "dedup_test");
+    }
+
+    @Autowired
+    private IdempotentIssuanceService issuanceService;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private CredentialIssuerService issuerService;
+
+    @BeforeEach
+    void freshCollection() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+        indexInitializer.prepareCollection();
+        stubIssuer(issuerService);
+    }
+
+    @AfterEach
+    void dropCollection() {
+        mongoTemplate.dropCollection(VerifiableCredential.class);
+    }
+
+    /**
+     * Every call signs a new credential for the requested degree, as the real issuer does
+     */
+    static void stubIssuer(CredentialIssuerService issuerService) {
+        when(issuerService.issuanceKey(any())).thenAnswer(call -> key(call.getArgument(0)));
+        when(issuerService.issueBachelorDegree(any())).thenAnswer(call -> {
+            IssueCredentialRequest request = call.getArgument(0);
+            VerifiableCredential credential = TestCredentials.credential("urn:uuid:" + UUID.randomUUID(), request.getStudentDID());
+            credential.getCredentialSubject().setDegree(request.getDegreeTitle());
+            credential.setIssuanceKey(key(request));
+            return credential;
+        });
+    }
+
+    static String key(IssueCredentialRequest request) {
+        return CredentialIssuerService.issuanceKey(TestCredentials.ISSUER_DID, request.getStudentDID(), request.getDegreeTitle());
+    }
+
+    static IssueCredentialRequest request(String degree) {
+        return new IssueCredentialRequest("Anna Smith", HOLDER_DID, degree);
+    }
+
+    @Test
+    void concurrentRetriesGetOneCredential() throws Exception {
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotentIssuanceService.Issuance>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit((Callable<IdempotentIssuanceService.Issuance>) () -> {
+                    start.await();
+                    return issuanceService.issue(request("Bachelor of Science"), null);
+                }));
+            }
+            start.countDown();
+            List<IdempotentIssuanceService.Issuance> issuances = new ArrayList<>();
+            for (Future<IdempotentIssuanceService.Issuance> result : results) {
+                issuances.add(result.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(issuances).extracting(issuance -> issuance.credential().getId()).containsOnly(issuances.get(0).credential().getId());
+            assertThat(issuances).filteredOn(issuance -> !issuance.replayed()).hasSize(1);
+            assertThat(mongoTemplate.count(new Query(), VerifiableCredential.class)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deletedCredentialIsForgotten() throws Exception {
+        VerifiableCredential first = issuanceService.issue(request("Bachelor of Arts"), null).credential();
+        mongoTemplate.remove(first);
+        issuanceService.credentialDeleted(first);
+
+        IdempotentIssuanceService.Issuance again = issuanceService.issue(request("Bachelor of Arts"), null);
+
+        assertThat(again.replayed()).isFalse();
+        assertThat(again.credential().getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void retryStopsWaitingForAStuckIssuance() throws Exception {
+        CountDownLatch signing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(call -> {
+            signing.countDown();
+            release.await();
+            IssueCredentialRequest request = call.getArgument(0);
+            VerifiableCredential credential = TestCredentials.credential("urn:uuid:" + UUID.randomUUID(), request.getStudentDID());
+            credential.setIssuanceKey(key(request));
+            return credential;
+        }).when(issuerService).issueBachelorDegree(any());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotentIssuanceService.Issuance> first = executor.submit(() -> issuanceService.issue(request("Bachelor of Laws"), null));
+            assertThat(signing.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> issuanceService.issue(request("Bachelor of Laws"), null))
+                .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS).replayed()).isFalse();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void idempotencyKeyReusedForAnotherDegreeIsAConflict() throws Exception {
+        issuanceService.issue(request("Bachelor of Music"), "key-1");
+
+        assertThatThrownBy(() -> issuanceService.issue(request("Bachelor of Fine Arts"), "key-1"))
+            .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void signingFailureIsNotAConflict() {
+        doThrow(new IllegalArgumentException("No signing key")).when(issuerService).issueBachelorDegree(any());
+
+        assertThatThrownBy(() -> issuanceService.issue(request("Bachelor of Design"), "key-2"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .isNotInstanceOf(IdempotencyConflictException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.w3c.credentials.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IssuanceJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsQueuedDuringACommitShareOneSync() throws Exception {
+        IssuanceJournal journal = new IssuanceJournal(directory, 1 << 20, true);
+        journal.open();
+        int appenders = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(appenders);
+        List<Thread> threads = new ArrayList<>();
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            // Holding the journal's monitor stalls the first committer before it drains the queue
+            synchronized (journal) {
+                for (int i = 0; i < appenders; i++) {
+                    String record = "{\"n\": " + i + "}";
+                    results.add(executor.submit((Callable<Long>) () -> {
+                        synchronized (threads) {
+                            threads.add(Thread.currentThread());
+                        }
+                        return journal.append(record);
+                    }));
+                }
+                awaitAllParked(threads, appenders);
+            }
+            for (Future<Long> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(1L);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(journal.syncCount()).isEqualTo(1);
+        assertThat(journal.outstandingRecords()).isEqualTo(appenders);
+        journal.close();
+    }
+
+    @Test
+    void reopenReplaysUnreleasedRecordsInOrder() throws IOException {
+        IssuanceJournal journal = new IssuanceJournal(directory, 1 << 20, true);
+        journal.open();
+        long segment = journal.append("{\"n\": 1}");
+        journal.append("{\"n\": 2}");
+        journal.append("{\"n\": 3}");
+        journal.release(segment, 1);
+        journal.close();
+
+        IssuanceJournal reopened = new IssuanceJournal(directory, 1 << 20, true);
+        List<IssuanceJournal.Recovered> recovered = reopened.open();
+
+        // Release only counts records; the segment still holds all three lines until it is deleted
+        assertThat(recovered).extracting(IssuanceJournal.Recovered::record)
+            .containsExactly("{\"n\": 1}", "{\"n\": 2}", "{\"n\": 3}");
+        assertThat(recovered).extracting(IssuanceJournal.Recovered::segment).containsOnly(segment);
+        assertThat(reopened.outstandingRecords()).isEqualTo(3);
+        assertThat(reopened.append("{\"n\": 4}")).isGreaterThan(segment);
+        reopened.close();
+    }
+
+    @Test
+    void fullSegmentsRotateAndAreDeletedOnceReleased() throws IOException {
+        IssuanceJournal journal = new IssuanceJournal(directory, 1, false);
+        journal.open();
+        long first = journal.append("{\"n\": 1}");
+        long second = journal.append("{\"n\": 2}");
+        long third = journal.append("{\"n\": 3}");
+        assertThat(List.of(first, second, third)).doesNotHaveDuplicates().isSorted();
+        assertThat(segmentFiles()).hasSize(3);
+
+        journal.release(first, 1);
+        journal.release(second, 1);
+        assertThat(segmentFiles()).hasSize(1);
+
+        // The segment being written to stays until the journal is closed
+        journal.release(third, 1);
+        assertThat(segmentFiles()).hasSize(1);
+        journal.close();
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(journal.syncCount()).isZero();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static void awaitAllParked(List<Thread> threads, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            synchronized (threads) {
+                if (threads.size() == expected && threads.stream().allMatch(thread ->
+                        thread.getState() == Thread.State.BLOCKED || thread.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Appenders did not queue up behind the commit");
+    }
+}
@@ -0,0 +1,89 @@
+package com.w3c.credentials.service;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoPoolMonitorTest {
+
+    private final ClusterId cluster = new ClusterId();
+    private final ServerId primary = new ServerId(cluster, new ServerAddress("db-0", 27017));
+    private final ServerId secondary = new ServerId(cluster, new ServerAddress("db-1", 27017));
+    private final MongoPoolMonitor monitor = new MongoPoolMonitor();
+    private long operationId;
+
+    private void createPool(ServerId server, int maxSize) {
+        monitor.connectionPoolCreated(new ConnectionPoolCreatedEvent(server,
+            ConnectionPoolSettings.builder().maxSize(maxSize).build()));
+    }
+
+    private void checkOut(ServerId server, int connections) {
+        for (int i = 0; i < connections; i++) {
+            long operation = ++operationId;
+            monitor.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(server, operation));
+            monitor.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(server), operation, 0));
+        }
+    }
+
+    @Test
+    void saturationIsThatOfTheBusiestPool() {
+        createPool(primary, 10);
+        createPool(secondary, 10);
+
+        checkOut(primary, 10);
+
+        // Summed over both pools this would read as half full
+        assertThat(monitor.getSaturation()).isEqualTo(1.0);
+
+        monitor.connectionCheckedIn(new ConnectionCheckedInEvent(new ConnectionId(primary), ++operationId));
+        checkOut(secondary, 2);
+        assertThat(monitor.getSaturation()).isEqualTo(0.9);
+    }
+
+    @Test
+    void closedPoolsNoLongerCount() {
+        createPool(primary, 10);
+        createPool(secondary, 4);
+        checkOut(secondary, 4);
+
+        monitor.connectionPoolClosed(new ConnectionPoolClosedEvent(secondary));
+        // Late events from the closed pool are ignored
+        monitor.connectionCheckedIn(new ConnectionCheckedInEvent(new ConnectionId(secondary), ++operationId));
+
+        assertThat(monitor.getSaturation()).isZero();
+        assertThat(monitor.getStats().get("servers")).isEqualTo(Map.of("db-0:27017", Map.of(
+            "maxSize", 10, "checkedOut", 0, "waitQueueSize", 0, "saturation", 0.0)));
+
+        // A server rejoining gets a fresh pool rather than adding to the old size
+        createPool(secondary, 4);
+        checkOut(secondary, 2);
+        assertThat(monitor.getSaturation()).isEqualTo(0.5);
+    }
+
+    @Test
+    void waitersAreTrackedPerPool() {
+        createPool(primary, 1);
+        createPool(secondary, 1);
+
+        long operation = ++operationId;
+        monitor.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(primary, operation));
+        assertThat(monitor.hasWaiters()).isTrue();
+
+        monitor.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(primary, operation,
+            ConnectionCheckOutFailedEvent.Reason.TIMEOUT, 0));
+        assertThat(monitor.hasWaiters()).isFalse();
+    }
+}
@@ -0,0 +1,233 @@
+package com.w3c.credentials.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.crypto.CredentialCanonicalizer;
+import com.w3c.credentials.crypto.Ed25519Signature2018Suite;
+import com.w3c.credentials.crypto.PublicKeyResolver;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.dto.SelectivePresentation;
+import com.w3c.credentials.dto.VerificationResult;
+import com.w3c.credentials.model.ClaimDisclosure;
+import com.w3c.credentials.model.Proof;
+import com.w3c.credentials.model.SelectiveDisclosure;
+import com.w3c.credentials.model.TrustedKey;
+import com.w3c.credentials.model.VerifiableCredential;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "credentials.signing.key-id=" + TestCredentials.KEY_ID)
+class SelectiveDisclosureServiceTest {
+
+    @Configuration
+    @Import({SelectiveDisclosureService.class, CredentialVerifierService.class, CredentialCanonicalizer.class,
+        SigningKeyProvider.class, Ed25519Signature2018Suite.class})
+    static class Config {
+        // Takes the place of the mocked registry's key resolution
+        @Bean
+        @Primary
+        PublicKeyResolver publicKeyResolver(SigningKeyProvider keyProvider) {
+            return (verificationMethod, at) -> keyProvider.getPublicKey(verificationMethod);
+        }
+
+        @Bean
+        SignatureVerificationCache signatureVerificationCache() {
+            return new SignatureVerificationCache(1000, Duration.ofMinutes(10));
+        }
+
+        @Bean
+        CredentialMetrics credentialMetrics() {
+            return new CredentialMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        CoarseClock coarseClock() {
+            return new CoarseClock(Duration.ofSeconds(1));
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @Autowired
+    private SelectiveDisclosureService disclosureService;
+
+    @Autowired
+    private CredentialVerifierService verifierService;
+
+    @Autowired
+    private Ed25519Signature2018Suite suite;
+
+    @Autowired
+    private SigningKeyProvider keyProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TrustRegistry trustRegistry;
+
+    @MockBean
+    private CredentialStatusRegistry statusRegistry;
+
+    @BeforeEach
+    void trustTheTestIssuer() {
+        when(trustRegistry.isTrusted(anyString(), any())).thenAnswer(call -> TestCredentials.ISSUER_DID.equals(call.getArgument(0)));
+        when(trustRegistry.findKey(TestCredentials.KEY_ID)).thenReturn(new TrustRegistry.ResolvedKey(
+            TestCredentials.ISSUER_DID, keyProvider.getPublicKey(TestCredentials.KEY_ID), new TrustedKey(TestCredentials.KEY_ID, null)));
+    }
+
+    private VerifiableCredential issued(String id) {
+        VerifiableCredential credential = TestCredentials.credential(id, "did:example:student:1");
+        credential.setExpirationDate(credential.getIssuanceDate().plusYears(100));
+        credential.setSelectiveDisclosure(disclosureService.prepare(credential, credential.getIssuanceDate(), TestCredentials.KEY_ID));
+        return credential;
+    }
+
+    @Test
+    void eachDigestIsTheHashOfItsSaltedDisclosure() throws Exception {
+        SelectiveDisclosure disclosure = issued("urn:uuid:sd-digests").getSelectiveDisclosure();
+
+        assertThat(disclosure.getClaims()).extracting(ClaimDisclosure::getClaim)
+            .containsExactly("name", "degree", "university", "graduationDate");
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        for (ClaimDisclosure claim : disclosure.getClaims()) {
+            byte[] hash = sha256.digest(claim.getDisclosure().getBytes(StandardCharsets.US_ASCII));
+            assertThat(claim.getDigest()).isEqualTo(Base64.getUrlEncoder().withoutPadding().encodeToString(hash));
+
+            JsonNode decoded = objectMapper.readTree(Base64.getUrlDecoder().decode(claim.getDisclosure()));
+            assertThat(decoded.size()).isEqualTo(3);
+            assertThat(Base64.getUrlDecoder().decode(decoded.get(0).asText())).hasSize(16);
+            assertThat(decoded.get(1).asText()).isEqualTo(claim.getClaim());
+        }
+    }
+
+    @Test
+    void equalClaimsGetDifferentSaltsAndDigests() {
+        SelectiveDisclosure first = issued("urn:uuid:sd-first").getSelectiveDisclosure();
+        SelectiveDisclosure second = issued("urn:uuid:sd-second").getSelectiveDisclosure();
+
+        assertThat(first.getClaims()).extracting(ClaimDisclosure::getDigest)
+            .doesNotContainAnyElementsOf(second.getClaims().stream().map(ClaimDisclosure::getDigest).toList());
+    }
+
+    @Test
+    void presentationCommitsToSortedDigestsAndRevealsOnlyChosenClaims() {
+        VerifiableCredential credential = issued("urn:uuid:sd-present");
+
+        SelectivePresentation presentation = disclosureService.present(credential, List.of("degree"));
+        VerificationResult result = disclosureService.verify(presentation);
+
+        List<String> digests = presentation.getCredential().getCredentialSubject().getDisclosureDigests();
+        assertThat(digests).hasSize(4).isSorted();
+        assertThat(presentation.getCredential().getCredentialSubject().getName()).isNull();
+        assertThat(presentation.getDisclosures()).hasSize(1);
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getDisclosedClaims()).isEqualTo(Map.of(
+            "degree", "Bachelor of Science in Computer Science",
+            "id", "did:example:student:1"));
+    }
+
+    @Test
+    void alteredDisclosureIsNotCoveredByTheProof() throws Exception {
+        SelectivePresentation presentation = disclosureService.present(issued("urn:uuid:sd-altered"), List.of("degree"));
+        JsonNode decoded = objectMapper.readTree(Base64.getUrlDecoder().decode(presentation.getDisclosures().get(0)));
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(
+            List.of(decoded.get(0).asText(), "degree", "Doctor of Philosophy")));
+        presentation.setDisclosures(List.of(forged));
+
+        VerificationResult result = disclosureService.verify(presentation);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getMessage()).contains("not covered by the proof");
+    }
+
+    @Test
+    void droppedDigestBreaksTheSignature() {
+        SelectivePresentation presentation = disclosureService.present(issued("urn:uuid:sd-dropped"), List.of("degree"));
+        List<String> digests = new ArrayList<>(presentation.getCredential().getCredentialSubject().getDisclosureDigests());
+        digests.remove(digests.size() - 1);
+        presentation.getCredential().getCredentialSubject().setDisclosureDigests(digests);
+        presentation.setDisclosures(List.of());
+
+        VerificationResult result = disclosureService.verify(presentation);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isHasValidProof()).isFalse();
+    }
+
+    @Test
+    void presentedCredentialDoesNotVerifyAsAPlainCredential() {
+        SelectivePresentation presentation = disclosureService.present(issued("urn:uuid:sd-plain"), List.of("degree"));
+
+        VerificationResult result = verifierService.verifyCredential(presentation.getCredential());
+
+        assertThat(presentation.getCredential().getProof().getProofPurpose()).isEqualTo(Proof.PURPOSE_SELECTIVE_DISCLOSURE);
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isHasValidProof()).isFalse();
+    }
+
+    @Test
+    void redactedCredentialSignedForAssertionIsNotAPresentation() {
+        SelectivePresentation presentation = disclosureService.present(issued("urn:uuid:sd-assertion"), List.of("degree"));
+        VerifiableCredential redacted = presentation.getCredential();
+        redacted.setProof(suite.sign(redacted, redacted.getIssuanceDate(), Proof.PURPOSE_ASSERTION, TestCredentials.KEY_ID));
+
+        VerificationResult result = disclosureService.verify(presentation);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getDetails().isHasValidProof()).isFalse();
+    }
+
+    @Test
+    void credentialJsonWithholdsTheDisclosuresButStillReadsThem() throws Exception {
+        VerifiableCredential credential = issued("urn:uuid:sd-json");
+        String disclosure = credential.getSelectiveDisclosure().getClaims().get(0).getDisclosure();
+
+        String json = objectMapper.writeValueAsString(credential);
+        ObjectNode withDisclosures = (ObjectNode) objectMapper.readTree(json);
+        withDisclosures.set("selectiveDisclosure", objectMapper.valueToTree(credential.getSelectiveDisclosure()));
+
+        assertThat(json).doesNotContain("selectiveDisclosure").doesNotContain(disclosure);
+        assertThat(objectMapper.treeToValue(withDisclosures, VerifiableCredential.class).getSelectiveDisclosure().getClaims())
+            .extracting(ClaimDisclosure::getDisclosure).contains(disclosure);
+    }
+
+    @Test
+    void unknownClaimIsRejected() {
+        VerifiableCredential credential = issued("urn:uuid:sd-unknown");
+
+        assertThatThrownBy(() -> disclosureService.present(credential, List.of("gpa")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("gpa");
+    }
+}
@@ -0,0 +1,71 @@
+package com.w3c.credentials.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusListCodecTest {
+
+    private static final int SIZE = 131_072;
+
+    private static byte[] gunzip(String encoded) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(encoded)))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    @Test
+    void roundTripsSetBits() {
+        BitSet revoked = new BitSet();
+        revoked.set(0);
+        revoked.set(7);
+        revoked.set(8);
+        revoked.set(94_567);
+        revoked.set(SIZE - 1);
+
+        assertThat(StatusListCodec.decode(StatusListCodec.encode(revoked, SIZE))).isEqualTo(revoked);
+    }
+
+    @Test
+    void indexZeroIsTheMostSignificantBitOfTheFirstByte() throws Exception {
+        BitSet revoked = new BitSet();
+        revoked.set(0);
+        revoked.set(9);
+
+        byte[] bytes = gunzip(StatusListCodec.encode(revoked, 16));
+
+        assertThat(bytes).containsExactly(0x80, 0x40);
+    }
+
+    @Test
+    void encodesTheWholeListLengthAsUnpaddedBase64Url() throws Exception {
+        String encoded = StatusListCodec.encode(new BitSet(), SIZE);
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(gunzip(encoded)).hasSize(SIZE / 8);
+        assertThat(StatusListCodec.decode(encoded)).isEqualTo(new BitSet());
+    }
+
+    @Test
+    void bitsBeyondTheListLengthAreDropped() {
+        BitSet revoked = new BitSet();
+        revoked.set(3);
+        revoked.set(16);
+
+        assertThat(StatusListCodec.decode(StatusListCodec.encode(revoked, 16)).stream()).containsExactly(3);
+    }
+
+    @Test
+    void rejectsAListThatIsNotGzip() {
+        String notGzip = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[] {1, 2, 3, 4});
+
+        assertThatThrownBy(() -> StatusListCodec.decode(notGzip)).isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.TestMongo;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.model.CredentialStatus;
+import com.w3c.credentials.model.StatusList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataMongoTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({StatusListService.class, SigningKeyProvider.class})
+@TestPropertySource(properties = {
+    "credentials.signing.key-id=" + TestCredentials.KEY_ID,
+    "credentials.status-list.base-url=https://vc.example.edu",
+    "credentials.status-list.allocation-block=10"
+})
+class StatusListServiceTest {
+
+    private static final String REMOTE_ISSUER = "did:example:university:mit";
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        TestMongo.register(registry, "status_list_test");
+    }
+
+    @Autowired
+    private StatusListService statusLists;
+
+    @SpyBean
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private RemoteStatusListCache remoteLists;
+
+    @MockBean
+    private TrustRegistry trustRegistry;
+
+    // Dropped afterwards as well, since a new context loads the stored lists as soon as it is ready
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        mongoTemplate.dropCollection(StatusList.class);
+        clearInvocations(mongoTemplate);
+    }
+
+    @Test
+    void revocationTakesEffectLocallyAtOnce() {
+        CredentialStatus status = statusLists.allocate();
+        assertThat(statusLists.isRevoked(status, TestCredentials.ISSUER_DID)).isFalse();
+
+        statusLists.revoke(status);
+
+        assertThat(statusLists.isRevoked(status, TestCredentials.ISSUER_DID)).isTrue();
+    }
+
+    @Test
+    void remoteListsAreOnlyFetchedFromTheIssuersTrustedHosts() {
+        when(trustRegistry.isStatusListHost(REMOTE_ISSUER, "status.mit.example")).thenReturn(true);
+        when(remoteLists.isSet(anyString(), anyInt())).thenReturn(true);
+
+        assertThat(statusLists.isRevoked(new CredentialStatus("https://status.mit.example/lists/3", 7), REMOTE_ISSUER)).isTrue();
+        verify(remoteLists).isSet("https://status.mit.example/lists/3", 7);
+
+        for (String url : new String[] {
+                "https://169.254.169.254/latest/meta-data", // not a host of this issuer
+                "http://status.mit.example/lists/3",        // not HTTPS
+                "https://user@status.mit.example/lists/3",  // credentials in the URL
+                "not a url"}) {
+            assertThatThrownBy(() -> statusLists.isRevoked(new CredentialStatus(url, 7), REMOTE_ISSUER))
+                .isInstanceOf(IllegalStateException.class);
+        }
+        verify(remoteLists, times(1)).isSet(anyString(), anyInt());
+    }
+
+    @Test
+    void aHostTrustedForAnotherIssuerIsNotEnough() {
+        when(trustRegistry.isStatusListHost(TestCredentials.ISSUER_DID, "status.mit.example")).thenReturn(false);
+        when(trustRegistry.isStatusListHost(eq(REMOTE_ISSUER), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> statusLists.isRevoked(
+                new CredentialStatus("https://status.mit.example/lists/3", 7), TestCredentials.ISSUER_DID))
+            .isInstanceOf(IllegalStateException.class);
+        verify(remoteLists, never()).isSet(anyString(), anyInt());
+    }
+
+    @Test
+    void unknownListsAreLookedUpOnceUntilCreatedHere() {
+        assertThat(statusLists.getVersion("1")).isEmpty();
+        assertThat(statusLists.getVersion("1")).isEmpty();
+        assertThat(statusLists.getStatusListCredential("1")).isEmpty();
+        verify(mongoTemplate, times(1)).findById("1", StatusList.class);
+
+        // Allocating creates the list, which must become visible at once
+        CredentialStatus status = statusLists.allocate();
+        assertThat(status.getStatusListCredential()).isEqualTo("https://vc.example.edu/api/credentials/status/1");
+        assertThat(statusLists.getVersion("1")).isPresent();
+        assertThat(statusLists.isRevoked(status, TestCredentials.ISSUER_DID)).isFalse();
+    }
+
+    @Test
+    void concurrentAllocationsGetDistinctIndexes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CredentialStatus>> allocations = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                allocations.add(executor.submit(statusLists::allocate));
+            }
+            Set<String> indexes = new HashSet<>();
+            for (Future<CredentialStatus> allocation : allocations) {
+                indexes.add(allocation.get(10, TimeUnit.SECONDS).getStatusListIndex());
+            }
+
+            assertThat(indexes).hasSize(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void refreshNeverInstallsAnOlderVersion() {
+        CredentialStatus status = statusLists.allocate();
+        statusLists.revoke(status);
+        statusLists.flush();
+        assertThat(statusLists.getVersion("1")).contains(1L);
+
+        // A read that raced with the flush: the stored copy as it was before
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is("1")),
+            new Update().set("version", 0L).set("encodedList", StatusListCodec.encode(new BitSet(), 131072)),
+            StatusList.class);
+        statusLists.refresh();
+
+        assertThat(statusLists.getVersion("1")).contains(1L);
+        assertThat(statusLists.isRevoked(status, TestCredentials.ISSUER_DID)).isTrue();
+    }
+}
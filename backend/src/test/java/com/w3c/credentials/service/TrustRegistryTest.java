@@ -0,0 +1,146 @@
+package com.w3c.credentials.service;
+
+import com.w3c.credentials.TestCredentials;
+import com.w3c.credentials.crypto.SignatureVerificationCache;
+import com.w3c.credentials.crypto.SigningKeyProvider;
+import com.w3c.credentials.model.Issuer;
+import com.w3c.credentials.model.TrustedIssuer;
+import com.w3c.credentials.model.TrustedKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "credentials.signing.key-id=" + TestCredentials.KEY_ID)
+class TrustRegistryTest {
+
+    private static final String ISSUER_DID = "did:example:university:mit";
+    private static final String METHOD = ISSUER_DID + "#keys-1";
+
+    @Configuration
+    @Import({TrustRegistry.class, SigningKeyProvider.class})
+    static class Config {
+        @Bean
+        SignatureVerificationCache signatureVerificationCache() {
+            return new SignatureVerificationCache(1000, Duration.ofMinutes(10));
+        }
+
+        @Bean
+        MutableSource trustRegistrySource() {
+            return new MutableSource();
+        }
+    }
+
+    static class MutableSource implements TrustRegistrySource {
+
+        final AtomicReference<List<TrustedIssuer>> issuers = new AtomicReference<>(List.of());
+
+        @Override
+        public String getDescription() {
+            return "test";
+        }
+
+        @Override
+        public List<TrustedIssuer> load() {
+            return issuers.get();
+        }
+
+        @Override
+        public void watch(Runnable onChange) {
+        }
+    }
+
+    @Autowired
+    private TrustRegistry registry;
+
+    @Autowired
+    private MutableSource source;
+
+    @Autowired
+    private SignatureVerificationCache verificationCache;
+
+    private static TrustedIssuer issuerWithNewKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(SigningKeyProvider.KEY_ALGORITHM);
+        String publicKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+        TrustedIssuer issuer = new TrustedIssuer(ISSUER_DID, "MIT");
+        issuer.setKeys(List.of(new TrustedKey(METHOD, publicKey)));
+        return issuer;
+    }
+
+    @Test
+    void keyGenerationOnlyMovesWhenKeysChange() throws Exception {
+        source.issuers.set(List.of(issuerWithNewKey()));
+        registry.reload();
+        long generation = registry.getKeyGeneration();
+
+        registry.reload();
+        assertThat(registry.getKeyGeneration()).isEqualTo(generation);
+
+        source.issuers.set(List.of(issuerWithNewKey()));
+        registry.reload();
+        assertThat(registry.getKeyGeneration()).isGreaterThan(generation);
+    }
+
+    @Test
+    void onlyKnownIssuerDIDsAreInterned() throws Exception {
+        source.issuers.set(List.of(issuerWithNewKey()));
+        registry.reload();
+
+        assertThat(Issuer.of(ISSUER_DID)).isSameAs(Issuer.of(ISSUER_DID));
+        assertThat(Issuer.of(TestCredentials.ISSUER_DID)).isSameAs(Issuer.of(TestCredentials.ISSUER_DID));
+        assertThat(Issuer.of("did:example:junk:1")).isNotSameAs(Issuer.of("did:example:junk:1"));
+
+        // An issuer dropped from the registry is no longer held
+        source.issuers.set(List.of());
+        registry.reload();
+        assertThat(Issuer.of(ISSUER_DID)).isNotSameAs(Issuer.of(ISSUER_DID));
+    }
+
+    @Test
+    void checkFinishingAfterARotationCannotServeItsStaleOutcome() throws Exception {
+        source.issuers.set(List.of(issuerWithNewKey()));
+        registry.reload();
+
+        // A check against the old key is still running while the key is rotated
+        CountDownLatch rotated = new CountDownLatch(1);
+        long generation = registry.getKeyGeneration();
+        CompletableFuture<Boolean> inFlight = CompletableFuture.supplyAsync(() ->
+            verificationCache.verify(generation, "digest", () -> {
+                await(rotated);
+                return true;
+            }));
+
+        source.issuers.set(List.of(issuerWithNewKey()));
+        registry.reload();
+        rotated.countDown();
+        assertThat(inFlight.get(10, TimeUnit.SECONDS)).isTrue();
+
+        // Checks after the rotation verify again rather than reuse the old key's outcome
+        boolean outcome = verificationCache.verify(registry.getKeyGeneration(), "digest", () -> false);
+        assertThat(outcome).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 #!/bin/bash
 # Start script for Spring Boot W3C Verifiable Credentials Backend
 
-# Set Java home if not set
+# Set Java home if not set, from the java on the PATH (any architecture or vendor)
 if [ -z "$JAVA_HOME" ]; then
-    export JAVA_HOME="/usr/lib/jvm/java-17-openjdk-arm64"
+    if [ -x /usr/libexec/java_home ]; then
+        JAVA_HOME="$(/usr/libexec/java_home)"
+    elif command -v java > /dev/null; then
+        JAVA_HOME="$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")"
+    else
+        echo "No Java runtime found: install Java 17 or later, or set JAVA_HOME" >&2
+        exit 1
+    fi
+    export JAVA_HOME
 fi
 
 # Add Java to PATH